@@ -0,0 +1,73 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.awt.geom.Point2D;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.entities.CollisionBox;
+import de.gurkenlabs.litiengine.entities.Creature;
+
+/**
+ * Measures {@link AStarPathFinder#findPath(de.gurkenlabs.litiengine.entities.IMobileEntity, Point2D)} on a square grid
+ * with parallel walls that force the path into a serpentine shape across the whole map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AStarPathFinderBenchmark {
+  private static final int NODE_SIZE = 16;
+  private static final int WALL_SPACING = 8;
+
+  @Param({ "32", "64", "128" })
+  private int gridSize;
+
+  private AStarPathFinder pathFinder;
+  private Creature entity;
+  private Point2D target;
+
+  @Setup
+  public void setup() {
+    Game.init(Game.COMMADLINE_ARG_NOGUI);
+    Game.physics().clear();
+
+    final int size = this.gridSize * NODE_SIZE;
+
+    // every wall leaves a gap of one node, alternating between the top and the bottom of the map
+    boolean gapAtBottom = true;
+    for (int x = WALL_SPACING; x < this.gridSize - 1; x += WALL_SPACING) {
+      final double y = gapAtBottom ? 0 : NODE_SIZE;
+      Game.physics().add(new CollisionBox(x * NODE_SIZE, y, NODE_SIZE, size - NODE_SIZE));
+      gapAtBottom = !gapAtBottom;
+    }
+
+    this.pathFinder = new AStarPathFinder(new AStarGrid(size, size, NODE_SIZE));
+
+    this.entity = new Creature();
+    this.entity.setSize(NODE_SIZE, NODE_SIZE);
+    this.entity.setCollisionBoxWidth(NODE_SIZE / 2.0);
+    this.entity.setCollisionBoxHeight(NODE_SIZE / 2.0);
+    this.entity.setLocation(0, 0);
+
+    this.target = new Point2D.Double(size - NODE_SIZE / 2.0, size - NODE_SIZE / 2.0);
+  }
+
+  @TearDown
+  public void tearDown() {
+    Game.physics().clear();
+  }
+
+  @Benchmark
+  public Path findPath() {
+    return this.pathFinder.findPath(this.entity, this.target);
+  }
+}
@@ -0,0 +1,79 @@
+package de.gurkenlabs.litiengine.environment.tilemap;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.environment.tilemap.xml.Tileset;
+import de.gurkenlabs.litiengine.graphics.RenderType;
+import de.gurkenlabs.litiengine.resources.Maps.MapGenerator;
+import de.gurkenlabs.litiengine.resources.Resources;
+
+/**
+ * Measures {@link MapRenderer#render(Graphics2D, IMap, Rectangle2D, RenderType...)} for a synthetic map on an offscreen
+ * image.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapRendererBenchmark {
+  private static final String TILESET = "tests/de/gurkenlabs/litiengine/environment/tilemap/xml/res/external-tileset.tsx";
+  private static final int TILE_SIZE = 16;
+  private static final int VIEWPORT_WIDTH = 960;
+  private static final int VIEWPORT_HEIGHT = 540;
+
+  @Param({ "64", "256" })
+  private int mapSize;
+
+  @Param({ "1", "4" })
+  private int layers;
+
+  private IMap map;
+  private Rectangle2D viewport;
+  private BufferedImage image;
+  private Graphics2D graphics;
+
+  @Setup
+  public void setup() {
+    Game.init(Game.COMMADLINE_ARG_NOGUI);
+
+    try (MapGenerator generator = Resources.maps().generate(MapOrientations.ORTHOGONAL, "benchmark", this.mapSize, this.mapSize, TILE_SIZE, TILE_SIZE, new Tileset(Resources.tilesets().get(TILESET)))) {
+      for (int i = 0; i < this.layers; i++) {
+        // checkerboard of the two tiles of the test tileset
+        generator.addTileLayer(RenderType.GROUND, (x, y) -> (x + y) % 2 + 1);
+      }
+
+      this.map = generator.getMap();
+    }
+
+    // look at the center of the map
+    final double center = this.mapSize * TILE_SIZE / 2.0;
+    this.viewport = new Rectangle2D.Double(center - VIEWPORT_WIDTH / 2.0, center - VIEWPORT_HEIGHT / 2.0, VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+
+    this.image = new BufferedImage(VIEWPORT_WIDTH, VIEWPORT_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+    this.graphics = this.image.createGraphics();
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.graphics.dispose();
+  }
+
+  @Benchmark
+  public BufferedImage render() {
+    MapRenderer.render(this.graphics, this.map, this.viewport, RenderType.GROUND);
+    return this.image;
+  }
+}
@@ -0,0 +1,55 @@
+package de.gurkenlabs.litiengine.environment.tilemap.xml;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the parsing of the tile data of a layer in all formats that are supported by the TMX specification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TileDataBenchmark {
+  @Param({ "csv", "base64", "gzip", "zlib" })
+  private String format;
+
+  @Param({ "64", "256" })
+  private int size;
+
+  private String value;
+  private String compression;
+
+  @Setup
+  public void setup() throws TmxException, IOException {
+    final Random random = new Random(42);
+    final List<Tile> tiles = new ArrayList<>(this.size * this.size);
+    for (int i = 0; i < this.size * this.size; i++) {
+      tiles.add(new Tile(random.nextInt(64)));
+    }
+
+    final String encoding = this.format.equals(TileData.Encoding.CSV) ? TileData.Encoding.CSV : TileData.Encoding.BASE64;
+    this.compression = this.format.equals(TileData.Compression.GZIP) || this.format.equals(TileData.Compression.ZLIB) ? this.format : TileData.Compression.NONE;
+    this.value = TileData.encode(new TileData(tiles, this.size, this.size, encoding, this.compression));
+  }
+
+  @Benchmark
+  public List<Tile> parse() throws InvalidTileLayerException {
+    if (this.format.equals(TileData.Encoding.CSV)) {
+      return TileData.parseCsvData(this.value);
+    }
+
+    return TileData.parseBase64Data(this.value, this.compression);
+  }
+}
@@ -0,0 +1,94 @@
+package de.gurkenlabs.litiengine.graphics;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.entities.Creature;
+import de.gurkenlabs.litiengine.entities.IEntity;
+
+/**
+ * Measures {@link RenderEngine#renderEntities(Graphics2D, java.util.Collection, boolean)} on an offscreen image, which
+ * includes the viewport culling and the sorting by the <code>EntityYComparator</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RenderEngineBenchmark {
+  private static final int VIEWPORT_WIDTH = 960;
+  private static final int VIEWPORT_HEIGHT = 540;
+
+  @Param({ "100", "1000", "10000" })
+  private int entityCount;
+
+  @Param({ "true", "false" })
+  private boolean sort;
+
+  private final List<IEntity> entities = new ArrayList<>();
+  private ICamera previousCamera;
+  private BufferedImage image;
+  private Graphics2D graphics;
+
+  @Setup
+  public void setup() {
+    Game.init(Game.COMMADLINE_ARG_NOGUI);
+
+    // the entities are spread across an area that is four times the size of the viewport
+    final Random random = new Random(42);
+    for (int i = 0; i < this.entityCount; i++) {
+      final Creature creature = new Creature();
+      creature.setSize(16, 16);
+      creature.setLocation(random.nextDouble() * VIEWPORT_WIDTH * 2, random.nextDouble() * VIEWPORT_HEIGHT * 2);
+      this.entities.add(creature);
+    }
+
+    // there is no window in the no gui mode which is why the camera needs an explicit viewport size
+    this.previousCamera = Game.world().camera();
+    final Camera camera = new FixedViewportCamera();
+    Game.world().setCamera(camera);
+    camera.setFocus(VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+    camera.updateFocus();
+
+    this.image = new BufferedImage(VIEWPORT_WIDTH, VIEWPORT_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+    this.graphics = this.image.createGraphics();
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.graphics.dispose();
+    this.entities.clear();
+    Game.world().setCamera(this.previousCamera);
+  }
+
+  @Benchmark
+  public BufferedImage renderEntities() {
+    Game.graphics().renderEntities(this.graphics, this.entities, this.sort);
+    return this.image;
+  }
+
+  private static class FixedViewportCamera extends Camera {
+    @Override
+    protected double getViewportWidth() {
+      return VIEWPORT_WIDTH / this.getRenderScale();
+    }
+
+    @Override
+    protected double getViewportHeight() {
+      return VIEWPORT_HEIGHT / this.getRenderScale();
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package de.gurkenlabs.litiengine.graphics.emitters;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.graphics.emitters.xml.EmitterData;
+import de.gurkenlabs.litiengine.graphics.emitters.xml.ParticleParameter;
+
+/**
+ * Measures a single {@link Emitter#update()} for an emitter that holds its maximum number of particles.
+ * <p>
+ * The game time doesn't advance while the benchmark runs, so the particles never reach their time to live and the emitter
+ * stays saturated.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmitterBenchmark {
+  @Param({ "100", "1000", "5000" })
+  private int maxParticles;
+
+  private Emitter emitter;
+
+  @Setup
+  public void setup() {
+    Game.init(Game.COMMADLINE_ARG_NOGUI);
+
+    final EmitterData data = new EmitterData();
+    data.setMaxParticles(this.maxParticles);
+    data.setSpawnAmount(this.maxParticles);
+    data.setUpdateRate(EmitterData.DEFAULT_UPDATERATE);
+    data.setParticleWidth(new ParticleParameter(2, 4));
+    data.setParticleHeight(new ParticleParameter(2, 4));
+    data.setVelocityX(new ParticleParameter(-1, 1));
+    data.setVelocityY(new ParticleParameter(-1, 1));
+
+    this.emitter = new Emitter(100, 100, data);
+
+    // the first update spawns all particles
+    this.emitter.update();
+  }
+
+  @Benchmark
+  public int update() {
+    this.emitter.update();
+    return this.emitter.getParticles().size();
+  }
+}
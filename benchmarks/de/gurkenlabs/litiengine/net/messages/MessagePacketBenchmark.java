@@ -0,0 +1,40 @@
+package de.gurkenlabs.litiengine.net.messages;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import de.gurkenlabs.litiengine.util.io.CompressionUtilities;
+
+/**
+ * Measures the serialization and compression of a {@link MessagePacket} and the opposite way, as performed by the
+ * <code>UdpServer</code> for every received packet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MessagePacketBenchmark {
+  private byte[] data;
+
+  @Setup
+  public void setup() {
+    this.data = new MessagePacket<>(MessageType.PING, new ClientMessage(1)).getData();
+  }
+
+  @Benchmark
+  public byte[] serialize() {
+    // getData caches its result, so a new packet is required for every invocation
+    return new MessagePacket<>(MessageType.PING, new ClientMessage(1)).getData();
+  }
+
+  @Benchmark
+  public ClientMessage deserialize() {
+    return new MessagePacket<ClientMessage>(CompressionUtilities.decompress(this.data)).getObject();
+  }
+}
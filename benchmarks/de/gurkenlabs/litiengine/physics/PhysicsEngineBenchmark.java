@@ -0,0 +1,85 @@
+package de.gurkenlabs.litiengine.physics;
+
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.entities.CollisionBox;
+import de.gurkenlabs.litiengine.entities.Creature;
+
+/**
+ * Measures the collision queries of the {@link PhysicsEngine} with an increasing number of static collision boxes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PhysicsEngineBenchmark {
+  private static final double WORLD_SIZE = 2048;
+  private static final double BOX_SIZE = 16;
+
+  @Param({ "10", "100", "1000" })
+  private int entityCount;
+
+  private Creature mover;
+  private Rectangle2D probe;
+  private Line2D ray;
+  private boolean forward;
+
+  @Setup
+  public void setup() {
+    Game.init(Game.COMMADLINE_ARG_NOGUI);
+    Game.physics().clear();
+    Game.physics().setBounds(new Rectangle2D.Double(0, 0, WORLD_SIZE, WORLD_SIZE));
+
+    // fixed seed so that every fork measures the same layout
+    final Random random = new Random(42);
+    for (int i = 0; i < this.entityCount; i++) {
+      Game.physics().add(new CollisionBox(random.nextDouble() * WORLD_SIZE, random.nextDouble() * WORLD_SIZE, BOX_SIZE, BOX_SIZE));
+    }
+
+    this.mover = new Creature();
+    this.mover.setSize(BOX_SIZE, BOX_SIZE);
+    this.mover.setCollision(true);
+    this.mover.setCollisionBoxWidth(BOX_SIZE);
+    this.mover.setCollisionBoxHeight(BOX_SIZE);
+    this.mover.setLocation(WORLD_SIZE / 2, WORLD_SIZE / 2);
+    Game.physics().add(this.mover);
+
+    this.probe = new Rectangle2D.Double(WORLD_SIZE / 2 - 64, WORLD_SIZE / 2 - 64, 128, 128);
+    this.ray = new Line2D.Double(0, 0, WORLD_SIZE, WORLD_SIZE);
+  }
+
+  @TearDown
+  public void tearDown() {
+    Game.physics().clear();
+  }
+
+  @Benchmark
+  public boolean move() {
+    // move back and forth so that the entity stays in the same region of the world
+    this.forward = !this.forward;
+    return Game.physics().move(this.mover, this.forward ? 90 : 270, 1);
+  }
+
+  @Benchmark
+  public boolean collides() {
+    return Game.physics().collides(this.probe);
+  }
+
+  @Benchmark
+  public RaycastHit raycast() {
+    return Game.physics().raycast(this.ray);
+  }
+}
@@ -0,0 +1,170 @@
+package de.gurkenlabs.litiengine;
+
+import java.awt.geom.Point2D;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.entities.IEntityController;
+import de.gurkenlabs.litiengine.graphics.ICamera;
+
+/**
+ * An {@link UpdateTierPolicy} that assigns the tier of entities and their controllers by their distance to the focus of
+ * the camera.
+ * <p>
+ * Instances within the full range are updated on every tick, instances within the reduced range on every 4th tick and
+ * instances that are even further away are suspended. The ranges can be configured per entity type, the most specific
+ * configured type of an entity is used. Updatables that are not related to an entity (i.e. neither an {@link IEntity} nor
+ * an {@link IEntityController}) are always updated.
+ * </p>
+ *
+ * <pre>
+ * DistanceUpdateTierPolicy policy = new DistanceUpdateTierPolicy(400, 1200);
+ * // keep creatures updating at the reduced rate no matter how far away they are
+ * policy.setRange(Creature.class, 600, Double.POSITIVE_INFINITY);
+ * Game.loop().setUpdateTierPolicy(policy);
+ * </pre>
+ *
+ * @see UpdateTier
+ * @see ICamera#getFocus()
+ */
+public class DistanceUpdateTierPolicy implements UpdateTierPolicy {
+  private final Map<Class<?>, Range> ranges = new ConcurrentHashMap<>();
+  private final Map<Class<?>, Range> resolvedRanges = new ConcurrentHashMap<>();
+
+  private Range defaultRange;
+  private Supplier<Point2D> origin = DistanceUpdateTierPolicy::getCameraFocus;
+
+  /**
+   * Initializes a new instance of the <code>DistanceUpdateTierPolicy</code> class.
+   *
+   * @param fullRange
+   *          The distance up to which instances are updated on every tick.
+   * @param reducedRange
+   *          The distance up to which instances are updated at the reduced rate; instances beyond are suspended.
+   */
+  public DistanceUpdateTierPolicy(double fullRange, double reducedRange) {
+    this.defaultRange = new Range(fullRange, reducedRange);
+  }
+
+  @Override
+  public UpdateTier getTier(IUpdateable updatable) {
+    final IEntity entity = getEntity(updatable);
+    if (entity == null) {
+      return UpdateTier.FULL;
+    }
+
+    final Range range = this.getRange(entity.getClass());
+    if (range.fullSq == Double.POSITIVE_INFINITY) {
+      return UpdateTier.FULL;
+    }
+
+    final Point2D focus = this.origin.get();
+    final Point2D center = entity.getCenter();
+    if (focus == null || center == null) {
+      return UpdateTier.FULL;
+    }
+
+    final double distanceSq = focus.distanceSq(center);
+    if (distanceSq <= range.fullSq) {
+      return UpdateTier.FULL;
+    }
+
+    return distanceSq <= range.reducedSq ? UpdateTier.REDUCED : UpdateTier.SUSPENDED;
+  }
+
+  /**
+   * Sets the default ranges that are used for all entity types without a specific configuration.
+   *
+   * @param fullRange
+   *          The distance up to which instances are updated on every tick.
+   * @param reducedRange
+   *          The distance up to which instances are updated at the reduced rate; instances beyond are suspended.
+   */
+  public void setDefaultRange(double fullRange, double reducedRange) {
+    this.defaultRange = new Range(fullRange, reducedRange);
+    this.resolvedRanges.clear();
+  }
+
+  /**
+   * Sets the ranges for the specified entity type and all its sub types. Pass {@link Double#POSITIVE_INFINITY} as full
+   * range to exclude the type from throttling.
+   *
+   * @param type
+   *          The entity type.
+   * @param fullRange
+   *          The distance up to which instances are updated on every tick.
+   * @param reducedRange
+   *          The distance up to which instances are updated at the reduced rate; instances beyond are suspended.
+   */
+  public void setRange(Class<? extends IEntity> type, double fullRange, double reducedRange) {
+    this.ranges.put(type, new Range(fullRange, reducedRange));
+    this.resolvedRanges.clear();
+  }
+
+  public void removeRange(Class<? extends IEntity> type) {
+    this.ranges.remove(type);
+    this.resolvedRanges.clear();
+  }
+
+  /**
+   * Sets the location from which the distances are measured. By default, this is the focus of the current camera.
+   *
+   * @param origin
+   *          The supplier of the location to measure the distances from.
+   */
+  public void setOrigin(Supplier<Point2D> origin) {
+    this.origin = origin != null ? origin : DistanceUpdateTierPolicy::getCameraFocus;
+  }
+
+  private Range getRange(Class<?> entityType) {
+    return this.resolvedRanges.computeIfAbsent(entityType, this::resolveRange);
+  }
+
+  private Range resolveRange(Class<?> entityType) {
+    // the configuration of the closest super class wins over the ones of its interfaces
+    for (Class<?> type = entityType; type != null; type = type.getSuperclass()) {
+      final Range range = this.ranges.get(type);
+      if (range != null) {
+        return range;
+      }
+
+      for (Class<?> interfaceType : type.getInterfaces()) {
+        final Range interfaceRange = this.ranges.get(interfaceType);
+        if (interfaceRange != null) {
+          return interfaceRange;
+        }
+      }
+    }
+
+    return this.defaultRange;
+  }
+
+  private static IEntity getEntity(IUpdateable updatable) {
+    if (updatable instanceof IEntity) {
+      return (IEntity) updatable;
+    }
+
+    if (updatable instanceof IEntityController) {
+      return ((IEntityController) updatable).getEntity();
+    }
+
+    return null;
+  }
+
+  private static Point2D getCameraFocus() {
+    final ICamera camera = Game.world().camera();
+    return camera != null ? camera.getFocus() : null;
+  }
+
+  private static final class Range {
+    private final double fullSq;
+    private final double reducedSq;
+
+    private Range(double fullRange, double reducedRange) {
+      this.fullSq = fullRange * fullRange;
+      this.reducedSq = Math.max(fullRange, reducedRange) * Math.max(fullRange, reducedRange);
+    }
+  }
+}
@@ -1,10 +1,7 @@
 package de.gurkenlabs.litiengine;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-
 import de.gurkenlabs.litiengine.graphics.RenderComponent;
+import de.gurkenlabs.litiengine.util.TimeUtilities;
 
 /**
  * The main update loop that executes the game logic by calling the update functions on all registered <code>IUpdatable</code> instances.
@@ -25,15 +22,13 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
    */
   public static final int TICK_DELTATIME_LAG = 67;
 
-  private static int executionIndex = -1;
-
-  private final List<TimedAction> actions;
+  private final TimedActionQueue actions;
 
   private float timeScale;
 
   GameLoop(String name, final int updateRate) {
     super(name, updateRate);
-    this.actions = new CopyOnWriteArrayList<>();
+    this.actions = new TimedActionQueue();
     this.setTimeScale(1.0F);
   }
 
@@ -41,10 +36,7 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
   public int perform(int delay, Runnable action) {
     final long d = Game.time().toTicks(delay);
 
-    TimedAction a = new TimedAction(this.getTicks() + d, action);
-    this.actions.add(a);
-
-    return a.getId();
+    return this.actions.add(this.getTicks() + d, action);
   }
 
   @Override
@@ -59,16 +51,12 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
 
   @Override
   public void alterExecutionTime(int index, long ticks) {
-    for (TimedAction action : this.actions) {
-      if (action.getId() == index) {
-        action.setExecutionTicks(ticks);
-      }
-    }
+    this.actions.reschedule(index, ticks);
   }
 
   @Override
   public void removeAction(int id) {
-    this.actions.removeIf(x -> x.getId() == id);
+    this.actions.remove(id);
   }
 
   /**
@@ -78,8 +66,13 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
   @Override
   protected void process() {
     if (this.getTimeScale() > 0) {
+      final long updateStart = System.nanoTime();
       super.process();
-      this.executeTimedActions();
+      this.actions.execute(this.getTicks());
+
+      if (Game.config().debug().trackRenderTimes()) {
+        Game.metrics().trackUpdateTime(TimeUtilities.nanoToMs(System.nanoTime() - updateStart));
+      }
     }
 
     Game.world().camera().updateFocus();
@@ -96,51 +89,10 @@ public final class GameLoop extends UpdateLoop implements IGameLoop {
     return (long) (1000 / (this.getTickRate() * scale));
   }
 
-  private void executeTimedActions() {
-    final List<TimedAction> executed = new ArrayList<>();
-    for (final TimedAction action : this.actions) {
-      if (action.getExecutionTick() <= this.getTicks()) {
-
-        action.getAction().run();
-        executed.add(action);
-      }
-    }
-
-    this.actions.removeAll(executed);
-  }
-
   private void trackRenderMetric() {
     Game.metrics().setEstimatedMaxFramesPerSecond((int) (1000.0 / this.getProcessTime()));
     if (Game.config().debug().trackRenderTimes()) {
       Game.metrics().trackRenderTime("total", this.getProcessTime());
     }
   }
-
-  private class TimedAction {
-    private final Runnable action;
-    private long execution;
-    private final int id;
-
-    private TimedAction(final long execution, final Runnable action) {
-      this.execution = execution;
-      this.action = action;
-      this.id = ++executionIndex;
-    }
-
-    public Runnable getAction() {
-      return this.action;
-    }
-
-    public long getExecutionTick() {
-      return this.execution;
-    }
-
-    public void setExecutionTicks(long ticks) {
-      this.execution = ticks;
-    }
-
-    public int getId() {
-      return id;
-    }
-  }
 }
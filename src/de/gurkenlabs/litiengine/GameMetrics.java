@@ -5,9 +5,15 @@ import java.awt.Font;
 import java.awt.Graphics2D;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import de.gurkenlabs.litiengine.configuration.ClientConfiguration;
 import de.gurkenlabs.litiengine.graphics.IRenderable;
@@ -21,18 +27,30 @@ import de.gurkenlabs.litiengine.graphics.IRenderable;
  * This information can be rendered as debug information if configured to get live data during a gameplay session.
  * </p>
  *
+ * <p>
+ * Frame times of the different stages of a tick (update, rendering of each <code>RenderType</code>, ambient, shadow, GUI, ...) are recorded
+ * into fixed-size ring buffers that provide percentiles over a sliding window of the most recent frames.
+ * </p>
+ *
  * @see ClientConfiguration#showGameMetrics()
  * @see #render(Graphics2D)
+ * @see #getFrameTimes(String)
  */
 public final class GameMetrics implements IRenderable {
+  /**
+   * The number of most recent samples that are considered when calculating the frame time percentiles of a stage.
+   */
+  public static final int FRAME_TIME_WINDOW = 256;
+
   private static final Font TITLE_FONT = new Font(Font.MONOSPACED, Font.BOLD, 12);
   private static final Font METRIC_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
   private static final int OFFSET_X = 5;
   private static final int OFFSET_Y = 14;
+  private static final int UPDATABLE_OFFENDERS = 5;
 
   private final List<Long> bytesReceived;
   private final List<Long> bytesSent;
-  private final List<RenderMetrics> renderMetrics;
+  private final Map<String, FrameTimes> frameTimes;
 
   private final Runtime runtime;
 
@@ -44,18 +62,19 @@ public final class GameMetrics implements IRenderable {
   private long lastNetworkTickTime;
   private int packagesReceived;
   private int packagesSent;
-  private long ping;
+  private volatile long ping;
   private long upStreamInBytes;
 
-  private int framesPerSecond;
-  private int maxFramesPerSecond;
+  // written by the render and game loop threads, read by any thread
+  private volatile int framesPerSecond;
+  private volatile int maxFramesPerSecond;
 
   private float usedMemory;
 
   GameMetrics() {
     this.bytesSent = new CopyOnWriteArrayList<>();
     this.bytesReceived = new CopyOnWriteArrayList<>();
-    this.renderMetrics = new CopyOnWriteArrayList<>();
+    this.frameTimes = new ConcurrentHashMap<>();
     this.runtime = Runtime.getRuntime();
   }
 
@@ -99,8 +118,87 @@ public final class GameMetrics implements IRenderable {
     this.bytesSent.add(size);
   }
 
+  /**
+   * Records the time that was required to render the specified stage of the current frame.
+   * 
+   * @param name
+   *          The name of the stage.
+   * @param renderTime
+   *          The render time in milliseconds.
+   * @param infos
+   *          Optional additional information about the rendered frame that is displayed with the metrics.
+   * 
+   * @see #getFrameTimes(String)
+   */
   public void trackRenderTime(String name, double renderTime, RenderInfo... infos) {
-    this.renderMetrics.add(new RenderMetrics(name, renderTime, infos));
+    final FrameTimes times = this.registerFrameTimes(name);
+    times.record(renderTime);
+    if (infos.length > 0) {
+      times.setInfos(infos);
+    }
+  }
+
+  /**
+   * Records the time that was required to update the game logic of the current tick.
+   * 
+   * @param updateTime
+   *          The update time in milliseconds.
+   */
+  public void trackUpdateTime(double updateTime) {
+    this.registerFrameTimes("update").record(updateTime);
+  }
+
+  /**
+   * Gets the frame times of the stage with the specified name.
+   * 
+   * @param name
+   *          The name of the stage (e.g. "update", "ground", "shadow", "gui").
+   * @return The frame times of the specified stage or null if the stage has not been registered.
+   * 
+   * @see #registerFrameTimes(String)
+   */
+  public FrameTimes getFrameTimes(String name) {
+    return this.frameTimes.get(name);
+  }
+
+  /**
+   * Registers a new empty ring buffer for the stage with the specified name, unless the stage is already registered. Stages are registered
+   * implicitly when their first frame time is tracked.
+   * 
+   * @param name
+   *          The name of the stage (e.g. "update", "ground", "shadow", "gui").
+   * @return The frame times of the specified stage.
+   */
+  public FrameTimes registerFrameTimes(String name) {
+    final FrameTimes times = this.frameTimes.get(name);
+    if (times != null) {
+      return times;
+    }
+
+    return this.frameTimes.computeIfAbsent(name, FrameTimes::new);
+  }
+
+  /**
+   * Gets the updatable types of the game loop that took the most time per tick on average. This requires the update profiler of the game
+   * loop to be enabled.
+   * 
+   * @param count
+   *          The maximum number of entries to return.
+   * @return The slowest updatable types, in descending order.
+   * 
+   * @see UpdateProfiler#setSamplingRate(int)
+   */
+  public List<UpdateProfiler.UpdatableTime> getSlowestUpdatables(int count) {
+    return Game.loop().getUpdateProfiler().getTopOffenders(count);
+  }
+
+  /**
+   * Gets the frame times of all stages that have been tracked so far.
+   * 
+   * @return An unmodifiable map of the frame times by their stage name.
+   */
+  public Map<String, FrameTimes> getFrameTimes() {
+    return Collections.unmodifiableMap(this.frameTimes);
   }
 
   @Override
@@ -138,15 +236,21 @@ public final class GameMetrics implements IRenderable {
     this.drawMetric(g, "in        : " + this.getPackagesReceived() + " - " + downStream + " kb/s");
     this.drawMetric(g, "out       : " + this.getPackagesSent() + " - " + upStream + " kb/s");
 
-    // render rendering metrics
-    if (!this.renderMetrics.isEmpty()) {
-      this.drawTitle(g, "[update]");
+    // render frame time metrics
+    if (Game.config().debug().trackRenderTimes() && !this.frameTimes.isEmpty()) {
+      this.drawTitle(g, "[frame times] p50 / p95 / p99 / max");
 
-      for (RenderMetrics metric : this.renderMetrics) {
-        this.drawMetric(g, metric.toString());
+      for (FrameTimes times : new TreeMap<>(this.frameTimes).values()) {
+        this.drawMetric(g, times.toString());
       }
+    }
 
-      this.renderMetrics.clear();
+    // render the slowest updatables if the game loop is being profiled
+    if (Game.loop().getUpdateProfiler().isEnabled()) {
+      this.drawTitle(g, "[updatables]");
+      for (UpdateProfiler.UpdatableTime time : this.getSlowestUpdatables(UPDATABLE_OFFENDERS)) {
+        this.drawMetric(g, time.toString());
+      }
     }
   }
 
@@ -213,6 +317,165 @@ public final class GameMetrics implements IRenderable {
     this.currentOffsetY += OFFSET_Y;
   }
 
+  /**
+   * A lock-free, fixed-size ring buffer of the most recent frame times of a single stage. Percentiles are calculated over the
+   * {@link GameMetrics#FRAME_TIME_WINDOW} most recent samples.
+   */
+  public static final class FrameTimes {
+    private static final RenderInfo[] NO_INFOS = new RenderInfo[0];
+
+    private final String name;
+    private final AtomicLongArray samples;
+    private final AtomicLong count;
+    private volatile RenderInfo[] infos = NO_INFOS;
+
+    FrameTimes(String name) {
+      this.name = name;
+      this.samples = new AtomicLongArray(FRAME_TIME_WINDOW);
+      this.count = new AtomicLong();
+    }
+
+    public String getName() {
+      return this.name;
+    }
+
+    /**
+     * Records the specified frame time, overwriting the oldest sample once the window is full.
+     * 
+     * @param time
+     *          The frame time in milliseconds.
+     */
+    public void record(double time) {
+      final long index = this.count.getAndIncrement();
+      this.samples.set((int) (index % FRAME_TIME_WINDOW), Double.doubleToRawLongBits(time));
+    }
+
+    /**
+     * Gets the total number of samples that have been recorded for this stage.
+     * 
+     * @return The total number of recorded samples.
+     */
+    public long getTotalCount() {
+      return this.count.get();
+    }
+
+    /**
+     * Gets the most recently recorded frame time.
+     * 
+     * @return The last frame time in milliseconds or 0 if no time has been recorded yet.
+     */
+    public double getLast() {
+      final long current = this.count.get();
+      if (current == 0) {
+        return 0;
+      }
+
+      return Double.longBitsToDouble(this.samples.get((int) ((current - 1) % FRAME_TIME_WINDOW)));
+    }
+
+    public double getP50() {
+      return this.getPercentile(50);
+    }
+
+    public double getP95() {
+      return this.getPercentile(95);
+    }
+
+    public double getP99() {
+      return this.getPercentile(99);
+    }
+
+    public double getMax() {
+      return this.getPercentile(100);
+    }
+
+    /**
+     * Gets the specified percentile of the frame times within the current window.
+     * 
+     * @param percentile
+     *          The percentile in the range [0, 100].
+     * @return The frame time in milliseconds below which the specified percentage of the samples fall.
+     */
+    public double getPercentile(double percentile) {
+      return this.getPercentiles(percentile)[0];
+    }
+
+    /**
+     * Gets the specified percentiles of the frame times within the current window. This only sorts the window once which makes it cheaper than
+     * requesting the percentiles individually.
+     * 
+     * @param percentiles
+     *          The percentiles in the range [0, 100].
+     * @return An array that contains the frame time for each of the requested percentiles.
+     */
+    public double[] getPercentiles(double... percentiles) {
+      final double[] sorted = this.getSortedSamples();
+      final double[] result = new double[percentiles.length];
+      if (sorted.length == 0) {
+        return result;
+      }
+
+      for (int i = 0; i < percentiles.length; i++) {
+        final int rank = (int) Math.ceil(percentiles[i] / 100.0 * sorted.length);
+        result[i] = sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+      }
+
+      return result;
+    }
+
+    /**
+     * Gets the additional information that was provided with the last tracked frame time.
+     * 
+     * @return The additional render information.
+     */
+    public List<RenderInfo> getInfos() {
+      return Arrays.asList(this.infos);
+    }
+
+    /**
+     * Discards all samples that have been recorded so far.
+     */
+    public void clear() {
+      this.count.set(0);
+      this.infos = NO_INFOS;
+    }
+
+    void setInfos(RenderInfo[] infos) {
+      this.infos = infos;
+    }
+
+    @Override
+    public String toString() {
+      final double[] percentiles = this.getPercentiles(50, 95, 99, 100);
+      StringBuilder sb = new StringBuilder();
+      sb.append(String.format("%-10.10s: %6.2f / %6.2f / %6.2f / %6.2f ms", this.getName(), percentiles[0], percentiles[1], percentiles[2], percentiles[3]));
+      for (RenderInfo info : this.infos) {
+        sb.append(" ");
+        sb.append(info);
+      }
+
+      return sb.toString();
+    }
+
+    private double[] getSortedSamples() {
+      final int size = (int) Math.min(this.count.get(), FRAME_TIME_WINDOW);
+      final double[] sorted = new double[size];
+      for (int i = 0; i < size; i++) {
+        sorted[i] = Double.longBitsToDouble(this.samples.get(i));
+      }
+
+      Arrays.sort(sorted);
+      return sorted;
+    }
+  }
+
+  /**
+   * The render time of a single stage of a single frame.
+   * 
+   * @deprecated The render times are no longer collected per frame but recorded into ring buffers per stage; use
+   *             {@link GameMetrics#getFrameTimes(String)} instead. This class will be removed in a future release.
+   */
+  @Deprecated
   public class RenderMetrics {
     private final List<RenderInfo> renderInfo;
 
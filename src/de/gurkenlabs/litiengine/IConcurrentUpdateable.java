@@ -0,0 +1,24 @@
+package de.gurkenlabs.litiengine;
+
+/**
+ * Marks an <code>IUpdateable</code> whose update only changes its own state and can therefore be performed concurrently
+ * to the updates of other instances.
+ *
+ * <p>
+ * If concurrent updates are enabled for a loop, all attached instances of this type are updated in parallel at the
+ * beginning of a tick. The loop waits until all of them are finished before the remaining instances (e.g. physics and
+ * triggers) are updated one after another on the loop's thread. Otherwise, they are updated on the loop's thread, too.
+ * </p>
+ * <p>
+ * Implementations must not change shared state during their update, e.g. by adding entities to or removing them from an
+ * environment. Such changes need to be deferred to the loop's thread, e.g. by {@link IGameLoop#perform(int, Runnable)}
+ * which executes an action with a delay of 0 after all instances of the current tick have been updated.
+ * </p>
+ * <p>
+ * <i>Note that listeners of these instances may be notified from a worker thread while concurrent updates are enabled.</i>
+ * </p>
+ *
+ * @see ILoop#setConcurrentUpdates(boolean)
+ */
+public interface IConcurrentUpdateable extends IUpdateable {
+}
@@ -65,6 +65,17 @@ public interface ILoop extends ILaunchable {
    */
   public long getDeltaTime();
 
+  /**
+   * Gets the number of ticks that are covered by the current {@link #getDeltaTime()}.
+   * <p>
+   * This is 1 unless an instance with a reduced {@link UpdateTier} is updated, in which case the delta time covers all the
+   * ticks since the last update of that instance.
+   * </p>
+   *
+   * @return The number of ticks covered by the current delta time.
+   */
+  public int getDeltaTicks();
+
   /**
    * Gets the actual process time in milliseconds that was required during the last tick.
    * <br>
@@ -83,6 +94,50 @@ public interface ILoop extends ILaunchable {
    */
   public Lock getLock();
 
+  /**
+   * Gets the profiler that can sample the execution times of the updatables attached to this loop.
+   * 
+   * @return The update profiler of this loop.
+   * 
+   * @see UpdateProfiler#setSamplingRate(int)
+   */
+  public UpdateProfiler getUpdateProfiler();
+
+  /**
+   * Gets the policy that determines how often the attached instances are updated.
+   * 
+   * @return The update tier policy of this loop or null if all instances are updated on every tick.
+   */
+  public UpdateTierPolicy getUpdateTierPolicy();
+
+  /**
+   * Sets a policy that determines how often the attached instances are updated. Instances with a reduced tier receive
+   * the delta time that accumulated since their last update from {@link #getDeltaTime()} while they are updated.
+   * 
+   * @param policy
+   *          The update tier policy or null to update all instances on every tick.
+   * 
+   * @see DistanceUpdateTierPolicy
+   */
+  public void setUpdateTierPolicy(UpdateTierPolicy policy);
+
+  /**
+   * Indicates whether the attached {@link IConcurrentUpdateable} instances are updated in parallel.
+   * 
+   * @return True if concurrent updates are enabled; otherwise false.
+   */
+  public boolean isUpdatingConcurrently();
+
+  /**
+   * Enables or disables the parallel update of the attached {@link IConcurrentUpdateable} instances. This is disabled by
+   * default.
+   * 
+   * @param concurrentUpdates
+   *          True to update the concurrent instances in parallel before all other instances; false to update all instances
+   *          on the loop's thread.
+   */
+  public void setConcurrentUpdates(boolean concurrentUpdates);
+
   /**
    * Sets the tickrate at which the loop performs its updates.
    * 
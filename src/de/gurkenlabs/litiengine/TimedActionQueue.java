@@ -0,0 +1,151 @@
+package de.gurkenlabs.litiengine;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A scheduler for the timed actions of the <code>GameLoop</code> that keeps the actions in a min-heap ordered by their
+ * execution tick. Scheduling and rescheduling an action takes O(log n), removing an action by its id O(1) and a tick only
+ * needs to look at the actions that are actually due.
+ * <p>
+ * Removed or rescheduled actions are not searched in the heap but only marked as cancelled; they are dropped once they
+ * reach the top of the heap or when the heap is compacted. All operations are synchronized, so actions can be scheduled
+ * from any thread.
+ * </p>
+ *
+ * @see GameLoop#perform(int, Runnable)
+ */
+final class TimedActionQueue {
+  private static final Logger log = Logger.getLogger(TimedActionQueue.class.getName());
+  private static final AtomicInteger executionIndex = new AtomicInteger();
+
+  private final PriorityQueue<TimedAction> queue = new PriorityQueue<>(Comparator.comparingLong((TimedAction a) -> a.execution).thenComparingInt(a -> a.id));
+  private final Map<Integer, TimedAction> actions = new HashMap<>();
+  private int cancelled;
+
+  /**
+   * Schedules the specified action.
+   *
+   * @param executionTick
+   *          The tick at which the action is executed.
+   * @param action
+   *          The action to execute.
+   * @return The id of the scheduled action.
+   */
+  synchronized int add(final long executionTick, final Runnable action) {
+    final TimedAction timedAction = new TimedAction(executionIndex.getAndIncrement(), executionTick, action);
+    this.actions.put(timedAction.id, timedAction);
+    this.queue.add(timedAction);
+    return timedAction.id;
+  }
+
+  /**
+   * Moves the action with the specified id to another tick.
+   *
+   * @param id
+   *          The id of the action.
+   * @param executionTick
+   *          The tick at which the action is executed instead.
+   */
+  synchronized void reschedule(final int id, final long executionTick) {
+    final TimedAction timedAction = this.actions.get(id);
+    if (timedAction == null || timedAction.execution == executionTick) {
+      return;
+    }
+
+    // the heap cannot handle changing keys, so the action is replaced by a copy with the new execution tick
+    final TimedAction rescheduled = new TimedAction(id, executionTick, timedAction.action);
+    this.cancel(timedAction);
+    this.actions.put(id, rescheduled);
+    this.queue.add(rescheduled);
+  }
+
+  synchronized void remove(final int id) {
+    final TimedAction timedAction = this.actions.remove(id);
+    if (timedAction != null) {
+      this.cancel(timedAction);
+    }
+  }
+
+  synchronized int size() {
+    return this.actions.size();
+  }
+
+  /**
+   * Executes all actions that are due at the specified tick. The actions are executed in the order of their execution
+   * tick and outside of the lock of this instance, so they can schedule further actions which will be executed on the next
+   * tick the earliest.
+   * <p>
+   * The due actions are taken off the queue before any of them runs, so an exception of one action is logged and doesn't
+   * prevent the remaining actions from running.
+   * </p>
+   *
+   * @param tick
+   *          The current tick.
+   */
+  void execute(final long tick) {
+    final List<TimedAction> dueActions = new ArrayList<>();
+    synchronized (this) {
+      TimedAction next = this.queue.peek();
+      if (next == null || next.execution > tick) {
+        return;
+      }
+
+      while (next != null && next.execution <= tick) {
+        this.queue.poll();
+        if (next.cancelled) {
+          this.cancelled--;
+        } else {
+          this.actions.remove(next.id);
+          dueActions.add(next);
+        }
+
+        next = this.queue.peek();
+      }
+    }
+
+    for (final TimedAction action : dueActions) {
+      try {
+        action.action.run();
+      } catch (final Exception e) {
+        if (Game.config().client().exitOnError()) {
+          throw e;
+        }
+
+        log.log(Level.SEVERE, e.getMessage(), e);
+      }
+    }
+  }
+
+  private void cancel(final TimedAction timedAction) {
+    timedAction.cancelled = true;
+    this.cancelled++;
+
+    // cancelled actions are removed lazily, so make sure that they don't pile up when many actions get removed long
+    // before their execution
+    if (this.cancelled > 64 && this.cancelled > this.queue.size() / 2) {
+      this.queue.removeIf(a -> a.cancelled);
+      this.cancelled = 0;
+    }
+  }
+
+  private static final class TimedAction {
+    private final int id;
+    private final long execution;
+    private final Runnable action;
+    private boolean cancelled;
+
+    private TimedAction(final int id, final long execution, final Runnable action) {
+      this.id = id;
+      this.execution = execution;
+      this.action = action;
+    }
+  }
+}
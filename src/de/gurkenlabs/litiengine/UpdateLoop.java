@@ -1,5 +1,6 @@
 package de.gurkenlabs.litiengine;
 
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
@@ -7,6 +8,7 @@ import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import de.gurkenlabs.litiengine.jfr.UpdateLoopTickEvent;
 import de.gurkenlabs.litiengine.util.TimeUtilities;
 
 /**
@@ -19,7 +21,11 @@ import de.gurkenlabs.litiengine.util.TimeUtilities;
 public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
   private static final Logger log = Logger.getLogger(UpdateLoop.class.getName());
   private final Set<IUpdateable> updatables = ConcurrentHashMap.newKeySet();
+  private final Set<IUpdateable> concurrentUpdatables = ConcurrentHashMap.newKeySet();
   private final Lock lock = new ReentrantLock();
+  private final UpdateProfiler profiler = new UpdateProfiler();
+  // the accumulated delta time and the number of ticks it covers
+  private final Map<IUpdateable, long[]> accumulatedDeltas = new ConcurrentHashMap<>();
 
   private int tickRate;
 
@@ -29,6 +35,12 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
   private double processTime;
   private double delayError;
 
+  private volatile UpdateTierPolicy updateTierPolicy;
+  private volatile boolean concurrentUpdates;
+
+  // the delta of a throttled instance and the number of ticks it covers are only provided to the thread that updates it
+  private final ThreadLocal<long[]> currentDelta = ThreadLocal.withInitial(() -> new long[] { -1, 1 });
+
   protected UpdateLoop(String name, int tickRate) {
     super(name);
     this.tickRate = tickRate;
@@ -51,6 +63,9 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
 
       final long start = System.nanoTime();
 
+      final UpdateLoopTickEvent event = new UpdateLoopTickEvent();
+      event.begin();
+
       Lock theLock = this.getLock();
       theLock.lock();
       try {
@@ -59,6 +74,14 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
         theLock.unlock();
       }
 
+      event.end();
+      if (event.shouldCommit()) {
+        event.setLoop(this.getName());
+        event.setTick(this.totalTicks);
+        event.setUpdatables(this.getUpdatableCount());
+        event.commit();
+      }
+
       // delay tick to meet the expected rate
       this.processTime = TimeUtilities.nanoToMs(System.nanoTime() - start);
       double delay;
@@ -87,7 +110,8 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
       return;
     }
 
-    if (!this.updatables.add(updatable)) {
+    final Set<IUpdateable> target = updatable instanceof IConcurrentUpdateable ? this.concurrentUpdatables : this.updatables;
+    if (!target.add(updatable)) {
       log.log(Level.FINE, "Updatable {0} already registered for update!", new Object[] { updatable });
     }
   }
@@ -95,11 +119,13 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
   @Override
   public void detach(final IUpdateable updatable) {
     this.updatables.remove(updatable);
+    this.concurrentUpdatables.remove(updatable);
+    this.accumulatedDeltas.remove(updatable);
   }
 
   @Override
   public int getUpdatableCount() {
-    return this.updatables.size();
+    return this.updatables.size() + this.concurrentUpdatables.size();
   }
 
   @Override
@@ -112,24 +138,86 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
     return this.tickRate;
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * While an instance with a reduced {@link UpdateTier} is updated by this loop, this returns the time that passed since
+   * the last update of that instance instead.
+   * </p>
+   */
   @Override
   public long getDeltaTime() {
+    final long delta = this.currentDelta.get()[0];
+    if (delta >= 0) {
+      return delta;
+    }
+
     return this.deltaTime;
   }
 
+  @Override
+  public int getDeltaTicks() {
+    final long[] delta = this.currentDelta.get();
+    return delta[0] >= 0 ? (int) delta[1] : 1;
+  }
+
   @Override
   public double getProcessTime() {
     return this.processTime;
   }
 
+  @Override
+  public UpdateProfiler getUpdateProfiler() {
+    return this.profiler;
+  }
+
+  @Override
+  public UpdateTierPolicy getUpdateTierPolicy() {
+    return this.updateTierPolicy;
+  }
+
+  @Override
+  public boolean isUpdatingConcurrently() {
+    return this.concurrentUpdates;
+  }
+
+  @Override
+  public void setConcurrentUpdates(boolean concurrentUpdates) {
+    this.concurrentUpdates = concurrentUpdates;
+  }
+
+  @Override
+  public void setUpdateTierPolicy(UpdateTierPolicy policy) {
+    this.updateTierPolicy = policy;
+    if (policy == null) {
+      this.accumulatedDeltas.clear();
+    }
+  }
+
   public void setTickRate(int tickRate) {
     this.tickRate = tickRate;
   }
 
+  /**
+   * Gets all attached instances that are updated one after another on the loop's thread.
+   * 
+   * @return The serially updated instances.
+   */
   protected Set<IUpdateable> getUpdatables() {
     return this.updatables;
   }
 
+  /**
+   * Gets all attached instances that can be updated concurrently.
+   * 
+   * @return The concurrently updated instances.
+   * 
+   * @see IConcurrentUpdateable
+   */
+  protected Set<IUpdateable> getConcurrentUpdatables() {
+    return this.concurrentUpdatables;
+  }
+
   /**
    * Performs the actual workload of a tick. This base implementation just calls the update method on all registered instances.
    * For derived loop implementations this is more sophisticated.
@@ -144,23 +232,107 @@ public class UpdateLoop extends Thread implements AutoCloseable, ILoop {
 
   /**
    * Calls the <code>update()</code> procedure on all registered instances.
+   * If concurrent updates are enabled, the <code>IConcurrentUpdateable</code> instances are updated in parallel first and the remaining
+   * instances are updated serially once all of them are finished.
+   * If the <code>UpdateProfiler</code> of this loop samples the current tick, the execution time of each instance is measured. Sampled ticks
+   * are always performed serially to keep the measurements comparable.
    * 
    * @see IUpdateable#update()
+   * @see #getUpdateProfiler()
+   * @see #setConcurrentUpdates(boolean)
    */
   protected void update() {
-    for (IUpdateable updatable : this.getUpdatables()) {
-      try {
-        if (updatable != null) {
-          updatable.update();
-        }
-      } catch (final Exception e) {
-        if (Game.config().client().exitOnError()) {
-          throw e;
+    final boolean sample = this.profiler.isSampling(this.totalTicks);
+    final UpdateTierPolicy policy = this.updateTierPolicy;
+    if (!this.getConcurrentUpdatables().isEmpty()) {
+      if (this.isUpdatingConcurrently() && !sample) {
+        // the parallel stream only returns once all instances are updated, so this acts as barrier before the serial phase
+        this.getConcurrentUpdatables().parallelStream().forEach(updatable -> this.update(updatable, policy, false));
+      } else {
+        for (IUpdateable updatable : this.getConcurrentUpdatables()) {
+          this.update(updatable, policy, sample);
         }
+      }
+    }
+
+    for (IUpdateable updatable : this.getUpdatables()) {
+      this.update(updatable, policy, sample);
+    }
+
+    if (sample) {
+      this.profiler.tickSampled();
+    }
+  }
+
+  private void update(IUpdateable updatable, UpdateTierPolicy policy, boolean sample) {
+    try {
+      if (updatable == null || policy != null && !this.isDue(updatable, policy.getTier(updatable))) {
+        return;
+      }
+
+      if (sample) {
+        final long start = System.nanoTime();
+        updatable.update();
+        this.profiler.record(updatable, System.nanoTime() - start);
+      } else {
+        updatable.update();
+      }
+    } catch (final Exception e) {
+      if (Game.config().client().exitOnError()) {
+        throw e;
+      }
+
+      log.log(Level.SEVERE, e.getMessage(), e);
+    } finally {
+      this.currentDelta.get()[0] = -1;
+    }
+  }
 
-        log.log(Level.SEVERE, e.getMessage(), e);
+  /**
+   * Determines whether the specified instance needs to be updated during the current tick and accumulates the delta time
+   * of the ticks that it skips.
+   * 
+   * @param updatable
+   *          The instance that is about to be updated.
+   * @param tier
+   *          The current update tier of the instance.
+   * @return True if the instance should be updated; otherwise false.
+   */
+  private boolean isDue(IUpdateable updatable, UpdateTier tier) {
+    if (tier == null || tier == UpdateTier.FULL) {
+      // provide the time that accumulated while the instance was updated at a reduced rate
+      final long[] accumulated = this.accumulatedDeltas.remove(updatable);
+      if (accumulated != null) {
+        this.provideDelta(accumulated[0] + this.deltaTime, accumulated[1] + 1);
       }
+
+      return true;
     }
+
+    if (tier.getInterval() <= 0) {
+      this.accumulatedDeltas.remove(updatable);
+      return false;
+    }
+
+    final long[] accumulated = this.accumulatedDeltas.computeIfAbsent(updatable, u -> new long[2]);
+    accumulated[0] += this.deltaTime;
+    accumulated[1]++;
+
+    // spread the instances of a tier over the ticks of its interval
+    if ((this.totalTicks + System.identityHashCode(updatable)) % tier.getInterval() != 0) {
+      return false;
+    }
+
+    this.provideDelta(accumulated[0], accumulated[1]);
+    accumulated[0] = 0;
+    accumulated[1] = 0;
+    return true;
+  }
+
+  private void provideDelta(long delta, long ticks) {
+    final long[] current = this.currentDelta.get();
+    current[0] = delta;
+    current[1] = ticks;
   }
 
   /**
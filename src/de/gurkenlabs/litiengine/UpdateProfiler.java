@@ -0,0 +1,189 @@
+package de.gurkenlabs.litiengine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.gurkenlabs.litiengine.util.TimeUtilities;
+
+/**
+ * The <code>UpdateProfiler</code> samples the execution time of the <code>IUpdateable</code> instances that are attached to a loop.
+ * The times are aggregated per class of the updatable which allows to identify the types of emitters, triggers or controllers that
+ * consume most of the tick budget.
+ * 
+ * <p>
+ * The profiler is disabled by default. To keep the overhead low, only one in <code>samplingRate</code> ticks is measured.
+ * </p>
+ * 
+ * <p>
+ * The times are recorded on the loop's thread, but they can safely be read from any other thread (e.g. by the render thread for the metrics
+ * overlay). Each measured value is published atomically; a snapshot that is created while a tick is being sampled may however already
+ * contain some of the measurements of that tick.
+ * </p>
+ * 
+ * @see ILoop#getUpdateProfiler()
+ * @see #setSamplingRate(int)
+ * @see GameMetrics#render(java.awt.Graphics2D)
+ */
+public final class UpdateProfiler {
+  private final Map<Class<?>, Accumulator> accumulators = new ConcurrentHashMap<>();
+
+  private volatile int samplingRate;
+  private final AtomicLong sampledTicks = new AtomicLong();
+
+  UpdateProfiler() {
+  }
+
+  /**
+   * Gets the rate at which ticks are sampled.
+   * 
+   * @return The number of ticks between two samples; 0 if the profiler is disabled.
+   */
+  public int getSamplingRate() {
+    return this.samplingRate;
+  }
+
+  /**
+   * Sets the rate at which ticks are sampled, e.g. a rate of 10 measures the updatables every 10th tick.
+   * 
+   * @param samplingRate
+   *          The number of ticks between two samples. A value of 0 (or less) disables the profiler.
+   */
+  public void setSamplingRate(int samplingRate) {
+    this.samplingRate = Math.max(0, samplingRate);
+  }
+
+  public boolean isEnabled() {
+    return this.samplingRate > 0;
+  }
+
+  /**
+   * Gets the number of ticks that have been measured since the profiler was enabled or reset.
+   * 
+   * @return The number of sampled ticks.
+   */
+  public long getSampledTicks() {
+    return this.sampledTicks.get();
+  }
+
+  /**
+   * Discards all samples that have been recorded so far.
+   */
+  public void reset() {
+    this.accumulators.clear();
+    this.sampledTicks.set(0);
+  }
+
+  /**
+   * Gets the updatable types that took the most time per tick on average, in descending order.
+   * 
+   * @param count
+   *          The maximum number of entries to return.
+   * @return The slowest updatable types.
+   */
+  public List<UpdatableTime> getTopOffenders(int count) {
+    final List<UpdatableTime> snapshot = this.snapshot();
+    return snapshot.size() <= count ? snapshot : snapshot.subList(0, Math.max(0, count));
+  }
+
+  /**
+   * Creates an immutable snapshot of the times that have been measured for all updatable types, ordered by their average time per tick in
+   * descending order.
+   * 
+   * @return The measured times by updatable type.
+   */
+  public List<UpdatableTime> snapshot() {
+    final List<UpdatableTime> times = new ArrayList<>();
+    final long ticks = Math.max(1, this.sampledTicks.get());
+    for (Map.Entry<Class<?>, Accumulator> entry : this.accumulators.entrySet()) {
+      final Accumulator acc = entry.getValue();
+      times.add(new UpdatableTime(entry.getKey(), acc.invocations.get(), TimeUtilities.nanoToMs(acc.totalNanos.get()) / ticks, TimeUtilities.nanoToMs(acc.maxNanos.get())));
+    }
+
+    times.sort(Comparator.comparingDouble(UpdatableTime::getAverageTickTime).reversed());
+    return Collections.unmodifiableList(times);
+  }
+
+  boolean isSampling(long tick) {
+    final int rate = this.samplingRate;
+    return rate > 0 && tick % rate == 0;
+  }
+
+  void record(IUpdateable updatable, long nanos) {
+    Accumulator acc = this.accumulators.get(updatable.getClass());
+    if (acc == null) {
+      acc = this.accumulators.computeIfAbsent(updatable.getClass(), c -> new Accumulator());
+    }
+
+    acc.invocations.incrementAndGet();
+    acc.totalNanos.addAndGet(nanos);
+    acc.maxNanos.accumulateAndGet(nanos, Math::max);
+  }
+
+  void tickSampled() {
+    this.sampledTicks.incrementAndGet();
+  }
+
+  private static class Accumulator {
+    private final AtomicLong invocations = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+  }
+
+  /**
+   * An immutable entry of an {@link UpdateProfiler} snapshot that holds the measured times of one updatable type.
+   */
+  public static final class UpdatableTime {
+    private final Class<?> type;
+    private final long invocations;
+    private final double averageTickTime;
+    private final double maxTime;
+
+    UpdatableTime(Class<?> type, long invocations, double averageTickTime, double maxTime) {
+      this.type = type;
+      this.invocations = invocations;
+      this.averageTickTime = averageTickTime;
+      this.maxTime = maxTime;
+    }
+
+    public Class<?> getType() {
+      return this.type;
+    }
+
+    /**
+     * Gets the number of measured <code>update()</code> calls on instances of this type.
+     * 
+     * @return The number of measured invocations.
+     */
+    public long getInvocations() {
+      return this.invocations;
+    }
+
+    /**
+     * Gets the time that all instances of this type took together per sampled tick.
+     * 
+     * @return The average time per tick in milliseconds.
+     */
+    public double getAverageTickTime() {
+      return this.averageTickTime;
+    }
+
+    /**
+     * Gets the longest time that a single <code>update()</code> call on an instance of this type took.
+     * 
+     * @return The maximum time of a single update in milliseconds.
+     */
+    public double getMaxTime() {
+      return this.maxTime;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%-20.20s: %6.3f ms/tick (max %6.3f ms, %d calls)", this.getType().getSimpleName(), this.getAverageTickTime(), this.getMaxTime(), this.getInvocations());
+    }
+  }
+}
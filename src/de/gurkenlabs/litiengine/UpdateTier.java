@@ -0,0 +1,39 @@
+package de.gurkenlabs.litiengine;
+
+/**
+ * The <code>UpdateTier</code> determines how often an <code>IUpdateable</code> is updated by its loop.
+ *
+ * @see UpdateTierPolicy
+ * @see ILoop#setUpdateTierPolicy(UpdateTierPolicy)
+ */
+public enum UpdateTier {
+  /**
+   * The instance is updated on every tick.
+   */
+  FULL(1),
+
+  /**
+   * The instance is updated on every 4th tick and receives the delta time that accumulated in between.
+   */
+  REDUCED(4),
+
+  /**
+   * The instance is not updated at all. No delta time is accumulated while the instance is suspended.
+   */
+  SUSPENDED(0);
+
+  private final int interval;
+
+  private UpdateTier(int interval) {
+    this.interval = interval;
+  }
+
+  /**
+   * Gets the number of ticks between two updates of this tier.
+   *
+   * @return The update interval in ticks; 0 if instances of this tier are not updated.
+   */
+  public int getInterval() {
+    return this.interval;
+  }
+}
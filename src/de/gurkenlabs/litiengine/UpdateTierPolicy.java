@@ -0,0 +1,24 @@
+package de.gurkenlabs.litiengine;
+
+/**
+ * This policy assigns the <code>IUpdateable</code> instances of a loop to an {@link UpdateTier} which allows to update
+ * less relevant instances (e.g. entities that are far away from the camera) less frequently.
+ * <p>
+ * The policy is asked for the tier of every attached instance on every tick, so implementations need to be cheap.
+ * </p>
+ *
+ * @see ILoop#setUpdateTierPolicy(UpdateTierPolicy)
+ * @see DistanceUpdateTierPolicy
+ */
+@FunctionalInterface
+public interface UpdateTierPolicy {
+
+  /**
+   * Gets the tier at which the specified instance is updated during the current tick.
+   *
+   * @param updatable
+   *          The instance that is about to be updated.
+   * @return The update tier of the instance.
+   */
+  public UpdateTier getTier(IUpdateable updatable);
+}
@@ -1,8 +1,10 @@
 package de.gurkenlabs.litiengine.attributes;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 // TODO: Auto-generated Javadoc
 /**
@@ -18,18 +20,28 @@ import java.util.List;
  * An example use-case are player stats that might be affected throughout the game (e.g. via certain skills, upgrades or level-ups).
  * </i>
  * </p>
+ * 
+ * <p>
+ * The current value is cached and only computed again after the base value or the modifiers have changed. Such changes can be observed by
+ * registering an {@link AttributeListener}.
+ * </p>
  *
  * @param <T>
  *          The type of the attribute value.
  */
 public class Attribute<T extends Number> {
 
-  /** The modifiers. */
+  /** The modifiers, sorted by their apply order. */
   private final List<AttributeModifier<T>> modifiers;
+  private final List<AttributeModifier<T>> modifiersView;
+  private final Collection<AttributeListener<T>> listeners = ConcurrentHashMap.newKeySet();
 
   /** The base value. */
   private T baseValue;
 
+  /** The cached value; null if it needs to be computed again. */
+  private volatile T value;
+
   /**
    * Initializes a new instance of the <code>Attribute</code> class.
    *
@@ -38,9 +50,24 @@ public class Attribute<T extends Number> {
    */
   public Attribute(final T initialValue) {
     this.modifiers = new ArrayList<>();
+    this.modifiersView = Collections.unmodifiableList(this.modifiers);
     this.baseValue = initialValue;
   }
 
+  /**
+   * Adds the specified listener that is notified whenever the value of this attribute might have changed.
+   * 
+   * @param listener
+   *          The listener to add.
+   */
+  public void addListener(final AttributeListener<T> listener) {
+    this.listeners.add(listener);
+  }
+
+  public void removeListener(final AttributeListener<T> listener) {
+    this.listeners.remove(listener);
+  }
+
   /**
    * Adds the specified modifier to this attribute.
    * 
@@ -48,12 +75,15 @@ public class Attribute<T extends Number> {
    *          The modifier to be added to this instance.
    */
   public void addModifier(final AttributeModifier<T> modifier) {
-    if (this.getModifiers().contains(modifier)) {
-      return;
+    synchronized (this) {
+      if (!addSorted(this.modifiers, modifier)) {
+        return;
+      }
+
+      modifier.addAttribute(this);
     }
 
-    this.getModifiers().add(modifier);
-    Collections.sort(this.getModifiers());
+    this.invalidate();
   }
 
   /**
@@ -63,8 +93,17 @@ public class Attribute<T extends Number> {
    *          The modifier to be removed from this instance.
    */
   public void removeModifier(final AttributeModifier<T> modifier) {
-    this.getModifiers().remove(modifier);
-    Collections.sort(this.getModifiers());
+    synchronized (this) {
+      final int index = this.modifiers.indexOf(modifier);
+      if (index < 0) {
+        return;
+      }
+
+      // removing an element keeps the order of the remaining modifiers intact
+      this.unregister(this.modifiers.remove(index));
+    }
+
+    this.invalidate();
   }
 
   /**
@@ -73,7 +112,18 @@ public class Attribute<T extends Number> {
    * @return The current value of this attribute.
    */
   public T get() {
-    return this.applyModifiers(this.getBase());
+    T current = this.value;
+    if (current == null) {
+      synchronized (this) {
+        current = this.value;
+        if (current == null) {
+          current = this.computeValue();
+          this.value = current;
+        }
+      }
+    }
+
+    return current;
   }
 
   /**
@@ -88,10 +138,13 @@ public class Attribute<T extends Number> {
   /**
    * Gets all modifiers added to this instance.
    * 
-   * @return All modifiers added to this instance.
+   * @return An unmodifiable list of all modifiers added to this instance, sorted by their apply order.
+   * 
+   * @see #addModifier(AttributeModifier)
+   * @see #removeModifier(AttributeModifier)
    */
   public List<AttributeModifier<T>> getModifiers() {
-    return this.modifiers;
+    return this.modifiersView;
   }
 
   /**
@@ -101,8 +154,8 @@ public class Attribute<T extends Number> {
    *          The modifier to check for.
    * @return True if the modifier was added to this attribute instance; otherwise false.
    */
-  public boolean isModifierApplied(final AttributeModifier<T> modifier) {
-    return this.getModifiers().contains(modifier);
+  public synchronized boolean isModifierApplied(final AttributeModifier<T> modifier) {
+    return this.modifiers.contains(modifier);
   }
 
   /**
@@ -115,7 +168,7 @@ public class Attribute<T extends Number> {
    * @see #setBaseValue(Number)
    */
   public void modifyBaseValue(final AttributeModifier<T> modifier) {
-    this.baseValue = modifier.modify(this.getBase());
+    this.setBaseValue(modifier.modify(this.getBase()));
   }
 
   /**
@@ -126,6 +179,7 @@ public class Attribute<T extends Number> {
    */
   public void setBaseValue(final T baseValue) {
     this.baseValue = baseValue;
+    this.invalidate();
   }
 
   /**
@@ -144,6 +198,93 @@ public class Attribute<T extends Number> {
     return currentValue;
   }
 
+  /**
+   * Computes the current value of this attribute. This is only called if the cached value was invalidated.
+   * 
+   * @return The current value of this attribute.
+   * 
+   * @see #invalidate()
+   */
+  protected T computeValue() {
+    return this.applyModifiers(this.getBase());
+  }
+
+  /**
+   * Determines whether the specified modifier instance is still used by any modifier list of this attribute.
+   * Derived classes that keep additional modifier lists need to include them.
+   * 
+   * @param modifier
+   *          The modifier to check for.
+   * @return True if the modifier instance is still used by this attribute; otherwise false.
+   */
+  protected boolean usesModifier(final AttributeModifier<T> modifier) {
+    return containsInstance(this.modifiers, modifier);
+  }
+
+  /**
+   * Stops the specified modifier from notifying this attribute about changes once it is no longer used by any of its
+   * modifier lists.
+   * 
+   * @param modifier
+   *          The modifier that was removed from one of the modifier lists.
+   */
+  protected void unregister(final AttributeModifier<T> modifier) {
+    if (!this.usesModifier(modifier)) {
+      modifier.removeAttribute(this);
+    }
+  }
+
+  /**
+   * Discards the cached value of this attribute and notifies all listeners about the change. This needs to be called by
+   * derived classes whenever they change any state that affects the value.
+   */
+  protected void invalidate() {
+    synchronized (this) {
+      this.value = null;
+    }
+
+    for (final AttributeListener<T> listener : this.listeners) {
+      listener.changed(this);
+    }
+  }
+
+  /**
+   * Inserts the modifier into the list that is sorted by the apply order of the modifiers. Modifiers with the same apply
+   * order keep the order in which they were added.
+   * 
+   * @return True if the modifier was added; false if an equal modifier is already contained in the list.
+   */
+  static <T extends Number> boolean addSorted(final List<AttributeModifier<T>> modifiers, final AttributeModifier<T> modifier) {
+    if (modifiers.contains(modifier)) {
+      return false;
+    }
+
+    int low = 0;
+    int high = modifiers.size();
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (modifiers.get(mid).compareTo(modifier) <= 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+
+    modifiers.add(low, modifier);
+    return true;
+  }
+
+  static <T extends Number> boolean containsInstance(final List<AttributeModifier<T>> modifiers, final AttributeModifier<T> modifier) {
+    // modifiers are equal by value, but the registration belongs to the exact instance
+    for (final AttributeModifier<T> mod : modifiers) {
+      if (mod == modifier) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
   @Override
   public String toString() {
     return this.get() == null ? null : this.get().toString();
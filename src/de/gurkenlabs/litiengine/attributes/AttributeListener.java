@@ -0,0 +1,25 @@
+package de.gurkenlabs.litiengine.attributes;
+
+import java.util.EventListener;
+
+/**
+ * This listener provides a callback for when the value of an attribute might have changed, i.e. when its base value was set
+ * or one of its modifiers was added, removed or adjusted.
+ *
+ * @param <T>
+ *          The type of the attribute value.
+ *
+ * @see Attribute#addListener(AttributeListener)
+ */
+@FunctionalInterface
+public interface AttributeListener<T extends Number> extends EventListener {
+
+  /**
+   * Invoked after the value of the specified attribute might have changed. The new value is computed upon the next call of
+   * {@link Attribute#get()}.
+   *
+   * @param attribute
+   *          The changed attribute.
+   */
+  public void changed(Attribute<T> attribute);
+}
@@ -1,5 +1,11 @@
 package de.gurkenlabs.litiengine.attributes;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.WeakHashMap;
+
 /**
  * An attribute modifier allows to modify attributes by the
  * specified Modification and modify value.
@@ -7,11 +13,18 @@ package de.gurkenlabs.litiengine.attributes;
  * @param <T>
  *          the generic type
  *
+ * <p>
+ * A modifier only keeps weak references to the attributes it was added to, so sharing one modifier between many
+ * short-lived attributes doesn't keep them alive.
+ * </p>
+ *
  * @see Attribute#addModifier(AttributeModifier)
  * @see Attribute#modifyBaseValue(AttributeModifier)
  */
 public class AttributeModifier<T extends Number> implements Comparable<AttributeModifier<T>> {
   private final Modification modification;
+  // created when the modifier is first added to an attribute because most modifiers are only applied to base values
+  private volatile Collection<Attribute<T>> attributes;
   private double modifyValue;
   private boolean active;
 
@@ -99,10 +112,42 @@ public class AttributeModifier<T extends Number> implements Comparable<Attribute
 
   public void setModifyValue(double value) {
     this.modifyValue = value;
+    this.invalidateAttributes();
   }
 
   public void setActive(boolean active) {
     this.active = active;
+    this.invalidateAttributes();
+  }
+
+  synchronized void addAttribute(final Attribute<T> attribute) {
+    if (this.attributes == null) {
+      this.attributes = Collections.newSetFromMap(new WeakHashMap<>());
+    }
+
+    this.attributes.add(attribute);
+  }
+
+  synchronized void removeAttribute(final Attribute<T> attribute) {
+    if (this.attributes != null) {
+      this.attributes.remove(attribute);
+    }
+  }
+
+  private void invalidateAttributes() {
+    if (this.attributes == null) {
+      return;
+    }
+
+    // the attributes this modifier is added to have cached a value that might be outdated now
+    final List<Attribute<T>> current;
+    synchronized (this) {
+      current = new ArrayList<>(this.attributes);
+    }
+
+    for (final Attribute<T> attribute : current) {
+      attribute.invalidate();
+    }
   }
 
   @SuppressWarnings("unchecked")
@@ -1,6 +1,5 @@
 package de.gurkenlabs.litiengine.attributes;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -11,6 +10,9 @@ public class RangeAttribute<T extends Number> extends Attribute<T> {
 
   private T maxBaseValue;
 
+  /** The cached max value; null if it needs to be computed again. */
+  private volatile T max;
+
   /**
    * Initializes a new instance of the <code>RangeAttribute</code> class.
    *
@@ -31,27 +33,53 @@ public class RangeAttribute<T extends Number> extends Attribute<T> {
   }
 
   public void addMinModifier(final AttributeModifier<T> modifier) {
-    if (this.getMinModifiers().contains(modifier)) {
-      return;
+    synchronized (this) {
+      if (!addSorted(this.getMinModifiers(), modifier)) {
+        return;
+      }
+
+      modifier.addAttribute(this);
     }
 
-    this.getMinModifiers().add(modifier);
-    Collections.sort(this.getMinModifiers());
+    this.invalidate();
   }
 
   public void addMaxModifier(final AttributeModifier<T> modifier) {
-    if (this.getMaxModifiers().contains(modifier)) {
-      return;
+    synchronized (this) {
+      if (!addSorted(this.getMaxModifiers(), modifier)) {
+        return;
+      }
+
+      modifier.addAttribute(this);
     }
 
-    this.getMaxModifiers().add(modifier);
-    Collections.sort(this.getMaxModifiers());
+    this.invalidate();
   }
 
-  @Override
-  public T get() {
-    final T current = this.applyModifiers(this.getBase());
-    return this.valueInRange(current);
+  public void removeMinModifier(final AttributeModifier<T> modifier) {
+    synchronized (this) {
+      final int index = this.getMinModifiers().indexOf(modifier);
+      if (index < 0) {
+        return;
+      }
+
+      this.unregister(this.getMinModifiers().remove(index));
+    }
+
+    this.invalidate();
+  }
+
+  public void removeMaxModifier(final AttributeModifier<T> modifier) {
+    synchronized (this) {
+      final int index = this.getMaxModifiers().indexOf(modifier);
+      if (index < 0) {
+        return;
+      }
+
+      this.unregister(this.getMaxModifiers().remove(index));
+    }
+
+    this.invalidate();
   }
 
   public T getMin() {
@@ -59,7 +87,18 @@ public class RangeAttribute<T extends Number> extends Attribute<T> {
   }
 
   public T getMax() {
-    return this.applyMaxModifiers(this.maxBaseValue);
+    T current = this.max;
+    if (current == null) {
+      synchronized (this) {
+        current = this.max;
+        if (current == null) {
+          current = this.applyMaxModifiers(this.maxBaseValue);
+          this.max = current;
+        }
+      }
+    }
+
+    return current;
   }
 
   public float getRelativeCurrentValue() {
@@ -72,7 +111,7 @@ public class RangeAttribute<T extends Number> extends Attribute<T> {
   }
 
   public void modifyMaxBaseValue(final AttributeModifier<T> modifier) {
-    this.maxBaseValue = modifier.modify(this.maxBaseValue);
+    this.setMaxBaseValue(modifier.modify(this.maxBaseValue));
   }
 
   public void setToMin() {
@@ -85,10 +124,12 @@ public class RangeAttribute<T extends Number> extends Attribute<T> {
 
   public void setMaxBaseValue(final T maxValue) {
     this.maxBaseValue = maxValue;
+    this.invalidate();
   }
 
   public void setMinBaseValue(final T minValue) {
     this.minBaseValue = minValue;
+    this.invalidate();
   }
 
   protected List<AttributeModifier<T>> getMinModifiers() {
@@ -117,6 +158,25 @@ public class RangeAttribute<T extends Number> extends Attribute<T> {
     return currentValue;
   }
 
+  @Override
+  protected T computeValue() {
+    return this.valueInRange(this.applyModifiers(this.getBase()));
+  }
+
+  @Override
+  protected boolean usesModifier(final AttributeModifier<T> modifier) {
+    return super.usesModifier(modifier) || containsInstance(this.getMinModifiers(), modifier) || containsInstance(this.getMaxModifiers(), modifier);
+  }
+
+  @Override
+  protected void invalidate() {
+    synchronized (this) {
+      this.max = null;
+    }
+
+    super.invalidate();
+  }
+
   private T valueInRange(final T value) {
     if (value.doubleValue() < this.minBaseValue.doubleValue()) {
       return this.minBaseValue;
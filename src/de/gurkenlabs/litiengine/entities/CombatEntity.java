@@ -227,6 +227,24 @@ public class CombatEntity extends CollisionEntity implements ICombatEntity {
     this.setCollision(true);
   }
 
+  /**
+   * In addition to the base implementation, this restores the hit points (and the collision of a dead entity) without firing a
+   * resurrection event and clears the applied effects, the target and the last hit.
+   */
+  @Override
+  public void reset() {
+    super.reset();
+    final boolean dead = this.isDead();
+    this.getHitPoints().modifyBaseValue(new AttributeModifier<>(Modification.SET, this.getHitPoints().getMax()));
+    if (dead) {
+      this.setCollision(true);
+    }
+
+    this.appliedEffects.clear();
+    this.target = null;
+    this.lastHit = 0;
+  }
+
   @Override
   public void setIndestructible(final boolean indestructible) {
     this.isIndestructible = indestructible;
@@ -132,8 +132,9 @@ public class Creature extends CombatEntity implements IMobileEntity {
   @Override
   public float getTickVelocity() {
     // pixels per ms multiplied by the passed ms
-    // ensure that entities don't travel too far in case of lag
-    return Math.min(Game.loop().getDeltaTime(), GameLoop.TICK_DELTATIME_LAG) * 0.001F * this.getVelocity().get() * Game.loop().getTimeScale();
+    // ensure that entities don't travel too far in case of lag, per tick that passed since the last update of this instance
+    final long maxDelta = (long) GameLoop.TICK_DELTATIME_LAG * Game.loop().getDeltaTicks();
+    return Math.min(Game.loop().getDeltaTime(), maxDelta) * 0.001F * this.getVelocity().get() * Game.loop().getTimeScale();
   }
 
   @Override
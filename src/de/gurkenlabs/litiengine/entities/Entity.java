@@ -8,6 +8,7 @@ import java.lang.reflect.Modifier;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
@@ -347,7 +348,15 @@ public abstract class Entity implements IEntity, EntityRenderListener {
 
   @Override
   public void setName(final String name) {
+    final String previousName = this.name;
     this.name = name;
+    if (Objects.equals(previousName, name)) {
+      return;
+    }
+
+    for (EntityListener listener : this.listeners) {
+      listener.nameChanged(this, previousName);
+    }
   }
 
   @Override
@@ -462,6 +471,16 @@ public abstract class Entity implements IEntity, EntityRenderListener {
     return this.loaded;
   }
 
+  /**
+   * Resets the map ID and the angle of this entity. The environment will assign a new map ID when the entity is added
+   * again, so that references to the previous life cycle of this instance cannot be mistaken for the current one.
+   */
+  @Override
+  public void reset() {
+    this.mapId = 0;
+    this.angle = 0;
+  }
+
   @Override
   public boolean renderWithLayer() {
     return this.renderWithLayer;
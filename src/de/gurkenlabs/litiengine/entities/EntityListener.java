@@ -9,4 +9,6 @@ public interface EntityListener extends EventListener {
   public default void loaded(IEntity entity, Environment environment) {}
 
   public default void removed(IEntity entity, Environment environment) {}
+
+  public default void nameChanged(IEntity entity, String previousName) {}
 }
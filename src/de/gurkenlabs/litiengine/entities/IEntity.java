@@ -5,6 +5,7 @@ import java.awt.geom.Rectangle2D;
 import java.util.List;
 
 import de.gurkenlabs.litiengine.entities.behavior.IBehaviorController;
+import de.gurkenlabs.litiengine.environment.EntityPool;
 import de.gurkenlabs.litiengine.environment.Environment;
 import de.gurkenlabs.litiengine.environment.GameWorld;
 import de.gurkenlabs.litiengine.environment.tilemap.ICustomPropertyProvider;
@@ -253,6 +254,21 @@ public interface IEntity{
    */
   public void removed(Environment environment);
 
+  /**
+   * Resets the state of this entity that only applies to a single life cycle so that the instance can be reused after it
+   * was removed from its environment.
+   * <p>
+   * <i>This is called by an {@link EntityPool} before a returned entity is handed out again. Implementations that keep
+   * additional state between being spawned and removed should override this and call the super implementation. The
+   * default implementation does nothing.</i>
+   * </p>
+   * 
+   * @see EntityPool#obtain()
+   */
+  public default void reset() {
+    // there is no state to reset by default
+  }
+
   /**
    * Indicates whether this entity is loaded on the currently active environment.
    * 
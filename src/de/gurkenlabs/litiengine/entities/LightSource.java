@@ -3,7 +3,6 @@ package de.gurkenlabs.litiengine.entities;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Paint;
-import java.awt.Point;
 import java.awt.Polygon;
 import java.awt.RadialGradientPaint;
 import java.awt.Shape;
@@ -254,9 +253,8 @@ public class LightSource extends Entity implements IRenderable {
     final float ry = (float) bounds.getHeight() / 2f;
 
     // get relative center of entity
-    final Point2D relativeCenter = Game.world().camera().getViewportLocation(new Point((int) (bounds.getX() + r), (int) (bounds.getY() + ry)));
-    final double cx = relativeCenter.getX();
-    final double cy = relativeCenter.getY();
+    final double cx = Game.world().camera().getViewportLocationX((int) (bounds.getX() + r));
+    final double cy = Game.world().camera().getViewportLocationY((int) (bounds.getY() + ry));
 
     // get direction from light to entity center
     final double dx = cx - center.getX();
@@ -293,8 +291,9 @@ public class LightSource extends Entity implements IRenderable {
     shadowPolygon.addPoint((int) pointD.getX(), (int) pointD.getY());
     shadowPolygon.addPoint((int) pointC.getX(), (int) pointC.getY());
 
-    final Point2D shadowRenderLocation = Game.world().camera().getViewportLocation(new Point2D.Double(shadowEllipse.getX(), shadowEllipse.getY()));
-    final Ellipse2D relativeEllipse = new Ellipse2D.Double(shadowRenderLocation.getX(), shadowRenderLocation.getY(), shadowEllipse.getWidth(), shadowEllipse.getHeight());
+    final double shadowRenderX = Game.world().camera().getViewportLocationX(shadowEllipse.getX());
+    final double shadowRenderY = Game.world().camera().getViewportLocationY(shadowEllipse.getY());
+    final Ellipse2D relativeEllipse = new Ellipse2D.Double(shadowRenderX, shadowRenderY, shadowEllipse.getWidth(), shadowEllipse.getHeight());
 
     final Area ellipseArea = new Area(relativeEllipse);
     final Area shadowArea = new Area(shadowPolygon);
@@ -336,7 +335,8 @@ public class LightSource extends Entity implements IRenderable {
     }
 
     // we'll use a radial gradient
-    final Paint gradientPaint = new RadialGradientPaint(Game.world().camera().getViewportDimensionCenter(this), SHADOW_GRADIENT_SIZE, SHADOW_GRADIENT_FRACTIONS, SHADOW_GRADIENT_COLORS);
+    final Point2D viewportCenter = Game.world().camera().getViewportDimensionCenter(this);
+    final Paint gradientPaint = new RadialGradientPaint(viewportCenter, SHADOW_GRADIENT_SIZE, SHADOW_GRADIENT_FRACTIONS, SHADOW_GRADIENT_COLORS);
 
     // old Paint object for resetting it later
     final Paint oldPaint = g.getPaint();
@@ -348,7 +348,7 @@ public class LightSource extends Entity implements IRenderable {
         continue;
       }
 
-      final Shape obstructedVision = getObstructedVisionArea(mob, Game.world().camera().getViewportDimensionCenter(this));
+      final Shape obstructedVision = getObstructedVisionArea(mob, viewportCenter);
       // fill the polygon with the gradient paint
 
       ShapeRenderer.render(g, obstructedVision);
@@ -9,8 +9,12 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import de.gurkenlabs.litiengine.Align;
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.Valign;
+import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.environment.TriggerRegions;
 import de.gurkenlabs.litiengine.environment.tilemap.MapObjectProperty;
 import de.gurkenlabs.litiengine.environment.tilemap.MapObjectType;
 import de.gurkenlabs.litiengine.environment.tilemap.TmxProperty;
@@ -44,7 +48,7 @@ public class Trigger extends CollisionEntity implements IUpdateable {
   private final List<Integer> targets = new CopyOnWriteArrayList<>();
 
   @TmxProperty(name = MapObjectProperty.TRIGGER_ACTIVATION)
-  private final TriggerActivation activationType;
+  private TriggerActivation activationType;
 
   @TmxProperty(name = MapObjectProperty.TRIGGER_ONETIME)
   private final boolean isOneTimeTrigger;
@@ -261,17 +265,83 @@ public class Trigger extends CollisionEntity implements IUpdateable {
     super.setSize(width, height);
   }
 
+  // the collision box setters don't notify the transform listeners, so the region of this trigger is updated here
+  @Override
+  public void setCollisionBoxAlign(final Align align) {
+    super.setCollisionBoxAlign(align);
+    this.updateRegion();
+  }
+
+  @Override
+  public void setCollisionBoxHeight(final double collisionBoxHeight) {
+    super.setCollisionBoxHeight(collisionBoxHeight);
+    this.updateRegion();
+  }
+
+  @Override
+  public void setCollisionBoxValign(final Valign valign) {
+    super.setCollisionBoxValign(valign);
+    this.updateRegion();
+  }
+
+  @Override
+  public void setCollisionBoxWidth(final double collisionBoxWidth) {
+    super.setCollisionBoxWidth(collisionBoxWidth);
+    this.updateRegion();
+  }
+
   public void setCooldown(int cooldown) {
     this.cooldown = cooldown;
   }
 
+  /**
+   * Sets the activation method of this trigger. If the trigger is loaded on an environment, its region is added to or
+   * removed from the {@link TriggerRegions} of that environment accordingly.
+   *
+   * @param activation
+   *          The activation method for this trigger.
+   */
+  public void setActivationType(final TriggerActivation activation) {
+    this.activationType = activation;
+    this.updateRegion();
+  }
+
+  /**
+   * Collision triggers that are loaded on an environment are updated by the {@link TriggerRegions} of that environment,
+   * which determine the overlapping entities of all triggers in a single pass per tick, so this does nothing for them.
+   * Only if this trigger is not tracked by the regions of its environment, it determines the overlapping collision
+   * entities by itself.
+   */
   @Override
   public void update() {
-    if (Game.world().environment() == null || !this.isLoaded() || this.activationType != TriggerActivation.COLLISION) {
+    if (!this.isLoaded() || this.activationType != TriggerActivation.COLLISION) {
+      return;
+    }
+
+    final Environment environment = this.getEnvironment();
+    if (environment != null && environment.getTriggerRegions().contains(this)) {
+      return;
+    }
+
+    this.updateCollisions(this.getEntitiesInCollisionBox());
+  }
+
+  /**
+   * Updates the collision activation of this trigger with the entities that currently overlap its collision box. Entities
+   * that entered the trigger activate it and entities that left it cause a deactivation event.
+   * <p>
+   * <i>This is called once per tick by the {@link TriggerRegions} of the environment which determines the overlapping
+   * entities for all triggers at once. There is typically no need to call this explicitly.</i>
+   * </p>
+   *
+   * @param collEntities
+   *          All entities whose collision box currently intersects the collision box of this trigger.
+   */
+  public void updateCollisions(final Collection<? extends IEntity> collEntities) {
+    if (!this.isLoaded() || this.activationType != TriggerActivation.COLLISION) {
       return;
     }
 
-    final List<IEntity> collEntities = this.getEntitiesInCollisionBox();
     for (final IEntity ent : collEntities) {
       if (this.collisionActivated.contains(ent)) {
         continue;
@@ -362,7 +432,7 @@ public class Trigger extends CollisionEntity implements IUpdateable {
   }
 
   private List<IEntity> getEntitiesInCollisionBox() {
-    final List<IEntity> collEntities = new CopyOnWriteArrayList<>();
+    final List<IEntity> collEntities = new ArrayList<>();
     for (final ICollisionEntity coll : Game.physics().getCollisionEntities()) {
       if (coll == this || !this.activators.isEmpty() && !this.activators.contains(coll.getMapId())) {
         continue;
@@ -390,4 +460,11 @@ public class Trigger extends CollisionEntity implements IUpdateable {
 
     return localTargets;
   }
+
+  private void updateRegion() {
+    final Environment environment = this.getEnvironment();
+    if (environment != null) {
+      environment.getTriggerRegions().updateRegion(this);
+    }
+  }
 }
\ No newline at end of file
@@ -3,21 +3,33 @@ package de.gurkenlabs.litiengine.entities.behavior;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics2D;
+import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
 
 import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.entities.ICollisionEntity;
 import de.gurkenlabs.litiengine.entities.Prop;
+import de.gurkenlabs.litiengine.environment.Environment;
+import de.gurkenlabs.litiengine.graphics.ICamera;
 import de.gurkenlabs.litiengine.graphics.IRenderable;
 import de.gurkenlabs.litiengine.physics.Collision;
 import de.gurkenlabs.litiengine.util.MathUtilities;
+import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
 
 public class AStarGrid implements IRenderable {
   public static final double PENALTY_STATIC_PROP = 5;
   public static final double PENALTY_NOT_WALKABLE_NEIGHBOR = 4;
+  public static final int MAX_CLEARANCE = 8;
+  static final int MAX_NEIGHBORS = 8;
   private final AStarNode[][] grid;
   private final int nodeSize;
   private final Dimension size;
@@ -25,6 +37,19 @@ public class AStarGrid implements IRenderable {
   private boolean allowDiagonalMovement = true;
   private boolean allowCuttingCorners;
 
+  private volatile boolean nodesChanged = true;
+  private volatile double uniformPenalty;
+  private final AtomicLong version = new AtomicLong();
+
+  // the collisions of the nodes are only rasterized while the grid is populated
+  private CollisionRaster raster;
+
+  // while the walkable attribute of multiple nodes is updated, the clearance is updated once for all of them
+  private boolean updatingWalkable;
+  private int changeDepth;
+
+  private final Collection<AStarGridListener> listeners = ConcurrentHashMap.newKeySet();
+
   public AStarGrid(int width, int height, final int nodeSize) {
     this(new Dimension(width, height), nodeSize);
   }
@@ -38,6 +63,14 @@ public class AStarGrid implements IRenderable {
     this.populateGrid(gridSizeX, gridSizeY);
   }
 
+  public void addListener(AStarGridListener listener) {
+    this.listeners.add(listener);
+  }
+
+  public void removeListener(AStarGridListener listener) {
+    this.listeners.remove(listener);
+  }
+
   public boolean isDiagonalMovementAllowed() {
     return this.allowDiagonalMovement;
   }
@@ -72,29 +105,12 @@ public class AStarGrid implements IRenderable {
   }
 
   public List<AStarNode> getNeighbors(final AStarNode node) {
-    final List<AStarNode> newNeighbors = new ArrayList<>();
-    final int x = node.getGridX();
-    final int y = node.getGridY();
+    final AStarNode[] neighbors = new AStarNode[MAX_NEIGHBORS];
+    final int count = this.getNeighbors(node.getGridX(), node.getGridY(), neighbors);
 
-    final AStarNode top = this.getNode(x, y - 1);
-    final AStarNode bottom = this.getNode(x, y + 1);
-    final AStarNode left = this.getNode(x - 1, y);
-    final AStarNode right = this.getNode(x + 1, y);
-
-    addNode(newNeighbors, top);
-    addNode(newNeighbors, bottom);
-    addNode(newNeighbors, right);
-    addNode(newNeighbors, left);
-
-    if (this.isDiagonalMovementAllowed()) {
-      final AStarNode topLeft = this.getNode(x - 1, y - 1);
-      final AStarNode topRight = this.getNode(x + 1, y - 1);
-      final AStarNode bottomLeft = this.getNode(x - 1, y + 1);
-      final AStarNode bottomRight = this.getNode(x + 1, y + 1);
-      this.addDiagonalNode(newNeighbors, topLeft, top, left);
-      this.addDiagonalNode(newNeighbors, topRight, top, right);
-      this.addDiagonalNode(newNeighbors, bottomLeft, bottom, left);
-      this.addDiagonalNode(newNeighbors, bottomRight, bottom, right);
+    final List<AStarNode> newNeighbors = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      newNeighbors.add(neighbors[i]);
     }
 
     return newNeighbors;
@@ -119,16 +135,60 @@ public class AStarGrid implements IRenderable {
     return this.nodeSize;
   }
 
+  /**
+   * Gets the clearance that a node needs to provide so that a collision box of the specified size can be centered on it
+   * without intersecting any node that is not walkable. The clearance is limited to {@link #MAX_CLEARANCE}, so
+   * collision boxes that are wider than <code>2 * MAX_CLEARANCE - 1</code> nodes are treated as if they had that size.
+   *
+   * @param width
+   *          The width of the collision box.
+   * @param height
+   *          The height of the collision box.
+   * @return The required clearance, which is 1 for collision boxes that don't exceed the size of a node.
+   * @see AStarNode#getClearance()
+   */
+  public int getRequiredClearance(final double width, final double height) {
+    final double overhang = Math.max(width, height) / 2 - this.nodeSize / 2.0;
+    return Math.min(MAX_CLEARANCE, 1 + (int) Math.ceil(Math.max(0, overhang) / this.nodeSize));
+  }
+
   public Dimension getSize() {
     return this.size;
   }
 
+  /**
+   * Determines whether all walkable nodes of this grid have the same penalty, i.e. whether the costs of moving between
+   * two nodes only depend on their distance.
+   *
+   * @return True if all walkable nodes have the same penalty; otherwise false.
+   * @see JumpPointPathFinder
+   */
+  public boolean hasUniformPenalty() {
+    return !Double.isNaN(this.getUniformPenalty());
+  }
+
+  /**
+   * Gets the penalty that is shared by all walkable nodes of this grid. The result is cached until the penalty or the
+   * walkable attribute of any node changes.
+   *
+   * @return The penalty of all walkable nodes or {@link Double#NaN} if the nodes have different penalties.
+   */
+  double getUniformPenalty() {
+    if (this.nodesChanged) {
+      // reset the flag first so that changes during the calculation invalidate the result again
+      this.nodesChanged = false;
+      this.uniformPenalty = this.calculateUniformPenalty();
+    }
+
+    return this.uniformPenalty;
+  }
+
   @Override
   public void render(Graphics2D g) {
-    final Rectangle2D viewport = Game.world().camera().getViewport();
+    final ICamera camera = Game.world().camera();
 
-    final AStarNode startNode = this.getNode(viewport.getX(), viewport.getY());
-    final AStarNode endNode = this.getNode(viewport.getMaxX(), viewport.getMaxY());
+    final AStarNode startNode = this.getNode(camera.getViewportMinX(), camera.getViewportMinY());
+    final AStarNode endNode = this.getNode(camera.getViewportMaxX(), camera.getViewportMaxY());
     final int startX = startNode == null ? 0 : clampX(startNode.getGridX());
     final int endX = endNode == null ? this.getGrid().length - 1 : clampX(endNode.getGridX());
     final int startY = startNode == null ? 0 : clampY(startNode.getGridY());
@@ -157,30 +217,81 @@ public class AStarGrid implements IRenderable {
 
   /**
    * Updates the walkable attribute of nodes intersected by the specified
-   * rectangle.
+   * rectangle. Registered listeners are notified about all nodes whose walkable
+   * attribute changed, after the clearance of the nodes around them was updated.
    *
    * @param rectangle
    *          The rectangle within which the nodes should be updated.
+   * @see #addListener(AStarGridListener)
    */
   public void updateWalkable(final Rectangle2D rectangle) {
+    final List<AStarNode> changedNodes = new ArrayList<>();
     for (final AStarNode node : this.getIntersectedNodes(rectangle)) {
-      node.setWalkable(!Game.physics().collides(node.getBounds(), Collision.STATIC));
+      if (Game.physics().collides(node.getBounds(), Collision.STATIC) == node.isWalkable()) {
+        changedNodes.add(node);
+      }
+    }
+
+    if (changedNodes.isEmpty()) {
+      return;
+    }
+
+    // concurrent searches must not see the nodes before their clearance is updated
+    this.beginChange();
+    this.updatingWalkable = true;
+    try {
+      int minX = Integer.MAX_VALUE;
+      int minY = Integer.MAX_VALUE;
+      int maxX = Integer.MIN_VALUE;
+      int maxY = Integer.MIN_VALUE;
+      for (final AStarNode node : changedNodes) {
+        node.setWalkable(!node.isWalkable());
+        minX = Math.min(minX, node.getGridX());
+        minY = Math.min(minY, node.getGridY());
+        maxX = Math.max(maxX, node.getGridX());
+        maxY = Math.max(maxY, node.getGridY());
+      }
+
+      this.updateClearance(minX, minY, maxX, maxY);
+    } finally {
+      this.updatingWalkable = false;
+      this.endChange();
+    }
+
+    for (final AStarGridListener listener : this.listeners) {
+      listener.walkableChanged(changedNodes);
     }
   }
 
+  /**
+   * Assigns the penalty of the specified node, which makes paths avoid it.
+   * <p>
+   * While the grid is populated by the constructor, this is called once all nodes of the grid exist, for multiple nodes
+   * in parallel on the threads of the common <code>ForkJoinPool</code> and in no particular order. Overriding methods
+   * must therefore be thread-safe, must only change the penalty of the specified node and must not rely on state of
+   * the subclass that is initialized after the constructor of this class. Their exceptions are rethrown by the
+   * constructor.
+   * </p>
+   *
+   * @param node
+   *          The node whose penalty is assigned.
+   */
   protected void assignPenalty(AStarNode node) {
-    if (!Game.physics().collides(node.getLocation(), Collision.DYNAMIC)) {
+    final CollisionRaster collisions = this.raster;
+    if (collisions != null ? !collisions.hasDynamicCollision(node) : !Game.physics().collides(node.getLocation(), Collision.DYNAMIC)) {
       return;
     }
 
     // by default we calculate a penalty for props that cannot be destroyed
     int penalty = 0;
-    for (Prop prop : Game.world().environment().getProps()) {
-      if (!prop.hasCollision() || !prop.isIndestructible() || !prop.getBoundingBox().intersects(node.getBounds())) {
-        continue;
+    if (collisions != null) {
+      penalty += collisions.getIndestructibleProps(node) * PENALTY_STATIC_PROP;
+    } else {
+      for (Prop prop : Game.world().environment().getProps()) {
+        if (isIndestructibleObstacle(prop) && prop.getBoundingBox().intersects(node.getBounds())) {
+          penalty += PENALTY_STATIC_PROP;
+        }
       }
-
-      penalty += PENALTY_STATIC_PROP;
     }
 
     // if neighbors are not walkable, we try to avoid this node
@@ -193,19 +304,211 @@ public class AStarGrid implements IRenderable {
     node.setPenalty(penalty);
   }
 
-  private static void addNode(final List<AStarNode> neighbors, AStarNode node) {
-    if (node != null && node.isWalkable()) {
-      neighbors.add(node);
+  /**
+   * Writes the neighbors of the node at the specified grid location to the specified array without allocating a list.
+   * This is used by the path finders that expand a large number of nodes per search.
+   *
+   * @param x
+   *          The x-coordinate of the node on the grid.
+   * @param y
+   *          The y-coordinate of the node on the grid.
+   * @param neighbors
+   *          The array to which the neighbors are written; it must provide space for at least {@link #MAX_NEIGHBORS}
+   *          nodes.
+   * @return The number of neighbors that were written to the array.
+   */
+  int getNeighbors(final int x, final int y, final AStarNode[] neighbors) {
+    return this.getNeighbors(x, y, neighbors, 1);
+  }
+
+  /**
+   * Writes the neighbors of the node at the specified grid location to the specified array, where only neighbors that
+   * provide the specified clearance are considered.
+   *
+   * @param x
+   *          The x-coordinate of the node on the grid.
+   * @param y
+   *          The y-coordinate of the node on the grid.
+   * @param neighbors
+   *          The array to which the neighbors are written.
+   * @param clearance
+   *          The clearance that is required by the entity for which the neighbors are determined.
+   * @return The number of neighbors that were written to the array.
+   * @see #getNeighbors(int, int, AStarNode[])
+   */
+  int getNeighbors(final int x, final int y, final AStarNode[] neighbors, final int clearance) {
+    final AStarNode top = this.getNode(x, y - 1);
+    final AStarNode bottom = this.getNode(x, y + 1);
+    final AStarNode left = this.getNode(x - 1, y);
+    final AStarNode right = this.getNode(x + 1, y);
+
+    int count = 0;
+    count = addNode(neighbors, count, top, clearance);
+    count = addNode(neighbors, count, bottom, clearance);
+    count = addNode(neighbors, count, right, clearance);
+    count = addNode(neighbors, count, left, clearance);
+
+    if (this.isDiagonalMovementAllowed()) {
+      final AStarNode topLeft = this.getNode(x - 1, y - 1);
+      final AStarNode topRight = this.getNode(x + 1, y - 1);
+      final AStarNode bottomLeft = this.getNode(x - 1, y + 1);
+      final AStarNode bottomRight = this.getNode(x + 1, y + 1);
+      count = this.addDiagonalNode(neighbors, count, topLeft, top, left, clearance);
+      count = this.addDiagonalNode(neighbors, count, topRight, top, right, clearance);
+      count = this.addDiagonalNode(neighbors, count, bottomLeft, bottom, left, clearance);
+      count = this.addDiagonalNode(neighbors, count, bottomRight, bottom, right, clearance);
     }
+
+    return count;
   }
 
-  private void addDiagonalNode(final List<AStarNode> neighbors, AStarNode node, AStarNode diagonalNeighbor1, AStarNode diagonalNeighbor2) {
+  private static int addNode(final AStarNode[] neighbors, int count, AStarNode node, final int clearance) {
+    if (node != null && node.hasClearance(clearance)) {
+      neighbors[count++] = node;
+    }
+
+    return count;
+  }
+
+  private int addDiagonalNode(final AStarNode[] neighbors, int count, AStarNode node, AStarNode diagonalNeighbor1, AStarNode diagonalNeighbor2, final int clearance) {
+    if (clearance > 1) {
+      // the collision box of a larger entity sweeps over both adjacent nodes when it moves diagonally
+      if (node != null && node.hasClearance(clearance) && diagonalNeighbor1.hasClearance(clearance) && diagonalNeighbor2.hasClearance(clearance)) {
+        neighbors[count++] = node;
+      }
+
+      return count;
+    }
+
     // only add diagonal neighbors when they are not on a corner
     if (node != null && this.isDiagonalCornerMovementAllowed() || node != null && diagonalNeighbor1 != null && diagonalNeighbor1.isWalkable() && diagonalNeighbor2 != null && diagonalNeighbor2.isWalkable()) {
-      neighbors.add(node);
+      neighbors[count++] = node;
+    }
+
+    return count;
+  }
+
+  /**
+   * Updates the clearance of all nodes that might be affected by a change of the walkable attribute of the nodes within
+   * the specified range. Since the clearance is limited to {@link #MAX_CLEARANCE}, only the nodes within that distance
+   * of the range are updated. This is a distance transform that passes over these nodes twice, where each pass
+   * propagates the clearance of the nodes that were already visited; the nodes around them keep their clearance.
+   *
+   * @param minX
+   *          The x-coordinate of the first changed node.
+   * @param minY
+   *          The y-coordinate of the first changed node.
+   * @param maxX
+   *          The x-coordinate of the last changed node.
+   * @param maxY
+   *          The y-coordinate of the last changed node.
+   */
+  void updateClearance(final int minX, final int minY, final int maxX, final int maxY) {
+    final int startX = Math.max(0, minX - MAX_CLEARANCE);
+    final int startY = Math.max(0, minY - MAX_CLEARANCE);
+    final int endX = Math.min(this.getGrid().length - 1, maxX + MAX_CLEARANCE);
+    final int endY = Math.min(this.getGrid().length == 0 ? -1 : this.getGrid()[0].length - 1, maxY + MAX_CLEARANCE);
+    for (int x = startX; x <= endX; x++) {
+      for (int y = startY; y <= endY; y++) {
+        final AStarNode node = this.getGrid()[x][y];
+        node.setClearance(node.isWalkable() ? MAX_CLEARANCE : 0);
+      }
+    }
+
+    for (int x = startX; x <= endX; x++) {
+      for (int y = startY; y <= endY; y++) {
+        final AStarNode node = this.getGrid()[x][y];
+        final int clearance = getPropagatedClearance(node.getClearance(), this.getClearance(x - 1, y - 1), this.getClearance(x - 1, y), this.getClearance(x - 1, y + 1), this.getClearance(x, y - 1));
+        node.setClearance(clearance);
+      }
+    }
+
+    for (int x = endX; x >= startX; x--) {
+      for (int y = endY; y >= startY; y--) {
+        final AStarNode node = this.getGrid()[x][y];
+        final int clearance = getPropagatedClearance(node.getClearance(), this.getClearance(x + 1, y + 1), this.getClearance(x + 1, y), this.getClearance(x + 1, y - 1), this.getClearance(x, y + 1));
+        node.setClearance(clearance);
+      }
+    }
+  }
+
+  void walkableChanged(final AStarNode node) {
+    if (!this.updatingWalkable) {
+      this.updateClearance(node.getGridX(), node.getGridY(), node.getGridX(), node.getGridY());
     }
   }
 
+  /**
+   * Marks the beginning of a change to the nodes of this grid, which makes the version of this grid odd until the
+   * outermost change ends. Changes are performed by one thread at a time.
+   *
+   * @see #getVersion()
+   */
+  void beginChange() {
+    if (this.changeDepth++ == 0) {
+      this.version.incrementAndGet();
+    }
+  }
+
+  /**
+   * Marks the end of a change to the nodes of this grid that was started by {@link #beginChange()}.
+   */
+  void endChange() {
+    if (--this.changeDepth == 0) {
+      this.nodesChanged = true;
+      this.version.incrementAndGet();
+    }
+  }
+
+  /**
+   * Gets the version of this grid, which is increased at the beginning and at the end of every change to the penalty, the
+   * walkable attribute or the clearance of this grid's nodes. An odd version indicates that a change is in progress. A
+   * search that is performed on another thread saw a consistent state of the grid only if the version was even before
+   * the search and didn't change until after it.
+   *
+   * @return The current version of this grid.
+   */
+  long getVersion() {
+    return this.version.get();
+  }
+
+  private double calculateUniformPenalty() {
+    double penalty = 0;
+    boolean first = true;
+    for (final AStarNode[] column : this.getGrid()) {
+      for (final AStarNode node : column) {
+        if (!node.isWalkable()) {
+          continue;
+        }
+
+        if (first) {
+          penalty = node.getPenalty();
+          first = false;
+        } else if (node.getPenalty() != penalty) {
+          return Double.NaN;
+        }
+      }
+    }
+
+    return penalty;
+  }
+
+  /**
+   * Gets the clearance of the node at the specified location, where the area outside the grid is not walkable.
+   */
+  private int getClearance(final int x, final int y) {
+    final AStarNode node = this.getNode(x, y);
+    return node == null ? 0 : node.getClearance();
+  }
+
+  /**
+   * Gets the clearance of a node based on the clearance of its neighbors, which is one more than the lowest clearance
+   * of a neighbor.
+   */
+  private static int getPropagatedClearance(final int clearance, final int neighbor1, final int neighbor2, final int neighbor3, final int neighbor4) {
+    return Math.min(clearance, 1 + Math.min(Math.min(neighbor1, neighbor2), Math.min(neighbor3, neighbor4)));
+  }
+
   private int clampX(int x) {
     return MathUtilities.clamp(x, 0, this.getGrid().length - 1);
   }
@@ -222,14 +525,152 @@ public class AStarGrid implements IRenderable {
     return null;
   }
 
+  private static boolean isIndestructibleObstacle(final Prop prop) {
+    return prop.hasCollision() && prop.isIndestructible();
+  }
+
+  /**
+   * Populates the grid without checking the collisions of every single node against all entities. Instead, the
+   * collision boxes are rasterized into the grid once, after which the nodes are created and their penalties assigned
+   * column by column in parallel.
+   */
   private void populateGrid(final int gridSizeX, final int gridSizeY) {
-    for (int x = 0; x < gridSizeX; x++) {
-      for (int y = 0; y < gridSizeY; y++) {
-        final Rectangle nodeBounds = new Rectangle(x * this.nodeSize, y * this.nodeSize, this.nodeSize, this.nodeSize);
-        final AStarNode node = new AStarNode(!Game.physics().collides(nodeBounds, Collision.STATIC), nodeBounds, x, y);
-        this.assignPenalty(node);
-        this.getGrid()[x][y] = node;
+    this.raster = new CollisionRaster(gridSizeX, gridSizeY, this.nodeSize);
+    try {
+      IntStream.range(0, gridSizeX).parallel().forEach(x -> {
+        for (int y = 0; y < gridSizeY; y++) {
+          final Rectangle nodeBounds = new Rectangle(x * this.nodeSize, y * this.nodeSize, this.nodeSize, this.nodeSize);
+          this.getGrid()[x][y] = new AStarNode(!this.raster.hasStaticCollision(x, y, nodeBounds), nodeBounds, x, y);
+        }
+      });
+
+      // the penalty of a node depends on its neighbors, so all nodes need to exist first
+      IntStream.range(0, gridSizeX).parallel().forEach(x -> {
+        for (final AStarNode node : this.getGrid()[x]) {
+          this.assignPenalty(node);
+        }
+      });
+    } finally {
+      this.raster = null;
+    }
+
+    for (final AStarNode[] column : this.getGrid()) {
+      for (final AStarNode node : column) {
+        node.setGrid(this);
       }
     }
+
+    this.updateClearance(0, 0, gridSizeX - 1, gridSizeY - 1);
+  }
+
+  /**
+   * The collisions of all nodes of a grid in primitive arrays, which are filled by visiting only the nodes that are
+   * covered by each collision box.
+   */
+  private static final class CollisionRaster {
+    private final int width;
+    private final int height;
+    private final int nodeSize;
+    private final Rectangle2D environmentBounds;
+    private final BitSet staticCollisions;
+    private final BitSet dynamicCollisions;
+    private final int[] indestructibleProps;
+
+    private CollisionRaster(final int width, final int height, final int nodeSize) {
+      this.width = width;
+      this.height = height;
+      this.nodeSize = nodeSize;
+      this.environmentBounds = Game.physics().getBounds();
+      this.staticCollisions = new BitSet(width * height);
+      this.dynamicCollisions = new BitSet(width * height);
+
+      for (final ICollisionEntity entity : Game.physics().getCollisionEntities(Collision.STATIC)) {
+        if (entity != null && entity.hasCollision()) {
+          final Rectangle2D collisionBox = entity.getCollisionBox();
+          this.rasterize(collisionBox, (x, y) -> GeometricUtilities.intersects(collisionBox, this.getBounds(x, y)), this.staticCollisions);
+        }
+      }
+
+      for (final ICollisionEntity entity : Game.physics().getCollisionEntities(Collision.DYNAMIC)) {
+        if (entity != null && entity.hasCollision()) {
+          final Rectangle2D collisionBox = entity.getCollisionBox();
+          this.rasterize(collisionBox, (x, y) -> collisionBox.contains(this.getLocation(x, y)), this.dynamicCollisions);
+        }
+      }
+
+      // props only add to the penalty of nodes with a dynamic collision
+      this.indestructibleProps = new int[this.dynamicCollisions.isEmpty() ? 0 : width * height];
+      final Environment environment = Game.world().environment();
+      if (this.indestructibleProps.length == 0 || environment == null) {
+        return;
+      }
+
+      for (final Prop prop : environment.getProps()) {
+        if (isIndestructibleObstacle(prop)) {
+          final Rectangle2D boundingBox = prop.getBoundingBox();
+          this.forEachCoveredNode(boundingBox, (x, y) -> {
+            if (boundingBox.intersects(this.getBounds(x, y))) {
+              this.indestructibleProps[this.getIndex(x, y)]++;
+            }
+          });
+        }
+      }
+    }
+
+    private boolean hasStaticCollision(final int x, final int y, final Rectangle nodeBounds) {
+      return this.environmentBounds != null && !this.environmentBounds.intersects(nodeBounds) || this.staticCollisions.get(this.getIndex(x, y));
+    }
+
+    private boolean hasDynamicCollision(final AStarNode node) {
+      return this.environmentBounds != null && !this.environmentBounds.contains(node.getLocation()) || this.dynamicCollisions.get(this.getIndex(node.getGridX(), node.getGridY()));
+    }
+
+    private int getIndestructibleProps(final AStarNode node) {
+      return this.indestructibleProps.length == 0 ? 0 : this.indestructibleProps[this.getIndex(node.getGridX(), node.getGridY())];
+    }
+
+    private void rasterize(final Rectangle2D rectangle, final NodePredicate covers, final BitSet collisions) {
+      this.forEachCoveredNode(rectangle, (x, y) -> {
+        if (covers.test(x, y)) {
+          collisions.set(this.getIndex(x, y));
+        }
+      });
+    }
+
+    private void forEachCoveredNode(final Rectangle2D rectangle, final NodeConsumer consumer) {
+      final int minX = Math.max(0, (int) Math.floor(rectangle.getMinX() / this.nodeSize));
+      final int minY = Math.max(0, (int) Math.floor(rectangle.getMinY() / this.nodeSize));
+      final int maxX = Math.min(this.width - 1, (int) Math.floor(rectangle.getMaxX() / this.nodeSize));
+      final int maxY = Math.min(this.height - 1, (int) Math.floor(rectangle.getMaxY() / this.nodeSize));
+      for (int x = minX; x <= maxX; x++) {
+        for (int y = minY; y <= maxY; y++) {
+          consumer.accept(x, y);
+        }
+      }
+    }
+
+    private Rectangle getBounds(final int x, final int y) {
+      return new Rectangle(x * this.nodeSize, y * this.nodeSize, this.nodeSize, this.nodeSize);
+    }
+
+    private Point getLocation(final int x, final int y) {
+      // equal to the location of the node, which is rounded down to full pixels
+      final Rectangle bounds = this.getBounds(x, y);
+      return new Point((int) bounds.getCenterX(), (int) bounds.getCenterY());
+    }
+
+    private int getIndex(final int x, final int y) {
+      return x * this.height + y;
+    }
+  }
+
+  @FunctionalInterface
+  private interface NodePredicate {
+    boolean test(int x, int y);
+  }
+
+  @FunctionalInterface
+  private interface NodeConsumer {
+    void accept(int x, int y);
   }
 }
@@ -0,0 +1,22 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.util.Collection;
+import java.util.EventListener;
+
+/**
+ * This listener provides a callback for when the walkable attribute of nodes of an <code>AStarGrid</code> was changed.
+ *
+ * @see AStarGrid#updateWalkable(java.awt.geom.Rectangle2D)
+ */
+@FunctionalInterface
+public interface AStarGridListener extends EventListener {
+
+  /**
+   * Invoked after the walkable attribute of the specified nodes was changed by
+   * {@link AStarGrid#updateWalkable(java.awt.geom.Rectangle2D)}.
+   *
+   * @param nodes
+   *          The nodes whose walkable attribute was changed.
+   */
+  public void walkableChanged(Collection<AStarNode> nodes);
+}
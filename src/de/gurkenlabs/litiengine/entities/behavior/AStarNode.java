@@ -5,7 +5,7 @@ import java.awt.Rectangle;
 
 public class AStarNode {
   // diagonal length: 1 * Math.sqrt(2) ~ 1.4
-  private static final double DIAGONAL_COST = 1.4;
+  static final double DIAGONAL_COST = 1.4;
   private final Rectangle bound;
   private final int gridX;
   private final int gridY;
@@ -13,8 +13,10 @@ public class AStarNode {
   private double hCost;
 
   private double penalty;
+  private int clearance;
   private AStarNode predecessor;
   private boolean walkable;
+  private AStarGrid grid;
 
   public AStarNode(final boolean walkable, final Rectangle bound, final int gridX, final int gridY) {
     this.bound = bound;
@@ -27,6 +29,18 @@ public class AStarNode {
     return this.bound;
   }
 
+  /**
+   * Gets the distance in nodes from this node to the closest node that is not walkable or to the edge of the grid,
+   * whichever is closer. A node that is not walkable has a clearance of 0 and a walkable node next to an obstacle has a
+   * clearance of 1. The clearance never exceeds {@link AStarGrid#MAX_CLEARANCE}.
+   *
+   * @return The clearance of this node.
+   * @see AStarGrid#getRequiredClearance(double, double)
+   */
+  public int getClearance() {
+    return this.clearance;
+  }
+
   public double getCosts(final AStarNode target) {
 
     final int dstX = Math.abs(this.getGridX() - target.getGridX());
@@ -90,6 +104,17 @@ public class AStarNode {
     return this.walkable;
   }
 
+  /**
+   * Determines whether an entity that requires the specified clearance can be centered on this node.
+   *
+   * @param requiredClearance
+   *          The clearance that is required by the entity.
+   * @return True if this node is walkable and provides at least the required clearance; otherwise false.
+   */
+  public boolean hasClearance(final int requiredClearance) {
+    return this.isWalkable() && (requiredClearance <= 1 || this.getClearance() >= requiredClearance);
+  }
+
   public void setGCost(final double gCost) {
     this.gCost = gCost;
   }
@@ -99,7 +124,17 @@ public class AStarNode {
   }
 
   public void setPenalty(final double penalty) {
-    this.penalty = penalty;
+    if (this.grid == null) {
+      this.penalty = penalty;
+      return;
+    }
+
+    this.grid.beginChange();
+    try {
+      this.penalty = penalty;
+    } finally {
+      this.grid.endChange();
+    }
   }
 
   public void setPredecessor(final AStarNode predecessor) {
@@ -107,7 +142,22 @@ public class AStarNode {
   }
 
   public void setWalkable(final boolean walkable) {
-    this.walkable = walkable;
+    if (this.grid == null) {
+      this.walkable = walkable;
+      return;
+    }
+
+    // the clearance around the node is updated within the same change of the grid
+    this.grid.beginChange();
+    try {
+      final boolean changed = walkable != this.walkable;
+      this.walkable = walkable;
+      if (changed) {
+        this.grid.walkableChanged(this);
+      }
+    } finally {
+      this.grid.endChange();
+    }
   }
 
   /**
@@ -119,6 +169,14 @@ public class AStarNode {
     this.setPredecessor(null);
   }
 
+  void setClearance(final int clearance) {
+    this.clearance = clearance;
+  }
+
+  void setGrid(final AStarGrid grid) {
+    this.grid = grid;
+  }
+
   @Override
   public String toString() {
     return "[" + this.getGridX() + "," + this.getGridY() + "] - (f:" + this.getFCost() + ", g:" + this.getGCost() + ", h:" + this.getHCost() + ")";
@@ -1,13 +1,8 @@
 package de.gurkenlabs.litiengine.entities.behavior;
 
 import java.awt.Dimension;
-import java.awt.Point;
-import java.awt.geom.GeneralPath;
-import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.awt.geom.Rectangle2D;
 
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.environment.tilemap.IMap;
@@ -16,6 +11,10 @@ public class AStarPathFinder extends PathFinder {
 
   private final AStarGrid grid;
 
+  // the state of a search is kept apart from the grid so that multiple threads can search paths at the same time
+  private final SearchPool<AStarSearch> searches = new SearchPool<>(() -> new AStarSearch(this.getGrid()));
+  private PathSmoother smoother;
+
   public AStarPathFinder(AStarGrid grid) {
     this.grid = grid;
   }
@@ -36,7 +35,7 @@ public class AStarPathFinder extends PathFinder {
   public Path findPath(final IMobileEntity entity, final Point2D target) {
     // if there is no collision between the start and the target return a direct
     // path
-    final Point2D startLocation = entity.getCollisionBoxCenter();
+    final Point2D startLocation = this.getStartLocation(entity);
     if (!this.intersectsWithAnyCollisionBox(entity, startLocation, target)) {
       return this.findDirectPath(startLocation, target);
     }
@@ -47,11 +46,15 @@ public class AStarPathFinder extends PathFinder {
       return null;
     }
 
-    // simple fallback if the target tile is not walkable.
+    // larger entities only move over nodes that leave enough space for their collision box
+    final Rectangle2D collisionBox = this.getCollisionBox(entity);
+    final int clearance = this.getGrid().getRequiredClearance(collisionBox.getWidth(), collisionBox.getHeight());
+
+    // simple fallback if the target tile is not walkable or too narrow for the entity.
     boolean gotoNeighbor = false;
-    if (!targetNode.isWalkable()) {
+    if (!targetNode.hasClearance(clearance)) {
       for (AStarNode neighbor : this.getGrid().getNeighbors(targetNode)) {
-        if (neighbor.isWalkable()) {
+        if (neighbor.hasClearance(clearance)) {
           targetNode = neighbor;
           gotoNeighbor = true;
           break;
@@ -67,134 +70,81 @@ public class AStarPathFinder extends PathFinder {
       return null;
     }
 
-    return this.findAStarPath(startNode, targetNode);
+    final Path path = this.findAStarPath(startNode, targetNode, clearance);
+    final PathSmoother pathSmoother = this.smoother;
+    if (path == null || pathSmoother == null) {
+      return path;
+    }
+
+    return pathSmoother.smooth(path, collisionBox.getWidth(), collisionBox.getHeight());
   }
 
   public AStarGrid getGrid() {
     return this.grid;
   }
 
-  private Path findAStarPath(AStarNode startNode, AStarNode targetNode) {
-    final List<AStarNode> opened = new ArrayList<>();
-    final List<AStarNode> closed = new ArrayList<>();
-    opened.add(startNode);
-
-    while (!opened.isEmpty()) {
-      // after the first iteration, this will also contained the newly found neighbors that were added in the last iteration
-      AStarNode currentNode = findNodeWithLowestCost(opened);
-
-      // add node to closed list after checking it
-      opened.remove(currentNode);
-      closed.add(currentNode);
-
-      // when the currentNode reaches the targetNode, we've found the path
-      if (currentNode.equals(targetNode)) {
-        Path path = retracePath(startNode, targetNode);
-        clear(opened);
-        clear(closed);
-        return path;
-      }
-
-      this.updateAndOpenNeighborNodes(currentNode, targetNode, opened, closed);
-    }
-
-    clear(opened);
-    clear(closed);
-    return null;
+  public boolean isSmoothing() {
+    return this.smoother != null;
   }
 
   /**
-   * Updates the costs and the predecessor of all neighbors of the specified <code>currentNode</code>.<br>
-   * If a neighbor was previously not part of the <code>opened</code> list it will be added to it.<br>
-   * If a neighbor is already closed, it will be ignored.<br>
-   * If the {@link AStarNode#isWalkable()} method of a neighbor returns <code>false</code> it will also not be considered.
-   * 
-   * @param currentNode
-   *          The node for which the neighbors will be searched for.
-   * @param targetNode
-   *          The target node of the path-finding operation.
-   * @param opened
-   *          The list of all the opened nodes of the path-finding operation.
-   * @param closed
-   *          The list of all the closed nodes of the path-finding operation.
+   * Sets whether the found paths are smoothed, which removes most of the zig-zagging between the nodes of the grid and
+   * reduces the number of waypoints that an entity needs to navigate to.
+   *
+   * @param smoothing
+   *          True if the found paths should be smoothed; otherwise false.
+   * @see PathSmoother
    */
-  private void updateAndOpenNeighborNodes(AStarNode currentNode, AStarNode targetNode, List<AStarNode> opened, List<AStarNode> closed) {
-    // check all neighbors for the potential next one
-    for (final AStarNode neighbor : this.grid.getNeighbors(currentNode)) {
-      if (!neighbor.equals(targetNode) && !neighbor.isWalkable() || closed.contains(neighbor)) {
-        continue;
-      }
-
-      final double newGCostOfNeighbor = currentNode.getGCost() + currentNode.getCosts(neighbor);
-      if (newGCostOfNeighbor < neighbor.getGCost() || !opened.contains(neighbor)) {
-        neighbor.setGCost(newGCostOfNeighbor);
-        neighbor.setHCost(neighbor.getCosts(targetNode));
-        neighbor.setPredecessor(currentNode);
-
-        if (!opened.contains(neighbor)) {
-          opened.add(neighbor);
-        }
-      }
-    }
+  public void setSmoothing(boolean smoothing) {
+    this.smoother = smoothing ? new PathSmoother(this.getGrid()) : null;
   }
 
-  private static AStarNode findNodeWithLowestCost(List<AStarNode> openedNodes) {
-    AStarNode lowestCostNode = openedNodes.get(0);
-    // find node with lowest cost
-    // F-cost (aka. total costs) are considered first. If they are equal, the H-cost is checked subsequently
-    for (int i = 1; i < openedNodes.size(); i++) {
-      if (openedNodes.get(i).getFCost() < lowestCostNode.getFCost() || openedNodes.get(i).getFCost() == lowestCostNode.getFCost() && openedNodes.get(i).getHCost() < lowestCostNode.getHCost()) {
-        lowestCostNode = openedNodes.get(i);
-      }
-    }
-
-    return lowestCostNode;
-  }
-
-  private static void clear(List<AStarNode> nodes) {
-    for (AStarNode op : nodes) {
-      op.clear();
-    }
+  /**
+   * Searches the path between the specified nodes of the grid. At this point, it is already known that the start and the
+   * target are different nodes and that there is no direct path between them.
+   *
+   * @param startNode
+   *          The start node for the path.
+   * @param targetNode
+   *          The target node for the path.
+   * @return The found {@link Path} or null if the target cannot be reached.
+   */
+  protected Path findAStarPath(AStarNode startNode, AStarNode targetNode) {
+    return this.search(startNode, targetNode, 1);
   }
 
   /**
-   * Retraces the found path from the targetNode back to the startNode by making use of the {@link AStarNode#getPredecessor()}.
-   * <ol>
-   * <li>Adds all predecessors to a list of nodes that will be visited by the path.</li>
-   * <li>Invert the list.</li>
-   * <li>Create a new {@link Path2D} by iterating all nodes in the list.</li>
-   * <li>Wrap the {@link Path2D} object into a {@link Path} to provide information about the start, target and points of the path.</li>
-   * </ol>
-   * 
+   * Searches the path between the specified nodes for an entity that requires the specified clearance, i.e. whose
+   * collision box exceeds the size of a node.
+   * <p>
+   * Entities that don't require a particular clearance are handled by {@link #findAStarPath(AStarNode, AStarNode)}.
+   * Otherwise, the path is searched by A* on the nodes that provide the required clearance, since the searches of
+   * subclasses are not necessarily aware of it.
+   * </p>
+   *
    * @param startNode
    *          The start node for the path.
    * @param targetNode
    *          The target node for the path.
-   * @return The found {@link Path}
+   * @param clearance
+   *          The clearance that is required by the entity.
+   * @return The found {@link Path} or null if the target cannot be reached.
+   * @see AStarGrid#getRequiredClearance(double, double)
    */
-  private static Path retracePath(final AStarNode startNode, final AStarNode targetNode) {
-    final List<AStarNode> path = new ArrayList<>();
-    AStarNode currentNode = targetNode.getPredecessor();
-
-    while (currentNode != startNode) {
-      path.add(currentNode);
-      currentNode = currentNode.getPredecessor();
+  protected Path findAStarPath(AStarNode startNode, AStarNode targetNode, int clearance) {
+    if (clearance <= 1) {
+      return this.findAStarPath(startNode, targetNode);
     }
-    Collections.reverse(path);
 
-    final Path2D path2D = new GeneralPath(Path2D.WIND_NON_ZERO);
-    path2D.moveTo(startNode.getLocation().x, startNode.getLocation().y);
+    return this.search(startNode, targetNode, clearance);
+  }
 
-    final List<Point2D> pointsOfPath = new ArrayList<>();
-    for (int i = 0; i < path.size(); i++) {
-      final AStarNode current = path.get(i);
-      final Point currentPoint = new Point(current.getLocation().x, current.getLocation().y);
-      pointsOfPath.add(currentPoint);
-      path2D.lineTo(currentPoint.x, currentPoint.y);
+  private Path search(AStarNode startNode, AStarNode targetNode, int clearance) {
+    final AStarSearch search = this.searches.obtain();
+    try {
+      return search.findPathWithClearance(startNode, targetNode, clearance);
+    } finally {
+      this.searches.free(search);
     }
-
-    path2D.lineTo(targetNode.getLocation().x, targetNode.getLocation().y);
-
-    return new Path(startNode.getLocation(), targetNode.getLocation(), path2D, pointsOfPath);
   }
 }
@@ -0,0 +1,329 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.awt.Point;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The state of a single A* search on an {@link AStarGrid}.
+ * <p>
+ * Instead of storing the costs and predecessors on the shared {@link AStarNode} instances, this context keeps them in
+ * primitive arrays that are indexed by the position of a node on the grid. The opened nodes are kept in a {@link NodeHeap}
+ * which allows to retrieve the node with the lowest costs and to decrease the costs of an already opened node in
+ * O(log n), while the closed nodes are tracked by a bit set.
+ * </p>
+ * <p>
+ * A context is meant to be reused for subsequent searches on the same grid, but it must not be used by multiple threads
+ * at once. The {@link AStarPathFinder} therefore obtains a context from a {@link SearchPool} for every search, which
+ * allows concurrent searches on the same grid as long as the grid itself is not modified.
+ * </p>
+ * <p>
+ * A search can also be restricted to a rectangular window of the grid, in which case the arrays only need to provide
+ * space for the nodes of the largest window. Subclasses can change which nodes are opened from an expanded node by
+ * overriding {@link #updateAndOpenNeighborNodes(int, AStarNode)}.
+ * </p>
+ */
+class AStarSearch {
+  private final AStarGrid grid;
+  private final AStarNode[][] nodes;
+  private final int capacity;
+
+  private int windowX;
+  private int windowY;
+  private int windowWidth;
+  private int windowHeight;
+
+  private final double[] gCosts;
+  private final int[] predecessors;
+
+  // the opened nodes, ordered by their f-costs and subsequently their h-costs
+  private final NodeHeap heap;
+
+  private final BitSet opened;
+  private final BitSet closed;
+
+  private final AStarNode[] neighbors = new AStarNode[AStarGrid.MAX_NEIGHBORS];
+  private int clearance = 1;
+
+  AStarSearch(final AStarGrid grid) {
+    this(grid, grid.getGrid().length, grid.getGrid().length == 0 ? 0 : grid.getGrid()[0].length);
+  }
+
+  /**
+   * Creates a search context for windows of the specified grid that are at most of the specified size.
+   *
+   * @param grid
+   *          The grid to search paths on.
+   * @param maxWindowWidth
+   *          The maximum width of a window in nodes.
+   * @param maxWindowHeight
+   *          The maximum height of a window in nodes.
+   * @see #setWindow(int, int, int, int)
+   */
+  AStarSearch(final AStarGrid grid, final int maxWindowWidth, final int maxWindowHeight) {
+    this.grid = grid;
+    this.nodes = grid.getGrid();
+    this.capacity = maxWindowWidth * maxWindowHeight;
+    this.setWindow(0, 0, maxWindowWidth, maxWindowHeight);
+
+    this.gCosts = new double[this.capacity];
+    this.predecessors = new int[this.capacity];
+    this.heap = new NodeHeap(this.capacity);
+    this.opened = new BitSet(this.capacity);
+    this.closed = new BitSet(this.capacity);
+  }
+
+  /**
+   * Restricts subsequent searches to the specified window of the grid. The window is clipped to the bounds of the grid.
+   *
+   * @param x
+   *          The x-coordinate of the window's first node on the grid.
+   * @param y
+   *          The y-coordinate of the window's first node on the grid.
+   * @param width
+   *          The width of the window in nodes.
+   * @param height
+   *          The height of the window in nodes.
+   */
+  final void setWindow(final int x, final int y, final int width, final int height) {
+    final int gridHeight = this.nodes.length == 0 ? 0 : this.nodes[0].length;
+    this.windowX = Math.max(0, x);
+    this.windowY = Math.max(0, y);
+    this.windowWidth = Math.min(x + width, this.nodes.length) - this.windowX;
+    this.windowHeight = Math.min(y + height, gridHeight) - this.windowY;
+    if (this.windowWidth * this.windowHeight > this.capacity) {
+      throw new IllegalArgumentException("The window " + width + "x" + height + " exceeds the capacity of this search context.");
+    }
+  }
+
+  /**
+   * Searches the path with the lowest costs between the specified nodes.
+   *
+   * @param startNode
+   *          The start node for the path.
+   * @param targetNode
+   *          The target node for the path.
+   * @return The found {@link Path} or null if the target cannot be reached.
+   */
+  Path findPath(final AStarNode startNode, final AStarNode targetNode) {
+    return this.findPathWithClearance(startNode, targetNode, 1);
+  }
+
+  /**
+   * Searches the path with the lowest costs between the specified nodes that only leads over nodes which provide the
+   * specified clearance.
+   *
+   * @param startNode
+   *          The start node for the path.
+   * @param targetNode
+   *          The target node for the path.
+   * @param requiredClearance
+   *          The clearance that is required by the entity for which the path is searched.
+   * @return The found {@link Path} or null if the target cannot be reached.
+   * @see AStarGrid#getRequiredClearance(double, double)
+   */
+  Path findPathWithClearance(final AStarNode startNode, final AStarNode targetNode, final int requiredClearance) {
+    this.clearance = requiredClearance;
+    try {
+      final int target = this.search(startNode, targetNode);
+      return target == -1 ? null : this.retracePath(this.getIndex(startNode), target);
+    } finally {
+      this.clearance = 1;
+    }
+  }
+
+  /**
+   * Searches the nodes of the path with the lowest costs between the specified nodes within the current window.
+   *
+   * @param startNode
+   *          The start node for the path.
+   * @param targetNode
+   *          The target node for the path.
+   * @return All nodes of the found path without the start node or null if the target cannot be reached.
+   */
+  List<AStarNode> findNodes(final AStarNode startNode, final AStarNode targetNode) {
+    final int target = this.search(startNode, targetNode);
+    if (target == -1) {
+      return null;
+    }
+
+    final int start = this.getIndex(startNode);
+    final List<AStarNode> path = new ArrayList<>();
+    for (int current = target; current != start; current = this.predecessors[current]) {
+      path.add(this.getNode(current));
+    }
+
+    Collections.reverse(path);
+    return path;
+  }
+
+  /**
+   * Searches the specified target or, if no target is specified, the costs to all nodes within the current window that
+   * can be reached from the start node.
+   *
+   * @param startNode
+   *          The start node of the search.
+   * @param targetNode
+   *          The target node of the search or null.
+   * @return The index of the target node or -1 if it cannot be reached or if no target is specified.
+   * @see #isClosed(int)
+   * @see #getGCost(int)
+   */
+  final int search(final AStarNode startNode, final AStarNode targetNode) {
+    this.opened.clear();
+    this.closed.clear();
+    this.heap.clear();
+
+    final int start = this.getIndex(startNode);
+    final int target = targetNode == null || !this.isInWindow(targetNode) ? -1 : this.getIndex(targetNode);
+    this.gCosts[start] = 0;
+    this.predecessors[start] = -1;
+    this.opened.set(start);
+    this.heap.update(start, 0, 0);
+
+    while (!this.heap.isEmpty()) {
+      final int current = this.heap.poll();
+      this.closed.set(current);
+
+      // when the current node reaches the target node, we've found the path
+      if (current == target) {
+        return target;
+      }
+
+      this.updateAndOpenNeighborNodes(current, targetNode);
+    }
+
+    return -1;
+  }
+
+  /**
+   * Updates the costs and the predecessor of all neighbors of the specified node.<br>
+   * If a neighbor was previously not opened it will be pushed to the heap.<br>
+   * If a neighbor is already closed, it will be ignored.<br>
+   * If the {@link AStarNode#isWalkable()} method of a neighbor returns <code>false</code> it will also not be considered.
+   *
+   * @param current
+   *          The index of the node for which the neighbors will be searched for.
+   * @param targetNode
+   *          The target node of the path-finding operation.
+   */
+  void updateAndOpenNeighborNodes(final int current, final AStarNode targetNode) {
+    final AStarNode currentNode = this.getNode(current);
+    final int count = this.grid.getNeighbors(currentNode.getGridX(), currentNode.getGridY(), this.neighbors, this.clearance);
+    for (int i = 0; i < count; i++) {
+      final AStarNode neighbor = this.neighbors[i];
+      if (neighbor != targetNode && !neighbor.isWalkable() || !this.isInWindow(neighbor)) {
+        continue;
+      }
+
+      final double hCost = targetNode == null ? 0 : neighbor.getCosts(targetNode);
+      this.open(this.getIndex(neighbor), current, this.gCosts[current] + currentNode.getCosts(neighbor), hCost);
+    }
+  }
+
+  /**
+   * Opens the specified node or updates its costs and predecessor if it can be reached with lower costs than before.
+   * Closed nodes are ignored.
+   *
+   * @param node
+   *          The index of the node.
+   * @param predecessor
+   *          The index of the node from which the specified node is reached.
+   * @param gCost
+   *          The costs so far for the node when it is reached from the predecessor.
+   * @param hCost
+   *          The estimated costs from the node to the target.
+   */
+  final void open(final int node, final int predecessor, final double gCost, final double hCost) {
+    if (this.closed.get(node)) {
+      return;
+    }
+
+    if (!this.opened.get(node)) {
+      this.opened.set(node);
+      this.gCosts[node] = gCost;
+      this.predecessors[node] = predecessor;
+      this.heap.update(node, gCost + hCost, hCost);
+    } else if (gCost < this.gCosts[node]) {
+      // the h-costs of a node don't change, so they can be taken from the tie breaker of the heap
+      final double knownHCost = this.heap.getTieBreaker(node);
+      this.gCosts[node] = gCost;
+      this.predecessors[node] = predecessor;
+      this.heap.update(node, gCost + knownHCost, knownHCost);
+    }
+  }
+
+  final AStarGrid getGrid() {
+    return this.grid;
+  }
+
+  final double getGCost(final int node) {
+    return this.gCosts[node];
+  }
+
+  final boolean isClosed(final int node) {
+    return this.closed.get(node);
+  }
+
+  /**
+   * Gets the index of the node from which the specified node was reached.
+   *
+   * @param node
+   *          The index of the node.
+   * @return The index of the predecessor or -1 if the specified node is the start of the search.
+   */
+  final int getPredecessor(final int node) {
+    return this.predecessors[node];
+  }
+
+  /**
+   * Retraces the found path from the target back to the start by making use of the predecessors of the nodes.
+   *
+   * @param start
+   *          The index of the start node for the path.
+   * @param target
+   *          The index of the target node for the path.
+   * @return The found {@link Path}
+   */
+  private Path retracePath(final int start, final int target) {
+    final List<Point2D> pointsOfPath = new ArrayList<>();
+    for (int current = this.predecessors[target]; current != start; current = this.predecessors[current]) {
+      pointsOfPath.add(this.getNode(current).getLocation());
+    }
+    Collections.reverse(pointsOfPath);
+
+    final Point startLocation = this.getNode(start).getLocation();
+    final Point targetLocation = this.getNode(target).getLocation();
+    final Path2D path2D = new GeneralPath(Path2D.WIND_NON_ZERO);
+    path2D.moveTo(startLocation.x, startLocation.y);
+    for (final Point2D point : pointsOfPath) {
+      path2D.lineTo(point.getX(), point.getY());
+    }
+
+    path2D.lineTo(targetLocation.x, targetLocation.y);
+    return new Path(startLocation, targetLocation, path2D, pointsOfPath);
+  }
+
+  final int getIndex(final AStarNode node) {
+    return this.getIndex(node.getGridX(), node.getGridY());
+  }
+
+  final int getIndex(final int x, final int y) {
+    return (x - this.windowX) * this.windowHeight + y - this.windowY;
+  }
+
+  final AStarNode getNode(final int index) {
+    return this.nodes[this.windowX + index / this.windowHeight][this.windowY + index % this.windowHeight];
+  }
+
+  final boolean isInWindow(final AStarNode node) {
+    final int x = node.getGridX() - this.windowX;
+    final int y = node.getGridY() - this.windowY;
+    return x >= 0 && x < this.windowWidth && y >= 0 && y < this.windowHeight;
+  }
+}
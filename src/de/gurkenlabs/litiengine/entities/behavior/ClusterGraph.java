@@ -0,0 +1,498 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * The abstract graph of the {@link HierarchicalPathFinder}.
+ * <p>
+ * The grid is partitioned into square clusters. Wherever two adjacent clusters share a run of walkable nodes on both
+ * sides of their border, one or two transitions are placed on that entrance. The nodes of these transitions are the
+ * nodes of the abstract graph: nodes of the same cluster are connected by the costs of the shortest path between them
+ * within the cluster and the two nodes of a transition are connected by the costs of a single step.
+ * </p>
+ * <p>
+ * The graph is built when it is created and listens to the walkable updates of the grid in order to only rebuild the
+ * clusters around the changed nodes.
+ * </p>
+ */
+final class ClusterGraph implements AStarGridListener {
+  // entrances that are shorter than this get a single transition in their middle, longer ones a transition at each end
+  private static final int MAX_SINGLE_TRANSITION_LENGTH = 6;
+
+  private final AStarGrid grid;
+  private final AStarNode[][] nodes;
+  private final int gridWidth;
+  private final int gridHeight;
+  private final int clusterSize;
+  private final int clustersX;
+  private final int clustersY;
+
+  // the nodes of the transitions over the right and the bottom border of each cluster as subsequent pairs
+  private final AStarNode[][] rightTransitions;
+  private final AStarNode[][] bottomTransitions;
+  private final Cluster[] clusters;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final ThreadLocal<AStarSearch> searches;
+
+  ClusterGraph(final AStarGrid grid, final int clusterSize) {
+    if (clusterSize < 1) {
+      throw new IllegalArgumentException("The cluster size must be positive.");
+    }
+
+    this.grid = grid;
+    this.nodes = grid.getGrid();
+    this.gridWidth = this.nodes.length;
+    this.gridHeight = this.gridWidth == 0 ? 0 : this.nodes[0].length;
+    this.clusterSize = clusterSize;
+    this.clustersX = (this.gridWidth + clusterSize - 1) / clusterSize;
+    this.clustersY = (this.gridHeight + clusterSize - 1) / clusterSize;
+
+    // a search is either restricted to a single cluster or to two adjacent clusters, so the per-thread contexts only
+    // need space for four clusters instead of the whole grid
+    this.searches = ThreadLocal.withInitial(() -> new AStarSearch(this.grid, 2 * this.clusterSize, 2 * this.clusterSize));
+
+    final int count = this.clustersX * this.clustersY;
+    this.rightTransitions = new AStarNode[count][];
+    this.bottomTransitions = new AStarNode[count][];
+    this.clusters = new Cluster[count];
+    for (int i = 0; i < count; i++) {
+      this.updateTransitions(i);
+    }
+
+    // the clusters only depend on the transitions, so they can be created independently of each other
+    IntStream.range(0, count).parallel().forEach(i -> this.clusters[i] = this.createCluster(i));
+    grid.addListener(this);
+  }
+
+  int getClusterSize() {
+    return this.clusterSize;
+  }
+
+  @Override
+  public void walkableChanged(final Collection<AStarNode> changedNodes) {
+    int minX = Integer.MAX_VALUE;
+    int minY = Integer.MAX_VALUE;
+    int maxX = Integer.MIN_VALUE;
+    int maxY = Integer.MIN_VALUE;
+    for (final AStarNode node : changedNodes) {
+      minX = Math.min(minX, node.getGridX() / this.clusterSize);
+      minY = Math.min(minY, node.getGridY() / this.clusterSize);
+      maxX = Math.max(maxX, node.getGridX() / this.clusterSize);
+      maxY = Math.max(maxY, node.getGridY() / this.clusterSize);
+    }
+
+    // the transitions on the borders of the changed clusters also change the nodes of their neighbors
+    minX = Math.max(0, minX - 1);
+    minY = Math.max(0, minY - 1);
+    maxX = Math.min(this.clustersX - 1, maxX + 1);
+    maxY = Math.min(this.clustersY - 1, maxY + 1);
+
+    this.lock.writeLock().lock();
+    try {
+      for (int x = minX; x <= maxX; x++) {
+        for (int y = minY; y <= maxY; y++) {
+          this.updateTransitions(this.getClusterIndex(x, y));
+        }
+      }
+
+      for (int x = minX; x <= maxX; x++) {
+        for (int y = minY; y <= maxY; y++) {
+          final int cluster = this.getClusterIndex(x, y);
+          this.clusters[cluster] = this.createCluster(cluster);
+        }
+      }
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Searches a path between the specified nodes that doesn't leave their clusters.
+   *
+   * @param startNode
+   *          The start node for the path.
+   * @param targetNode
+   *          The target node for the path.
+   * @return The found {@link Path} or null if the nodes are neither in the same nor in adjacent clusters or if the
+   *         target cannot be reached within their clusters.
+   */
+  Path findLocalPath(final AStarNode startNode, final AStarNode targetNode) {
+    final AStarSearch search = this.getSearch(startNode, targetNode);
+    return search == null ? null : search.findPath(startNode, targetNode);
+  }
+
+  /**
+   * Searches the nodes of a path between the specified nodes that are in the same or in adjacent clusters. The search
+   * does not leave these clusters.
+   *
+   * @param startNode
+   *          The start node for the path.
+   * @param targetNode
+   *          The target node for the path.
+   * @return All nodes of the found path without the start node or null if the target cannot be reached.
+   */
+  List<AStarNode> refine(final AStarNode startNode, final AStarNode targetNode) {
+    final AStarSearch search = this.getSearch(startNode, targetNode);
+    return search == null ? null : search.findNodes(startNode, targetNode);
+  }
+
+  /**
+   * Searches the path with the lowest costs between the specified nodes on the abstract graph.
+   *
+   * @param startNode
+   *          The start node for the path.
+   * @param targetNode
+   *          The target node for the path.
+   * @return The start node, the nodes of all transitions on the path and the target node or null if the target cannot
+   *         be reached.
+   */
+  List<AStarNode> findAbstractPath(final AStarNode startNode, final AStarNode targetNode) {
+    this.lock.readLock().lock();
+    try {
+      final int startCluster = this.getClusterIndex(startNode);
+      final int targetCluster = this.getClusterIndex(targetNode);
+      final double[] startCosts = this.getCostsFrom(startNode, this.clusters[startCluster]);
+      final double[] targetCosts = this.getCostsTo(targetNode, this.clusters[targetCluster]);
+
+      final Map<AStarNode, SearchNode> searchNodes = new HashMap<>();
+      final PriorityQueue<OpenedNode> opened = new PriorityQueue<>();
+      final SearchNode start = this.getSearchNode(searchNodes, startNode);
+      start.gCost = 0;
+      opened.add(new OpenedNode(start, 0));
+
+      while (!opened.isEmpty()) {
+        final SearchNode current = opened.poll().node;
+        if (current.closed) {
+          continue;
+        }
+
+        current.closed = true;
+        if (current.node == targetNode) {
+          return retracePath(current);
+        }
+
+        final Cluster cluster = this.clusters[current.cluster];
+        if (current == start) {
+          for (int i = 0; i < cluster.entrances.length; i++) {
+            this.open(searchNodes, opened, current, cluster.entrances[i], startCosts[i], targetNode);
+          }
+        }
+
+        if (current.entrance == -1) {
+          continue;
+        }
+
+        for (int i = 0; i < cluster.entrances.length; i++) {
+          this.open(searchNodes, opened, current, cluster.entrances[i], cluster.costs[current.entrance][i], targetNode);
+        }
+
+        for (final AStarNode transition : cluster.transitions[current.entrance]) {
+          this.open(searchNodes, opened, current, transition, current.node.getCosts(transition), targetNode);
+        }
+
+        if (current.cluster == targetCluster) {
+          this.open(searchNodes, opened, current, targetNode, targetCosts[current.entrance], targetNode);
+        }
+      }
+
+      return null;
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  private void open(final Map<AStarNode, SearchNode> searchNodes, final PriorityQueue<OpenedNode> opened, final SearchNode current, final AStarNode node, final double costs, final AStarNode targetNode) {
+    if (node == current.node || Double.isInfinite(costs)) {
+      return;
+    }
+
+    final SearchNode searchNode = this.getSearchNode(searchNodes, node);
+    final double gCost = current.gCost + costs;
+    if (searchNode.closed || gCost >= searchNode.gCost) {
+      return;
+    }
+
+    // the priority queue doesn't support decreasing the costs of a node, so it is added again and the outdated entry is
+    // skipped once it is polled
+    searchNode.gCost = gCost;
+    searchNode.predecessor = current;
+    opened.add(new OpenedNode(searchNode, gCost + node.getCosts(targetNode) - node.getPenalty()));
+  }
+
+  private SearchNode getSearchNode(final Map<AStarNode, SearchNode> searchNodes, final AStarNode node) {
+    return searchNodes.computeIfAbsent(node, n -> {
+      final int cluster = this.getClusterIndex(n);
+      return new SearchNode(n, cluster, this.clusters[cluster].indexOf(n));
+    });
+  }
+
+  private static List<AStarNode> retracePath(final SearchNode target) {
+    final List<AStarNode> path = new ArrayList<>();
+    for (SearchNode current = target; current != null; current = current.predecessor) {
+      path.add(current.node);
+    }
+
+    Collections.reverse(path);
+    return path;
+  }
+
+  /**
+   * Gets the costs from the specified node to all entrances of its cluster.
+   */
+  private double[] getCostsFrom(final AStarNode node, final Cluster cluster) {
+    final AStarSearch search = this.getSearch(node, node);
+    search.search(node, null);
+
+    final double[] costs = new double[cluster.entrances.length];
+    for (int i = 0; i < costs.length; i++) {
+      final int index = search.getIndex(cluster.entrances[i]);
+      costs[i] = search.isClosed(index) ? search.getGCost(index) : Double.POSITIVE_INFINITY;
+    }
+
+    return costs;
+  }
+
+  /**
+   * Gets the costs from all entrances of the cluster of the specified node to the node.
+   */
+  private double[] getCostsTo(final AStarNode node, final Cluster cluster) {
+    final double[] costs = this.getCostsFrom(node, cluster);
+
+    // the costs of a path contain the penalties of all its nodes but the last one
+    for (int i = 0; i < costs.length; i++) {
+      costs[i] += cluster.entrances[i].getPenalty() - node.getPenalty();
+    }
+
+    return costs;
+  }
+
+  private Cluster createCluster(final int cluster) {
+    final int x = cluster / this.clustersY;
+    final int y = cluster % this.clustersY;
+
+    // collect the nodes of all transitions on the borders of the cluster along with the nodes on the other side
+    final Map<AStarNode, List<AStarNode>> entrances = new LinkedHashMap<>();
+    addTransitions(entrances, this.rightTransitions[cluster], false);
+    addTransitions(entrances, this.bottomTransitions[cluster], false);
+    if (x > 0) {
+      addTransitions(entrances, this.rightTransitions[this.getClusterIndex(x - 1, y)], true);
+    }
+
+    if (y > 0) {
+      addTransitions(entrances, this.bottomTransitions[this.getClusterIndex(x, y - 1)], true);
+    }
+
+    final AStarNode[] entranceNodes = entrances.keySet().toArray(new AStarNode[entrances.size()]);
+    final AStarNode[][] transitions = new AStarNode[entranceNodes.length][];
+    final double[][] costs = new double[entranceNodes.length][entranceNodes.length];
+
+    final AStarSearch search = this.searches.get();
+    search.setWindow(x * this.clusterSize, y * this.clusterSize, this.clusterSize, this.clusterSize);
+    for (int i = 0; i < entranceNodes.length; i++) {
+      final List<AStarNode> otherSide = entrances.get(entranceNodes[i]);
+      transitions[i] = otherSide.toArray(new AStarNode[otherSide.size()]);
+
+      search.search(entranceNodes[i], null);
+      for (int j = 0; j < entranceNodes.length; j++) {
+        final int index = search.getIndex(entranceNodes[j]);
+        costs[i][j] = search.isClosed(index) ? search.getGCost(index) : Double.POSITIVE_INFINITY;
+      }
+    }
+
+    return new Cluster(entranceNodes, transitions, costs);
+  }
+
+  private static void addTransitions(final Map<AStarNode, List<AStarNode>> entrances, final AStarNode[] transitions, final boolean otherSide) {
+    for (int i = 0; i < transitions.length; i += 2) {
+      final AStarNode entrance = otherSide ? transitions[i + 1] : transitions[i];
+      final AStarNode target = otherSide ? transitions[i] : transitions[i + 1];
+      entrances.computeIfAbsent(entrance, e -> new ArrayList<>(1)).add(target);
+    }
+  }
+
+  private void updateTransitions(final int cluster) {
+    final int x = cluster / this.clustersY;
+    final int y = cluster % this.clustersY;
+    final List<AStarNode> transitions = new ArrayList<>();
+
+    // the border to the cluster on the right
+    if (x + 1 < this.clustersX) {
+      final int borderX = (x + 1) * this.clusterSize - 1;
+      this.addTransitions(transitions, y * this.clusterSize, Math.min((y + 1) * this.clusterSize, this.gridHeight), i -> this.nodes[borderX][i], i -> this.nodes[borderX + 1][i]);
+    }
+
+    this.rightTransitions[cluster] = transitions.toArray(new AStarNode[transitions.size()]);
+    transitions.clear();
+
+    // the border to the cluster below
+    if (y + 1 < this.clustersY) {
+      final int borderY = (y + 1) * this.clusterSize - 1;
+      this.addTransitions(transitions, x * this.clusterSize, Math.min((x + 1) * this.clusterSize, this.gridWidth), i -> this.nodes[i][borderY], i -> this.nodes[i][borderY + 1]);
+    }
+
+    this.bottomTransitions[cluster] = transitions.toArray(new AStarNode[transitions.size()]);
+  }
+
+  /**
+   * Adds the transitions over a border to the specified list.
+   *
+   * @param transitions
+   *          The list to which the nodes of each transition are added as subsequent pairs.
+   * @param start
+   *          The first position along the border.
+   * @param end
+   *          The position along the border after the last one.
+   * @param inside
+   *          The node at a position on this side of the border.
+   * @param outside
+   *          The node at a position on the other side of the border.
+   */
+  private void addTransitions(final List<AStarNode> transitions, final int start, final int end, final IntFunction<AStarNode> inside, final IntFunction<AStarNode> outside) {
+    int entranceStart = -1;
+    for (int i = start; i <= end; i++) {
+      final boolean open = i < end && isOpen(inside.apply(i), outside.apply(i));
+      if (open && entranceStart == -1) {
+        entranceStart = i;
+      } else if (!open && entranceStart != -1) {
+        for (final int transition : getTransitions(entranceStart, i - 1)) {
+          transitions.add(inside.apply(transition));
+          transitions.add(outside.apply(transition));
+        }
+
+        entranceStart = -1;
+      }
+    }
+
+    if (!this.grid.isDiagonalMovementAllowed() || !this.grid.isDiagonalCornerMovementAllowed()) {
+      return;
+    }
+
+    // when corners can be cut, the border can also be crossed diagonally between two nodes that have no walkable node
+    // on the other side
+    for (int i = start; i < end - 1; i++) {
+      if (isOpen(inside.apply(i), outside.apply(i)) || isOpen(inside.apply(i + 1), outside.apply(i + 1))) {
+        continue;
+      }
+
+      if (isOpen(inside.apply(i), outside.apply(i + 1))) {
+        transitions.add(inside.apply(i));
+        transitions.add(outside.apply(i + 1));
+      }
+
+      if (isOpen(inside.apply(i + 1), outside.apply(i))) {
+        transitions.add(inside.apply(i + 1));
+        transitions.add(outside.apply(i));
+      }
+    }
+  }
+
+  private static boolean isOpen(final AStarNode node, final AStarNode other) {
+    return node.isWalkable() && other.isWalkable();
+  }
+
+  private static int[] getTransitions(final int entranceStart, final int entranceEnd) {
+    if (entranceEnd - entranceStart + 1 < MAX_SINGLE_TRANSITION_LENGTH) {
+      return new int[] { (entranceStart + entranceEnd) / 2 };
+    }
+
+    return new int[] { entranceStart, entranceEnd };
+  }
+
+  /**
+   * Gets a search that is restricted to the clusters of the specified nodes.
+   *
+   * @return The search or null if the nodes are neither in the same nor in adjacent clusters.
+   */
+  private AStarSearch getSearch(final AStarNode startNode, final AStarNode targetNode) {
+    final int startX = startNode.getGridX() / this.clusterSize;
+    final int startY = startNode.getGridY() / this.clusterSize;
+    final int targetX = targetNode.getGridX() / this.clusterSize;
+    final int targetY = targetNode.getGridY() / this.clusterSize;
+    if (Math.abs(startX - targetX) > 1 || Math.abs(startY - targetY) > 1) {
+      return null;
+    }
+
+    final int minX = Math.min(startX, targetX);
+    final int minY = Math.min(startY, targetY);
+    final int width = (Math.max(startX, targetX) - minX + 1) * this.clusterSize;
+    final int height = (Math.max(startY, targetY) - minY + 1) * this.clusterSize;
+
+    final AStarSearch search = this.searches.get();
+    search.setWindow(minX * this.clusterSize, minY * this.clusterSize, width, height);
+    return search;
+  }
+
+  private int getClusterIndex(final AStarNode node) {
+    return this.getClusterIndex(node.getGridX() / this.clusterSize, node.getGridY() / this.clusterSize);
+  }
+
+  private int getClusterIndex(final int x, final int y) {
+    return x * this.clustersY + y;
+  }
+
+  private static final class Cluster {
+    private final AStarNode[] entrances;
+    // the nodes in adjacent clusters that can be reached by a single step from each entrance
+    private final AStarNode[][] transitions;
+    // the costs from one entrance to another within the cluster or positive infinity if there is no such path
+    private final double[][] costs;
+
+    private Cluster(final AStarNode[] entrances, final AStarNode[][] transitions, final double[][] costs) {
+      this.entrances = entrances;
+      this.transitions = transitions;
+      this.costs = costs;
+    }
+
+    private int indexOf(final AStarNode node) {
+      for (int i = 0; i < this.entrances.length; i++) {
+        if (this.entrances[i] == node) {
+          return i;
+        }
+      }
+
+      return -1;
+    }
+  }
+
+  private static final class SearchNode {
+    private final AStarNode node;
+    private final int cluster;
+    private final int entrance;
+    private double gCost = Double.POSITIVE_INFINITY;
+    private SearchNode predecessor;
+    private boolean closed;
+
+    private SearchNode(final AStarNode node, final int cluster, final int entrance) {
+      this.node = node;
+      this.cluster = cluster;
+      this.entrance = entrance;
+    }
+  }
+
+  private static final class OpenedNode implements Comparable<OpenedNode> {
+    private final SearchNode node;
+    private final double fCost;
+
+    private OpenedNode(final SearchNode node, final double fCost) {
+      this.node = node;
+      this.fCost = fCost;
+    }
+
+    @Override
+    public int compareTo(final OpenedNode other) {
+      return Double.compare(this.fCost, other.fCost);
+    }
+  }
+}
@@ -0,0 +1,274 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The search state of D* Lite for a single target node of an {@link AStarGrid}.
+ * <p>
+ * D* Lite searches backwards from the target, so that the costs of all expanded nodes to the target remain valid while
+ * the start moves. When the walkable attribute of nodes changes, only the costs of the nodes around them are updated
+ * and the subsequent search only expands the nodes whose costs to the target are actually affected. The heap keys of
+ * the opened nodes are not recalculated when the start changes; instead, they are corrected by an offset that grows by
+ * the estimated costs between the previous and the current start (the key modifier <i>km</i>).
+ * </p>
+ * <p>
+ * Changes of the penalties of nodes are not tracked; {@link #reset()} needs to be called if penalties change.
+ * </p>
+ */
+final class DStarLite {
+  // the costs are sums of fractional values, so the keys are rounded in order to make keys that are equal apart from
+  // rounding errors exactly equal; otherwise, the tie breaker could not decide between them
+  private static final double KEY_PRECISION = 1e6;
+
+  private final AStarGrid grid;
+  private final AStarNode[][] nodes;
+  private final int height;
+  private final AStarNode target;
+
+  private final double[] gCosts;
+  private final double[] rhsCosts;
+  private final NodeHeap heap;
+  private final AStarNode[] neighbors = new AStarNode[AStarGrid.MAX_NEIGHBORS];
+
+  // the nodes whose walkable attribute has changed since the last search
+  private final Set<AStarNode> changedNodes = new LinkedHashSet<>();
+
+  private AStarNode lastStart;
+  private double keyModifier;
+  private boolean initialized;
+
+  DStarLite(final AStarGrid grid, final AStarNode target) {
+    this.grid = grid;
+    this.nodes = grid.getGrid();
+    this.height = this.nodes.length == 0 ? 0 : this.nodes[0].length;
+    this.target = target;
+
+    final int capacity = this.nodes.length * this.height;
+    this.gCosts = new double[capacity];
+    this.rhsCosts = new double[capacity];
+    this.heap = new NodeHeap(capacity);
+  }
+
+  AStarGrid getGrid() {
+    return this.grid;
+  }
+
+  /**
+   * Discards the search state, so that the next search starts from scratch.
+   */
+  synchronized void reset() {
+    this.initialized = false;
+    this.changedNodes.clear();
+  }
+
+  /**
+   * Remembers the specified nodes so that their surroundings are updated before the next search.
+   *
+   * @param nodes
+   *          The nodes whose walkable attribute has changed.
+   */
+  synchronized void walkableChanged(final Collection<AStarNode> nodes) {
+    if (this.initialized) {
+      this.changedNodes.addAll(nodes);
+    }
+  }
+
+  /**
+   * Searches the nodes of the path with the lowest costs from the specified start to the target of this instance.
+   *
+   * @param start
+   *          The start node of the path.
+   * @return All nodes of the found path including the start or null if the target cannot be reached.
+   */
+  synchronized List<AStarNode> findNodes(final AStarNode start) {
+    if (!this.initialized) {
+      this.initialize(start);
+    } else {
+      this.keyModifier += getHeuristic(this.lastStart, start);
+      this.lastStart = start;
+      this.updateChangedNodes();
+    }
+
+    this.computeShortestPath(start);
+
+    final int startIndex = this.getIndex(start);
+    if (this.gCosts[startIndex] == Double.POSITIVE_INFINITY) {
+      return null;
+    }
+
+    // descend along the lowest costs to the target; the number of nodes is limited in case of rounding errors
+    final List<AStarNode> path = new ArrayList<>();
+    path.add(start);
+    AStarNode current = start;
+    while (current != this.target && path.size() <= this.gCosts.length) {
+      current = this.getCheapestSuccessor(current);
+      if (current == null) {
+        return null;
+      }
+
+      path.add(current);
+    }
+
+    return current == this.target ? path : null;
+  }
+
+  private void initialize(final AStarNode start) {
+    Arrays.fill(this.gCosts, Double.POSITIVE_INFINITY);
+    Arrays.fill(this.rhsCosts, Double.POSITIVE_INFINITY);
+    this.heap.clear();
+    this.changedNodes.clear();
+    this.keyModifier = 0;
+    this.lastStart = start;
+
+    final int targetIndex = this.getIndex(this.target);
+    this.rhsCosts[targetIndex] = 0;
+    this.heap.update(targetIndex, this.getPriority(targetIndex), 0);
+    this.initialized = true;
+  }
+
+  /**
+   * A changed node affects its own costs and the costs of all nodes around it, because both the edges to the node and
+   * the diagonal edges along its corners depend on its walkable attribute.
+   */
+  private void updateChangedNodes() {
+    for (final AStarNode changedNode : this.changedNodes) {
+      final int x = changedNode.getGridX();
+      final int y = changedNode.getGridY();
+      for (int neighborX = Math.max(0, x - 1); neighborX <= Math.min(this.nodes.length - 1, x + 1); neighborX++) {
+        for (int neighborY = Math.max(0, y - 1); neighborY <= Math.min(this.height - 1, y + 1); neighborY++) {
+          this.updateNode(this.nodes[neighborX][neighborY]);
+        }
+      }
+    }
+
+    this.changedNodes.clear();
+  }
+
+  private void computeShortestPath(final AStarNode start) {
+    final int startIndex = this.getIndex(start);
+    while (!this.heap.isEmpty()) {
+      final int current = this.heap.peek();
+      final double priority = this.heap.getPriority(current);
+      final double tieBreaker = this.heap.getTieBreaker(current);
+      if (!isLower(priority, tieBreaker, this.getPriority(startIndex), this.getTieBreaker(startIndex)) && this.rhsCosts[startIndex] == this.gCosts[startIndex]) {
+        return;
+      }
+
+      final double newPriority = this.getPriority(current);
+      final double newTieBreaker = this.getTieBreaker(current);
+      if (isLower(priority, tieBreaker, newPriority, newTieBreaker)) {
+        // the key is outdated because the start has moved since the node was opened
+        this.heap.update(current, newPriority, newTieBreaker);
+      } else if (this.gCosts[current] > this.rhsCosts[current]) {
+        this.gCosts[current] = this.rhsCosts[current];
+        this.heap.remove(current);
+        this.updatePredecessors(current);
+      } else {
+        this.gCosts[current] = Double.POSITIVE_INFINITY;
+        this.updateNode(this.getNode(current));
+        this.updatePredecessors(current);
+      }
+    }
+  }
+
+  /**
+   * Updates all nodes from which the specified node can be reached. Nodes that are not walkable cannot be entered, so
+   * they don't affect the costs of any other node, except for the target.
+   */
+  private void updatePredecessors(final int index) {
+    final AStarNode node = this.getNode(index);
+    if (!node.isWalkable() && node != this.target) {
+      return;
+    }
+
+    final int x = node.getGridX();
+    final int y = node.getGridY();
+    for (int neighborX = Math.max(0, x - 1); neighborX <= Math.min(this.nodes.length - 1, x + 1); neighborX++) {
+      for (int neighborY = Math.max(0, y - 1); neighborY <= Math.min(this.height - 1, y + 1); neighborY++) {
+        if (neighborX != x || neighborY != y) {
+          this.updateNode(this.nodes[neighborX][neighborY]);
+        }
+      }
+    }
+  }
+
+  private void updateNode(final AStarNode node) {
+    final int index = this.getIndex(node);
+    if (node != this.target) {
+      double rhsCost = Double.POSITIVE_INFINITY;
+      final int count = this.grid.getNeighbors(node.getGridX(), node.getGridY(), this.neighbors);
+      for (int i = 0; i < count; i++) {
+        final AStarNode neighbor = this.neighbors[i];
+        if (neighbor.isWalkable() || neighbor == this.target) {
+          rhsCost = Math.min(rhsCost, node.getCosts(neighbor) + this.gCosts[this.getIndex(neighbor)]);
+        }
+      }
+
+      this.rhsCosts[index] = rhsCost;
+    }
+
+    if (this.gCosts[index] != this.rhsCosts[index]) {
+      this.heap.update(index, this.getPriority(index), this.getTieBreaker(index));
+    } else {
+      this.heap.remove(index);
+    }
+  }
+
+  private AStarNode getCheapestSuccessor(final AStarNode node) {
+    AStarNode cheapest = null;
+    double lowestCosts = Double.POSITIVE_INFINITY;
+    final int count = this.grid.getNeighbors(node.getGridX(), node.getGridY(), this.neighbors);
+    for (int i = 0; i < count; i++) {
+      final AStarNode neighbor = this.neighbors[i];
+      if (!neighbor.isWalkable() && neighbor != this.target) {
+        continue;
+      }
+
+      final double costs = node.getCosts(neighbor) + this.gCosts[this.getIndex(neighbor)];
+      if (costs < lowestCosts) {
+        lowestCosts = costs;
+        cheapest = neighbor;
+      }
+    }
+
+    return cheapest;
+  }
+
+  private double getPriority(final int index) {
+    return round(Math.min(this.gCosts[index], this.rhsCosts[index]) + getHeuristic(this.lastStart, this.getNode(index)) + this.keyModifier);
+  }
+
+  private double getTieBreaker(final int index) {
+    return round(Math.min(this.gCosts[index], this.rhsCosts[index]));
+  }
+
+  private static double round(final double key) {
+    return key == Double.POSITIVE_INFINITY ? key : Math.rint(key * KEY_PRECISION) / KEY_PRECISION;
+  }
+
+  private static boolean isLower(final double priority, final double tieBreaker, final double otherPriority, final double otherTieBreaker) {
+    return priority < otherPriority || priority == otherPriority && tieBreaker < otherTieBreaker;
+  }
+
+  /**
+   * The octile distance between the nodes, which never overestimates the costs because penalties are never negative.
+   */
+  private static double getHeuristic(final AStarNode node, final AStarNode other) {
+    final int dstX = Math.abs(node.getGridX() - other.getGridX());
+    final int dstY = Math.abs(node.getGridY() - other.getGridY());
+    return AStarNode.DIAGONAL_COST * Math.min(dstX, dstY) + Math.abs(dstX - dstY);
+  }
+
+  private int getIndex(final AStarNode node) {
+    return node.getGridX() * this.height + node.getGridY();
+  }
+
+  private AStarNode getNode(final int index) {
+    return this.nodes[index / this.height][index % this.height];
+  }
+}
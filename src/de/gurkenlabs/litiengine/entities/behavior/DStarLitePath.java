@@ -0,0 +1,83 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.awt.Point;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A path of the {@link DStarLitePathFinder} that is repaired when the grid changes while an entity follows it.
+ * <p>
+ * Whenever the next segment is approached after the grid has changed, the remaining path is searched again from the
+ * node that is approached, or from the node that was left if the approached node is no longer walkable. Since the
+ * search state of the target is kept, only the nodes whose costs are affected by the change are expanded again. The
+ * part of the path that has already been passed stays the same, so the indices of its segments remain valid.
+ * </p>
+ * <p>
+ * If the target can no longer be reached, the path ends at the node from which it was searched again.
+ * </p>
+ */
+final class DStarLitePath extends Path {
+  private final DStarLite planner;
+  private final List<AStarNode> nodes;
+  private final List<Point2D> points;
+
+  private long version;
+
+  DStarLitePath(final DStarLite planner, final List<AStarNode> nodes) {
+    this(planner, nodes, new GeneralPath(Path2D.WIND_NON_ZERO), new ArrayList<>());
+  }
+
+  private DStarLitePath(final DStarLite planner, final List<AStarNode> nodes, final Path2D path2D, final List<Point2D> points) {
+    super(nodes.get(0).getLocation(), nodes.get(nodes.size() - 1).getLocation(), path2D, points);
+    this.planner = planner;
+    this.nodes = new ArrayList<>(nodes);
+    this.points = points;
+    this.version = planner.getGrid().getVersion();
+    this.build(true);
+  }
+
+  @Override
+  protected synchronized void refine(int segment) {
+    final long currentVersion = this.planner.getGrid().getVersion();
+    if (currentVersion == this.version || segment >= this.nodes.size() - 1) {
+      return;
+    }
+
+    this.version = currentVersion;
+    int from = Math.max(0, segment);
+    if (from > 0 && !this.nodes.get(from).isWalkable()) {
+      from--;
+    }
+
+    final List<AStarNode> repairedNodes = this.planner.findNodes(this.nodes.get(from));
+    if (repairedNodes == null) {
+      this.nodes.subList(from + 1, this.nodes.size()).clear();
+      this.build(false);
+      return;
+    }
+
+    this.nodes.subList(from, this.nodes.size()).clear();
+    this.nodes.addAll(repairedNodes);
+    this.build(true);
+  }
+
+  private void build(final boolean reachesTarget) {
+    this.clearWaypoints();
+    this.points.clear();
+    this.addWaypoint(this.getStart().getX(), this.getStart().getY());
+    for (int i = 1; i < this.nodes.size(); i++) {
+      final Point location = this.nodes.get(i).getLocation();
+      this.addWaypoint(location.x, location.y);
+
+      // like for other paths, the points only contain the nodes between the start and the target
+      if (!reachesTarget || i < this.nodes.size() - 1) {
+        this.points.add(location);
+      }
+    }
+
+    this.publishWaypoints();
+  }
+}
@@ -0,0 +1,98 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+
+/**
+ * An <code>AStarPathFinder</code> that replans paths incrementally (D* Lite) when the walkable attribute of nodes
+ * changes, e.g. because a door was closed or a prop was destroyed.
+ * <p>
+ * The search state is kept per target node, so that all entities that navigate to the same target share it. The nodes
+ * that are changed by {@link AStarGrid#updateWalkable(java.awt.geom.Rectangle2D)} are passed on to the kept search
+ * states. The paths of this instance are repaired while an entity follows them: once the grid has changed, the remaining
+ * path is searched again, which only expands the nodes whose costs to the target are affected by the change instead of
+ * running a full search.
+ * </p>
+ * <p>
+ * The search states of the least recently used targets are discarded once the capacity is exceeded. Changes of the
+ * penalties of nodes are not tracked incrementally; {@link #reset()} needs to be called after penalties were changed.
+ * </p>
+ */
+public class DStarLitePathFinder extends AStarPathFinder implements AStarGridListener {
+  public static final int DEFAULT_CAPACITY = 8;
+
+  private final Map<AStarNode, DStarLite> planners;
+  private int capacity;
+
+  public DStarLitePathFinder(final AStarGrid grid) {
+    super(grid);
+    this.capacity = DEFAULT_CAPACITY;
+    this.planners = new LinkedHashMap<AStarNode, DStarLite>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<AStarNode, DStarLite> eldest) {
+        if (this.size() <= DStarLitePathFinder.this.getCapacity()) {
+          return false;
+        }
+
+        // paths that still refer to the discarded state need to search from scratch when they are repaired
+        eldest.getValue().reset();
+        return true;
+      }
+    };
+
+    this.getGrid().addListener(this);
+  }
+
+  public DStarLitePathFinder(final IMap map) {
+    this(new AStarGrid(map.getSizeInPixels(), map.getTileSize().width));
+  }
+
+  public int getCapacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Sets the maximum number of targets whose search state is kept.
+   *
+   * @param capacity
+   *          The maximum number of kept search states.
+   */
+  public synchronized void setCapacity(final int capacity) {
+    this.capacity = capacity;
+  }
+
+  /**
+   * Discards the search states of all targets, e.g. after the penalties of nodes were changed.
+   */
+  public synchronized void reset() {
+    for (final DStarLite planner : this.planners.values()) {
+      planner.reset();
+    }
+
+    this.planners.clear();
+  }
+
+  @Override
+  public synchronized void walkableChanged(final Collection<AStarNode> nodes) {
+    for (final DStarLite planner : this.planners.values()) {
+      planner.walkableChanged(nodes);
+    }
+  }
+
+  @Override
+  protected Path findAStarPath(AStarNode startNode, AStarNode targetNode) {
+    final DStarLite planner = this.getPlanner(targetNode);
+    final List<AStarNode> nodes = planner.findNodes(startNode);
+    return nodes == null ? null : new DStarLitePath(planner, nodes);
+  }
+
+  private synchronized DStarLite getPlanner(final AStarNode targetNode) {
+    return this.planners.computeIfAbsent(targetNode, node -> new DStarLite(this.getGrid(), node));
+  }
+}
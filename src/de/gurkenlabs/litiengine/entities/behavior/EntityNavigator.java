@@ -3,20 +3,21 @@ package de.gurkenlabs.litiengine.entities.behavior;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.geom.Path2D;
-import java.awt.geom.PathIterator;
 import java.awt.geom.Point2D;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Predicate;
 
 import de.gurkenlabs.litiengine.Game;
-import de.gurkenlabs.litiengine.IUpdateable;
 import de.gurkenlabs.litiengine.entities.EntityMovedEvent;
+import de.gurkenlabs.litiengine.entities.IEntityController;
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.graphics.IRenderable;
+import de.gurkenlabs.litiengine.jfr.PathfindingEvent;
 import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
 
-public class EntityNavigator implements IUpdateable, IRenderable {
+public class EntityNavigator implements IEntityController, IRenderable {
 
   private static final float DEFAULT_ACCEPTABLE_ERROR = 0.3f;
 
@@ -25,9 +26,12 @@ public class EntityNavigator implements IUpdateable, IRenderable {
 
   private final IMobileEntity entity;
   private final PathFinder pathFinder;
+  private final PathRequestQueue pathRequests;
 
   private int currentSegment;
   private Path path;
+  private FlowField flowField;
+  private CompletableFuture<Path> pathRequest;
   private float acceptableError;
 
   /**
@@ -39,10 +43,27 @@ public class EntityNavigator implements IUpdateable, IRenderable {
    *          The pathfinder that is used to navigate the entity
    */
   public EntityNavigator(final IMobileEntity entity, final PathFinder pathFinder) {
+    this(entity, pathFinder, null);
+  }
+
+  /**
+   * Instantiates a new entity navigator that searches its paths asynchronously.
+   * 
+   * @param entity
+   *          The entity that will be navigated by this instance
+   * @param pathRequests
+   *          The queue that searches the paths for {@link #navigateAsync(Point2D)}
+   */
+  public EntityNavigator(final IMobileEntity entity, final PathRequestQueue pathRequests) {
+    this(entity, pathRequests.getPathFinder(), pathRequests);
+  }
+
+  private EntityNavigator(final IMobileEntity entity, final PathFinder pathFinder, final PathRequestQueue pathRequests) {
     this.cancelNavigationConditions = new CopyOnWriteArrayList<>();
     this.listeners = new CopyOnWriteArrayList<>();
     this.entity = entity;
     this.pathFinder = pathFinder;
+    this.pathRequests = pathRequests;
     this.setAcceptableError(DEFAULT_ACCEPTABLE_ERROR);
     Game.loop().attach(this);
   }
@@ -61,6 +82,17 @@ public class EntityNavigator implements IUpdateable, IRenderable {
     }
   }
 
+  @Override
+  public void attach() {
+    Game.loop().attach(this);
+  }
+
+  @Override
+  public void detach() {
+    Game.loop().detach(this);
+  }
+
+  @Override
   public IMobileEntity getEntity() {
     return this.entity;
   }
@@ -69,31 +101,111 @@ public class EntityNavigator implements IUpdateable, IRenderable {
     return this.path;
   }
 
+  public FlowField getFlowField() {
+    return this.flowField;
+  }
+
   public PathFinder getPathFinder() {
     return this.pathFinder;
   }
 
+  public PathRequestQueue getPathRequestQueue() {
+    return this.pathRequests;
+  }
+
   public float getAcceptableError() {
     return this.acceptableError;
   }
 
   public boolean isNavigating() {
-    return this.path != null;
+    return this.path != null || this.flowField != null;
   }
 
   public boolean navigate(final Path2D path) {
+    this.cancelPathRequest();
+    this.flowField = null;
     this.path = new Path(path);
     return this.path != null;
   }
 
+  /**
+   * Navigates the entity along the specified flow field instead of a path of its own. The entity keeps navigating when it
+   * reaches the target of the field, so that it follows the field again once the target moves.
+   *
+   * @param flowField
+   *          The flow field to follow.
+   * @return True if the target of the field can currently be reached from the location of the entity; otherwise false.
+   * @see FlowFieldPathFinder
+   */
+  public boolean navigate(final FlowField flowField) {
+    this.cancelPathRequest();
+    this.currentSegment = 0;
+    this.path = null;
+    this.flowField = flowField;
+
+    final AStarNode node = flowField.getGrid().getNode(this.entity.getCollisionBoxCenter());
+    return node != null && (node == flowField.getTarget() || flowField.getNext(node) != null);
+  }
+
   public boolean navigate(final Point2D target) {
+    this.cancelPathRequest();
+    this.flowField = null;
     if (this.getPathFinder() != null) {
+      final PathfindingEvent event = new PathfindingEvent();
+      event.begin();
       this.path = this.getPathFinder().findPath(this.entity, target);
+      event.end();
+      if (event.shouldCommit()) {
+        event.setPathFinder(this.getPathFinder().getClass());
+        event.setEntity(this.entity.getName());
+        event.setStart(this.entity.getX(), this.entity.getY());
+        event.setTarget(target.getX(), target.getY());
+        event.setPathFound(this.path != null);
+        event.setWaypoints(this.path != null ? this.path.getPoints().size() : 0);
+        event.commit();
+      }
     }
 
     return this.path != null;
   }
 
+  /**
+   * Requests a path to the specified target from the {@link PathRequestQueue} of this instance and navigates the entity
+   * along it once it has been found. Until then, the entity keeps following its previous path. If this instance has no
+   * queue, the path is searched right away.
+   * 
+   * @param target
+   *          The target to navigate to.
+   * @return A future that is completed with the found path, or with null if the target cannot be reached. It is cancelled
+   *         if this instance stops or navigates somewhere else before the path has been found.
+   */
+  public CompletableFuture<Path> navigateAsync(final Point2D target) {
+    if (this.pathRequests == null) {
+      this.navigate(target);
+      return CompletableFuture.completedFuture(this.path);
+    }
+
+    final CompletableFuture<Path> request = this.pathRequests.request(this.entity, target);
+    if (request == this.pathRequest) {
+      return request;
+    }
+
+    this.cancelPathRequest();
+    this.pathRequest = request;
+    request.thenAccept(foundPath -> {
+      if (this.pathRequest != request) {
+        return;
+      }
+
+      this.pathRequest = null;
+      this.flowField = null;
+      this.currentSegment = 0;
+      this.path = foundPath;
+    });
+
+    return request;
+  }
+
   @Override
   public void render(Graphics2D g) {
     if (this.getPath() == null) {
@@ -114,8 +226,10 @@ public class EntityNavigator implements IUpdateable, IRenderable {
   }
 
   public void stop() {
+    this.cancelPathRequest();
     this.currentSegment = 0;
     this.path = null;
+    this.flowField = null;
 
     for (NavigationListener listener : this.listeners) {
       listener.stopped();
@@ -128,10 +242,6 @@ public class EntityNavigator implements IUpdateable, IRenderable {
       return;
     }
 
-    if (this.path == null) {
-      return;
-    }
-
     for (final Predicate<IMobileEntity> pred : this.cancelNavigationConditions) {
       if (pred.test(this.getEntity())) {
         this.stop();
@@ -139,41 +249,68 @@ public class EntityNavigator implements IUpdateable, IRenderable {
       }
     }
 
-    final PathIterator pi = this.path.getPath().getPathIterator(null);
-    if (pi.isDone()) {
+    if (this.flowField != null) {
+      this.followFlowField();
+      return;
+    }
+
+    // make sure that lazily refined paths contain the segment that is approached next
+    final int nextSegment = this.currentSegment + 1;
+    this.path.refine(nextSegment);
+    if (nextSegment >= this.path.getWaypointCount()) {
       this.stop();
       return;
     }
 
-    // although at max 6 elements are returned, sometimes the path
-    // implementation tries to access index 20 ... don't know why, but this
-    // prevents it
-    final double[] startCoordinates = new double[22];
-    final double[] coordinates = new double[22];
-    for (int i = 0; i <= this.currentSegment; i++) {
-      if (pi.isDone()) {
-        this.stop();
-        return;
-      }
+    final double x = this.path.getWaypointX(nextSegment);
+    final double y = this.path.getWaypointY(nextSegment);
+    final double distance = GeometricUtilities.distance(this.entity.getCollisionBox().getCenterX(), this.entity.getCollisionBox().getCenterY(), x, y);
+    if (distance < this.getAcceptableError()) {
+      ++this.currentSegment;
+      return;
+    }
 
-      pi.currentSegment(startCoordinates);
-      pi.next();
+    this.moveTowards(x, y, distance);
+  }
+
+  private void cancelPathRequest() {
+    if (this.pathRequest != null) {
+      this.pathRequest.cancel(false);
+      this.pathRequest = null;
     }
+  }
 
-    if (pi.isDone()) {
+  private void followFlowField() {
+    final AStarNode node = this.flowField.getGrid().getNode(this.entity.getCollisionBoxCenter());
+    if (node == null) {
       this.stop();
       return;
     }
 
-    pi.currentSegment(coordinates);
+    final AStarNode next = this.flowField.getNext(node);
+    if (next == null && node != this.flowField.getTarget()) {
+      if (this.flowField.isRefreshing()) {
+        // the outdated costs don't lead any further, so the entity waits until the refresh is complete
+        return;
+      }
+
+      // the target cannot be reached from the current node
+      this.stop();
+      return;
+    }
 
-    final double distance = GeometricUtilities.distance(this.entity.getCollisionBox().getCenterX(), this.entity.getCollisionBox().getCenterY(), coordinates[0], coordinates[1]);
+    // once the target node is reached, the entity approaches its center and waits for the target to move on
+    final Point2D waypoint = next != null ? next.getLocation() : node.getLocation();
+    final double distance = GeometricUtilities.distance(this.entity.getCollisionBox().getCenterX(), this.entity.getCollisionBox().getCenterY(), waypoint.getX(), waypoint.getY());
     if (distance < this.getAcceptableError()) {
-      ++this.currentSegment;
       return;
     }
 
-    final double angle = GeometricUtilities.calcRotationAngleInDegrees(this.entity.getCollisionBox().getCenterX(), this.entity.getCollisionBox().getCenterY(), coordinates[0], coordinates[1]);
+    this.moveTowards(waypoint.getX(), waypoint.getY(), distance);
+  }
+
+  private void moveTowards(final double x, final double y, final double distance) {
+    final double angle = GeometricUtilities.calcRotationAngleInDegrees(this.entity.getCollisionBox().getCenterX(), this.entity.getCollisionBox().getCenterY(), x, y);
     final float pixelsPerTick = this.entity.getTickVelocity();
     final Point2D oldLocation = this.getEntity().getLocation();
     Game.physics().move(this.entity, (float) angle, (float) (distance < pixelsPerTick ? distance : pixelsPerTick));
@@ -0,0 +1,278 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.util.Arrays;
+
+import de.gurkenlabs.litiengine.IUpdateable;
+
+/**
+ * A flow field holds the costs of the cheapest path from every node of an {@link AStarGrid} to a common target node.
+ * <p>
+ * The field is computed by a single Dijkstra search that starts at the target. Afterwards, any number of entities can
+ * navigate towards the target by moving to the neighbor with the lowest costs of the node they are currently on,
+ * without searching a path of their own. This makes flow fields the better choice when many entities share the same
+ * destination, e.g. a crowd that chases the player.
+ * </p>
+ * <p>
+ * When the target changes, the field is recomputed over the subsequent calls of {@link #update()}, where each call only
+ * expands a limited number of nodes. Until the new field is complete, the costs of the previous target are used, so
+ * that entities which follow the field don't stop in the meantime. A target that changes while the field is refreshing
+ * is only computed once the current refresh is complete. Otherwise, a target that moves to another node faster than the
+ * field can be computed would restart the computation over and over again and the field would never be completed.
+ * </p>
+ * <p>
+ * A field is meant to be updated by a single thread, usually the loop it is attached to. Its costs can be read from any
+ * thread, since the costs of a completed field are only replaced as a whole.
+ * </p>
+ *
+ * @see FlowFieldPathFinder
+ * @see EntityNavigator#navigate(FlowField)
+ */
+public class FlowField implements IUpdateable {
+  public static final int DEFAULT_NODES_PER_UPDATE = 4096;
+
+  private static final ThreadLocal<AStarNode[]> NEXT_NEIGHBORS = ThreadLocal.withInitial(() -> new AStarNode[AStarGrid.MAX_NEIGHBORS]);
+
+  private final AStarGrid grid;
+  private final AStarNode[][] nodes;
+  private final int height;
+
+  private final NodeHeap heap;
+  private final AStarNode[] neighbors = new AStarNode[AStarGrid.MAX_NEIGHBORS];
+
+  // the costs of the completed field are swapped with the costs that are currently computed once the computation is done
+  private volatile double[] costs;
+  private double[] pendingCosts;
+
+  private volatile AStarNode target;
+  private AStarNode pendingTarget;
+  private AStarNode queuedTarget;
+  private boolean outdated;
+  private boolean refreshing;
+  private int nodesPerUpdate;
+
+  /**
+   * Instantiates a new flow field and computes its costs for the specified target right away.
+   *
+   * @param grid
+   *          The grid on which the field is computed.
+   * @param target
+   *          The node towards which the field leads; it may also be a node that is not walkable.
+   */
+  public FlowField(final AStarGrid grid, final AStarNode target) {
+    this.grid = grid;
+    this.nodes = grid.getGrid();
+    this.height = this.nodes.length == 0 ? 0 : this.nodes[0].length;
+
+    final int capacity = this.nodes.length * this.height;
+    this.heap = new NodeHeap(capacity);
+    this.costs = new double[capacity];
+    this.pendingCosts = new double[capacity];
+    this.nodesPerUpdate = DEFAULT_NODES_PER_UPDATE;
+
+    this.setTarget(target);
+    this.expand(Integer.MAX_VALUE);
+  }
+
+  public AStarGrid getGrid() {
+    return this.grid;
+  }
+
+  /**
+   * Gets the target of the field whose costs are currently used. While the field is refreshing, this is the previous
+   * target.
+   *
+   * @return The current target node of this field.
+   */
+  public AStarNode getTarget() {
+    return this.target;
+  }
+
+  public int getNodesPerUpdate() {
+    return this.nodesPerUpdate;
+  }
+
+  /**
+   * Determines whether a new field is currently computed because the target or the grid has changed.
+   *
+   * @return True if the field is refreshing; otherwise false.
+   */
+  public boolean isRefreshing() {
+    return this.refreshing;
+  }
+
+  /**
+   * Gets the costs of the cheapest path from the specified node to the target.
+   *
+   * @param node
+   *          The node of the grid.
+   * @return The costs of the path or {@link Double#POSITIVE_INFINITY} if the target cannot be reached from the node.
+   */
+  public double getCosts(final AStarNode node) {
+    return this.costs[this.getIndex(node)];
+  }
+
+  public boolean isReachable(final AStarNode node) {
+    return this.getCosts(node) != Double.POSITIVE_INFINITY;
+  }
+
+  /**
+   * Gets the neighbor of the specified node to which an entity should move in order to approach the target.
+   *
+   * @param node
+   *          The node on which the entity is currently located.
+   * @return The next node on the cheapest path to the target or null if the specified node is the target or if the
+   *         target cannot be reached from it. While the field is refreshing, the costs might not reflect the current
+   *         grid anymore, in which case null is also returned if no neighbor is closer to the target than the node
+   *         itself. Following this method therefore never leads back to a node that was already visited.
+   */
+  public AStarNode getNext(final AStarNode node) {
+    final double[] currentCosts = this.costs;
+    if (node == this.target) {
+      return null;
+    }
+
+    AStarNode next = null;
+    double lowestCosts = Double.POSITIVE_INFINITY;
+    final AStarNode[] nodeNeighbors = NEXT_NEIGHBORS.get();
+    final int count = this.grid.getNeighbors(node.getGridX(), node.getGridY(), nodeNeighbors);
+    for (int i = 0; i < count; i++) {
+      final AStarNode neighbor = nodeNeighbors[i];
+      final double neighborCosts = node.getCosts(neighbor) + currentCosts[this.getIndex(neighbor)];
+      if (neighborCosts < lowestCosts) {
+        lowestCosts = neighborCosts;
+        next = neighbor;
+      }
+    }
+
+    if (next == null || currentCosts[this.getIndex(next)] >= currentCosts[this.getIndex(node)]) {
+      return null;
+    }
+
+    return next;
+  }
+
+  /**
+   * Sets the maximum number of nodes that are expanded per update while the field is refreshing.
+   *
+   * @param nodesPerUpdate
+   *          The number of nodes per update.
+   */
+  public void setNodesPerUpdate(final int nodesPerUpdate) {
+    if (nodesPerUpdate <= 0) {
+      throw new IllegalArgumentException("The number of nodes per update must be positive.");
+    }
+
+    this.nodesPerUpdate = nodesPerUpdate;
+  }
+
+  /**
+   * Starts to compute the field for the specified target. Nothing happens if the field already leads to the target. If
+   * the field is currently refreshing, the new target is computed once the current refresh is complete.
+   *
+   * @param target
+   *          The new target node of this field.
+   */
+  public void setTarget(final AStarNode target) {
+    if (this.refreshing) {
+      this.queuedTarget = target == this.pendingTarget && !this.outdated ? null : target;
+      return;
+    }
+
+    if (target != this.target) {
+      this.restart(target);
+    }
+  }
+
+  /**
+   * Starts to recompute the field for its current target, e.g. after the walkable attribute or the penalty of nodes has
+   * changed. If the field is currently refreshing, it is recomputed once the current refresh is complete.
+   */
+  public void refresh() {
+    if (!this.refreshing) {
+      this.restart(this.target);
+      return;
+    }
+
+    // the costs that are currently computed might already be outdated
+    this.outdated = true;
+    if (this.queuedTarget == null) {
+      this.queuedTarget = this.pendingTarget;
+    }
+  }
+
+  /**
+   * Completes the current refresh of this field, including a subsequent refresh for a target that was set in the
+   * meantime, without waiting for the next updates.
+   */
+  public void complete() {
+    while (this.refreshing) {
+      this.expand(Integer.MAX_VALUE);
+    }
+  }
+
+  @Override
+  public void update() {
+    if (this.refreshing) {
+      this.expand(this.nodesPerUpdate);
+    }
+  }
+
+  private void restart(final AStarNode newTarget) {
+    Arrays.fill(this.pendingCosts, Double.POSITIVE_INFINITY);
+    this.heap.clear();
+
+    final int index = this.getIndex(newTarget);
+    this.pendingCosts[index] = 0;
+    this.heap.update(index, 0, 0);
+    this.pendingTarget = newTarget;
+    this.outdated = false;
+    this.refreshing = true;
+  }
+
+  /**
+   * Expands the nodes with the lowest costs, starting at the target. Since paths lead towards the target, the costs of a
+   * neighbor are those of moving from the neighbor to the expanded node.
+   */
+  private void expand(final int maxNodes) {
+    for (int expanded = 0; expanded < maxNodes && !this.heap.isEmpty(); expanded++) {
+      final int current = this.heap.poll();
+      final AStarNode currentNode = this.getNode(current);
+      final int count = this.grid.getNeighbors(currentNode.getGridX(), currentNode.getGridY(), this.neighbors);
+      for (int i = 0; i < count; i++) {
+        final AStarNode neighbor = this.neighbors[i];
+        if (!neighbor.isWalkable()) {
+          continue;
+        }
+
+        final int index = this.getIndex(neighbor);
+        final double neighborCosts = this.pendingCosts[current] + neighbor.getCosts(currentNode);
+        if (neighborCosts < this.pendingCosts[index]) {
+          this.pendingCosts[index] = neighborCosts;
+          this.heap.update(index, neighborCosts, 0);
+        }
+      }
+    }
+
+    if (this.heap.isEmpty()) {
+      final double[] completedCosts = this.pendingCosts;
+      this.pendingCosts = this.costs;
+      this.costs = completedCosts;
+      this.target = this.pendingTarget;
+      this.refreshing = false;
+
+      final AStarNode nextTarget = this.queuedTarget;
+      if (nextTarget != null) {
+        this.queuedTarget = null;
+        this.restart(nextTarget);
+      }
+    }
+  }
+
+  private int getIndex(final AStarNode node) {
+    return node.getGridX() * this.height + node.getGridY();
+  }
+
+  private AStarNode getNode(final int index) {
+    return this.nodes[index / this.height][index % this.height];
+  }
+}
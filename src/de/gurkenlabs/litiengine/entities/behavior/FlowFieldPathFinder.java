@@ -0,0 +1,213 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.awt.Point;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.entities.IMobileEntity;
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+
+/**
+ * A <code>PathFinder</code> that provides one {@link FlowField} per target node instead of searching a path for every
+ * entity.
+ * <p>
+ * The fields for fixed targets are cached, whereas the least recently used field is discarded once the capacity of the
+ * cache is exceeded. Additionally, a field can be bound to an entity, e.g. the player, in which case it follows the
+ * entity whenever it moves to another node of the grid. All fields are refreshed when the walkable attribute of the
+ * grid's nodes changes.
+ * </p>
+ * <p>
+ * In order to keep the fields up to date, this instance needs to be attached to a loop, e.g. by calling
+ * <code>Game.loop().attach(pathFinder)</code>. Entities can then follow a field by calling
+ * {@link EntityNavigator#navigate(FlowField)}.
+ * </p>
+ */
+public class FlowFieldPathFinder extends PathFinder implements IUpdateable, AStarGridListener {
+  public static final int DEFAULT_CAPACITY = 8;
+
+  private final AStarGrid grid;
+  private final Map<AStarNode, FlowField> fields;
+  private final Map<IEntity, FlowField> entityFields;
+  private int capacity;
+
+  public FlowFieldPathFinder(final AStarGrid grid) {
+    this.grid = grid;
+    this.capacity = DEFAULT_CAPACITY;
+    this.fields = new LinkedHashMap<AStarNode, FlowField>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<AStarNode, FlowField> eldest) {
+        return this.size() > FlowFieldPathFinder.this.getCapacity();
+      }
+    };
+
+    this.entityFields = new HashMap<>();
+    this.grid.addListener(this);
+  }
+
+  public FlowFieldPathFinder(final IMap map) {
+    this(new AStarGrid(map.getSizeInPixels(), map.getTileSize().width));
+  }
+
+  public AStarGrid getGrid() {
+    return this.grid;
+  }
+
+  public int getCapacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Sets the maximum number of cached fields for fixed targets. Fields that are bound to an entity don't count towards
+   * this capacity.
+   *
+   * @param capacity
+   *          The maximum number of cached fields.
+   */
+  public synchronized void setCapacity(final int capacity) {
+    this.capacity = capacity;
+  }
+
+  /**
+   * Gets the field that leads to the node of the specified location. The field is computed if it's not cached yet.
+   *
+   * @param target
+   *          The target location.
+   * @return The flow field for the target or null if the location is not on the grid.
+   */
+  public FlowField getFlowField(final Point2D target) {
+    final AStarNode targetNode = this.getGrid().getNode(target);
+    return targetNode == null ? null : this.getFlowField(targetNode);
+  }
+
+  /**
+   * Gets the field that follows the specified entity. The field is computed if it doesn't exist yet and is updated
+   * whenever the center of the entity moves to another node.
+   *
+   * @param entity
+   *          The entity that is the target of the field.
+   * @return The flow field for the entity or null if the entity is not located on the grid.
+   * @see #removeFlowField(IEntity)
+   */
+  public synchronized FlowField getFlowField(final IEntity entity) {
+    final FlowField field = this.entityFields.get(entity);
+    if (field != null) {
+      return field;
+    }
+
+    final AStarNode targetNode = this.getGrid().getNode(entity.getCenter());
+    if (targetNode == null) {
+      return null;
+    }
+
+    final FlowField newField = new FlowField(this.getGrid(), targetNode);
+    this.entityFields.put(entity, newField);
+    return newField;
+  }
+
+  /**
+   * Removes the field that follows the specified entity.
+   *
+   * @param entity
+   *          The entity that is the target of the field.
+   */
+  public synchronized void removeFlowField(final IEntity entity) {
+    this.entityFields.remove(entity);
+  }
+
+  /**
+   * Gets a path along the flow field of the target. If the field isn't cached, this is considerably more expensive than a
+   * single A* search, so this method should only be used for targets that are shared by many entities. A field that is
+   * currently refreshing is completed first.
+   */
+  @Override
+  public Path findPath(final IMobileEntity entity, final Point2D target) {
+    // if there is no collision between the start and the target return a direct
+    // path
+    final Point2D startLocation = this.getStartLocation(entity);
+    if (!this.intersectsWithAnyCollisionBox(entity, startLocation, target)) {
+      return this.findDirectPath(startLocation, target);
+    }
+
+    final AStarNode startNode = this.getGrid().getNode(startLocation);
+    final AStarNode targetNode = this.getGrid().getNode(target);
+    if (startNode == null || targetNode == null || startNode.equals(targetNode)) {
+      return null;
+    }
+
+    final FlowField field;
+    synchronized (this) {
+      // the costs of a refreshing field might still lead over nodes that are no longer walkable
+      field = this.getFlowField(targetNode);
+      field.complete();
+    }
+
+    if (!field.isReachable(startNode)) {
+      return null;
+    }
+
+    // the costs strictly decrease along the nodes returned by the field, so this walk always ends
+    final List<Point2D> pointsOfPath = new ArrayList<>();
+    AStarNode current = field.getNext(startNode);
+    while (current != null && current != targetNode) {
+      pointsOfPath.add(current.getLocation());
+      current = field.getNext(current);
+    }
+
+    if (current == null) {
+      return null;
+    }
+
+    final Point startPoint = startNode.getLocation();
+    final Point targetPoint = targetNode.getLocation();
+    final Path2D path2D = new GeneralPath(Path2D.WIND_NON_ZERO);
+    path2D.moveTo(startPoint.x, startPoint.y);
+    for (final Point2D point : pointsOfPath) {
+      path2D.lineTo(point.getX(), point.getY());
+    }
+
+    path2D.lineTo(targetPoint.x, targetPoint.y);
+    return new Path(startPoint, targetPoint, path2D, pointsOfPath);
+  }
+
+  @Override
+  public synchronized void update() {
+    for (final Map.Entry<IEntity, FlowField> entry : this.entityFields.entrySet()) {
+      final AStarNode targetNode = this.getGrid().getNode(entry.getKey().getCenter());
+      if (targetNode != null) {
+        entry.getValue().setTarget(targetNode);
+      }
+
+      entry.getValue().update();
+    }
+
+    for (final FlowField field : this.fields.values()) {
+      field.update();
+    }
+  }
+
+  @Override
+  public synchronized void walkableChanged(final Collection<AStarNode> nodes) {
+    for (final FlowField field : this.entityFields.values()) {
+      field.refresh();
+    }
+
+    for (final FlowField field : this.fields.values()) {
+      field.refresh();
+    }
+  }
+
+  private synchronized FlowField getFlowField(final AStarNode targetNode) {
+    return this.fields.computeIfAbsent(targetNode, node -> new FlowField(this.getGrid(), node));
+  }
+}
@@ -0,0 +1,84 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.awt.Point;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A path of the {@link HierarchicalPathFinder} that is refined lazily.
+ * <p>
+ * The path is known on the abstract graph of the path finder, i.e. as a sequence of waypoints where each two subsequent
+ * waypoints are within the same or within adjacent clusters. Only the first segments between these waypoints are
+ * searched on the grid when the path is created; the remaining ones are searched once an entity approaches them.
+ * </p>
+ * <p>
+ * If the grid changed in a way that a remaining segment can no longer be refined, the path ends at the last refined
+ * waypoint.
+ * </p>
+ */
+final class HierarchicalPath extends Path {
+  private static final int INITIALLY_REFINED_WAYPOINTS = 2;
+
+  private final ClusterGraph graph;
+  private final List<AStarNode> waypoints;
+  private final List<Point2D> points;
+
+  private int refinedWaypoints;
+
+  HierarchicalPath(final ClusterGraph graph, final List<AStarNode> waypoints) {
+    this(graph, waypoints, new GeneralPath(Path2D.WIND_NON_ZERO), new ArrayList<>());
+  }
+
+  private HierarchicalPath(final ClusterGraph graph, final List<AStarNode> waypoints, final Path2D path2D, final List<Point2D> points) {
+    super(waypoints.get(0).getLocation(), waypoints.get(waypoints.size() - 1).getLocation(), path2D, points);
+    this.graph = graph;
+    this.waypoints = waypoints;
+    this.points = points;
+
+    this.addWaypoint(this.getStart().getX(), this.getStart().getY());
+    for (int i = 0; i < INITIALLY_REFINED_WAYPOINTS && !this.isRefined(); i++) {
+      this.refineNextWaypoint();
+    }
+
+    this.publishWaypoints();
+  }
+
+  @Override
+  protected synchronized void refine(int segment) {
+    if (this.getWaypointCount() > segment || this.isRefined()) {
+      return;
+    }
+
+    while (this.getWaypointCount() <= segment && !this.isRefined()) {
+      this.refineNextWaypoint();
+    }
+
+    this.publishWaypoints();
+  }
+
+  private boolean isRefined() {
+    return this.refinedWaypoints == this.waypoints.size() - 1;
+  }
+
+  private void refineNextWaypoint() {
+    final List<AStarNode> nodes = this.graph.refine(this.waypoints.get(this.refinedWaypoints), this.waypoints.get(this.refinedWaypoints + 1));
+    if (nodes == null) {
+      this.refinedWaypoints = this.waypoints.size() - 1;
+      return;
+    }
+
+    this.refinedWaypoints++;
+    for (int i = 0; i < nodes.size(); i++) {
+      final Point location = nodes.get(i).getLocation();
+      this.addWaypoint(location.x, location.y);
+
+      // like for other paths, the points only contain the nodes between the start and the target
+      if (!this.isRefined() || i < nodes.size() - 1) {
+        this.points.add(location);
+      }
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.util.List;
+
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+
+/**
+ * An <code>AStarPathFinder</code> for large maps that searches paths on an abstract graph first (HPA*).
+ * <p>
+ * The grid is partitioned into square clusters of nodes. When this instance is created, it determines the entrances
+ * between adjacent clusters and the costs of moving between the entrances of each cluster. A path is then searched on
+ * the graph of these entrances, which only has a fraction of the nodes of the grid. The resulting path is refined on the
+ * grid segment by segment while an entity follows it, where each refinement only searches the nodes of one or two
+ * clusters.
+ * </p>
+ * <p>
+ * The abstract graph is updated locally whenever {@link AStarGrid#updateWalkable(java.awt.geom.Rectangle2D)} changes
+ * the walkable attribute of nodes. Paths within the same or adjacent clusters are searched directly on the grid. Note that
+ * the found paths are close to, but not necessarily exactly the paths with the lowest costs.
+ * </p>
+ */
+public class HierarchicalPathFinder extends AStarPathFinder {
+  public static final int DEFAULT_CLUSTER_SIZE = 16;
+
+  private final ClusterGraph graph;
+
+  public HierarchicalPathFinder(AStarGrid grid) {
+    this(grid, DEFAULT_CLUSTER_SIZE);
+  }
+
+  /**
+   * Instantiates a new path finder and builds the abstract graph for the specified grid.
+   *
+   * @param grid
+   *          The grid to search paths on.
+   * @param clusterSize
+   *          The width and height of the clusters in nodes.
+   */
+  public HierarchicalPathFinder(AStarGrid grid, int clusterSize) {
+    super(grid);
+    this.graph = new ClusterGraph(grid, clusterSize);
+  }
+
+  public HierarchicalPathFinder(final IMap map) {
+    super(map);
+    this.graph = new ClusterGraph(this.getGrid(), DEFAULT_CLUSTER_SIZE);
+  }
+
+  public int getClusterSize() {
+    return this.graph.getClusterSize();
+  }
+
+  @Override
+  protected Path findAStarPath(AStarNode startNode, AStarNode targetNode) {
+    // the abstract graph only pays off if the nodes are further apart; if the target cannot be reached locally, there
+    // still might be a path through other clusters
+    final Path path = this.graph.findLocalPath(startNode, targetNode);
+    if (path != null) {
+      return path;
+    }
+
+    final List<AStarNode> waypoints = this.graph.findAbstractPath(startNode, targetNode);
+    return waypoints == null ? null : new HierarchicalPath(this.graph, waypoints);
+  }
+}
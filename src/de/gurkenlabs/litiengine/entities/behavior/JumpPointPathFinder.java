@@ -0,0 +1,80 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.awt.Dimension;
+
+import de.gurkenlabs.litiengine.environment.tilemap.IMap;
+
+/**
+ * An <code>AStarPathFinder</code> that uses Jump Point Search on grids with uniform costs. Instead of opening every
+ * neighbor of an expanded node, it jumps along straight and diagonal lines and only opens the nodes at which the
+ * direction of an optimal path can change. On open maps, this expands orders of magnitude fewer nodes than A* while
+ * still finding a path with the lowest costs.
+ * <p>
+ * Jump Point Search is used as long as all walkable nodes of the grid have the same penalty or if penalties are ignored
+ * by this instance. Otherwise, this instance falls back to the A* search of its base class. Both the
+ * {@link AStarGrid#isDiagonalMovementAllowed()} and the {@link AStarGrid#isDiagonalCornerMovementAllowed()} settings of
+ * the grid are respected.
+ * </p>
+ * <p>
+ * The found paths only contain the jump points as waypoints. All nodes between two subsequent waypoints lie on a
+ * straight or diagonal line.
+ * </p>
+ *
+ * @see AStarGrid#hasUniformPenalty()
+ */
+public class JumpPointPathFinder extends AStarPathFinder {
+  private final SearchPool<JumpPointSearch> jumpPointSearches = new SearchPool<>(() -> new JumpPointSearch(this.getGrid()));
+  private boolean ignorePenalties;
+
+  public JumpPointPathFinder(AStarGrid grid) {
+    super(grid);
+  }
+
+  public JumpPointPathFinder(Dimension size, int gridNodeSize) {
+    super(size, gridNodeSize);
+  }
+
+  public JumpPointPathFinder(final IMap map, final int gridNodeSize) {
+    super(map, gridNodeSize);
+  }
+
+  public JumpPointPathFinder(final IMap map) {
+    super(map);
+  }
+
+  /**
+   * Determines whether this instance ignores the penalties of the grid's nodes and therefore always uses Jump Point
+   * Search.
+   *
+   * @return True if the penalties are ignored; otherwise false.
+   */
+  public boolean isIgnoringPenalties() {
+    return this.ignorePenalties;
+  }
+
+  /**
+   * Sets whether this instance should ignore the penalties of the grid's nodes. If penalties are ignored, Jump Point
+   * Search is also used on grids with different penalties and the found paths no longer avoid penalized nodes.
+   *
+   * @param ignorePenalties
+   *          True if the penalties should be ignored; otherwise false.
+   */
+  public void setIgnorePenalties(boolean ignorePenalties) {
+    this.ignorePenalties = ignorePenalties;
+  }
+
+  @Override
+  protected Path findAStarPath(AStarNode startNode, AStarNode targetNode) {
+    final double penalty = this.isIgnoringPenalties() ? 0 : this.getGrid().getUniformPenalty();
+    if (Double.isNaN(penalty)) {
+      return super.findAStarPath(startNode, targetNode);
+    }
+
+    final JumpPointSearch search = this.jumpPointSearches.obtain();
+    try {
+      return search.findPath(startNode, targetNode, penalty);
+    } finally {
+      this.jumpPointSearches.free(search);
+    }
+  }
+}
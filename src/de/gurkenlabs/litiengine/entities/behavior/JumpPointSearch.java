@@ -0,0 +1,369 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+/**
+ * The state of a single Jump Point Search on an {@link AStarGrid}.
+ * <p>
+ * Instead of opening all neighbors of an expanded node, the search only considers the neighbors that cannot be reached
+ * on an equally short path without passing the expanded node and then jumps along their direction until it reaches a
+ * node with a forced neighbor or the target. Only these jump points are opened, which reduces the number of heap
+ * operations on open areas by orders of magnitude. This is only correct as long as the costs of moving between two
+ * nodes depend on nothing but their distance, which is why all nodes are expected to share the same penalty.
+ * </p>
+ * <p>
+ * The pruning rules depend on the movement that is allowed on the grid:
+ * </p>
+ * <ul>
+ * <li>no diagonal movement</li>
+ * <li>diagonal movement that may cut corners of non-walkable nodes</li>
+ * <li>diagonal movement that is only allowed when both adjacent nodes are walkable</li>
+ * </ul>
+ * The resulting paths only contain the jump points. All nodes between two subsequent jump points lie on a straight or
+ * diagonal line and are walkable.
+ *
+ * @see JumpPointPathFinder
+ */
+final class JumpPointSearch extends AStarSearch {
+  private final AStarNode[][] nodes;
+  private final int width;
+  private final int height;
+
+  private final AStarNode[] neighbors = new AStarNode[AStarGrid.MAX_NEIGHBORS];
+  private final int[] neighborX = new int[AStarGrid.MAX_NEIGHBORS];
+  private final int[] neighborY = new int[AStarGrid.MAX_NEIGHBORS];
+
+  private double penalty;
+  private boolean diagonalMovement;
+  private boolean cuttingCorners;
+  private int targetX;
+  private int targetY;
+
+  JumpPointSearch(final AStarGrid grid) {
+    super(grid);
+    this.nodes = grid.getGrid();
+    this.width = this.nodes.length;
+    this.height = this.width == 0 ? 0 : this.nodes[0].length;
+  }
+
+  /**
+   * Searches the path with the lowest costs between the specified nodes.
+   *
+   * @param startNode
+   *          The start node for the path.
+   * @param targetNode
+   *          The target node for the path.
+   * @param penalty
+   *          The penalty that is shared by all nodes and applied for every step of the path.
+   * @return The found {@link Path} or null if the target cannot be reached.
+   */
+  Path findPath(final AStarNode startNode, final AStarNode targetNode, final double penalty) {
+    this.penalty = penalty;
+    this.diagonalMovement = this.getGrid().isDiagonalMovementAllowed();
+    this.cuttingCorners = this.getGrid().isDiagonalCornerMovementAllowed();
+    this.targetX = targetNode.getGridX();
+    this.targetY = targetNode.getGridY();
+    return this.findPath(startNode, targetNode);
+  }
+
+  @Override
+  void updateAndOpenNeighborNodes(final int current, final AStarNode targetNode) {
+    final AStarNode currentNode = this.getNode(current);
+    final int x = currentNode.getGridX();
+    final int y = currentNode.getGridY();
+
+    final int count = this.findNeighbors(x, y, this.getPredecessor(current));
+    for (int i = 0; i < count; i++) {
+      final int jumpPoint = this.jump(this.neighborX[i], this.neighborY[i], this.neighborX[i] - x, this.neighborY[i] - y);
+      if (jumpPoint == -1) {
+        continue;
+      }
+
+      final AStarNode jumpPointNode = this.getNode(jumpPoint);
+      this.open(jumpPoint, current, this.getGCost(current) + this.getCosts(currentNode, jumpPointNode), this.getCosts(jumpPointNode, targetNode));
+    }
+  }
+
+  /**
+   * Gets the costs for moving between the specified nodes which equal the octile distance between them plus the penalty
+   * for every step.
+   */
+  private double getCosts(final AStarNode node, final AStarNode target) {
+    final int dstX = Math.abs(node.getGridX() - target.getGridX());
+    final int dstY = Math.abs(node.getGridY() - target.getGridY());
+    final int diagonalSteps = Math.min(dstX, dstY);
+    final int steps = Math.max(dstX, dstY);
+    return AStarNode.DIAGONAL_COST * diagonalSteps + (steps - diagonalSteps) + steps * this.penalty;
+  }
+
+  /**
+   * Finds the neighbors of the specified node that need to be considered when it is reached from its predecessor. The
+   * coordinates of the neighbors are written to the neighbor arrays of this instance.
+   *
+   * @return The number of found neighbors.
+   */
+  private int findNeighbors(final int x, final int y, final int predecessor) {
+    if (predecessor == -1) {
+      // the start node has no direction, so all its neighbors are considered
+      final int count = this.getGrid().getNeighbors(x, y, this.neighbors);
+      for (int i = 0; i < count; i++) {
+        this.neighborX[i] = this.neighbors[i].getGridX();
+        this.neighborY[i] = this.neighbors[i].getGridY();
+      }
+
+      return count;
+    }
+
+    final AStarNode predecessorNode = this.getNode(predecessor);
+    final int dx = Integer.signum(x - predecessorNode.getGridX());
+    final int dy = Integer.signum(y - predecessorNode.getGridY());
+
+    if (!this.diagonalMovement) {
+      return this.findOrthogonalNeighbors(x, y, dx, dy);
+    }
+
+    if (this.cuttingCorners) {
+      return this.findNeighborsCuttingCorners(x, y, dx, dy);
+    }
+
+    return this.findNeighborsAvoidingCorners(x, y, dx, dy);
+  }
+
+  private int findOrthogonalNeighbors(final int x, final int y, final int dx, final int dy) {
+    int count = 0;
+    if (dx != 0) {
+      count = this.addWalkableNeighbor(count, x, y - 1);
+      count = this.addWalkableNeighbor(count, x, y + 1);
+      count = this.addWalkableNeighbor(count, x + dx, y);
+    } else {
+      count = this.addWalkableNeighbor(count, x - 1, y);
+      count = this.addWalkableNeighbor(count, x + 1, y);
+      count = this.addWalkableNeighbor(count, x, y + dy);
+    }
+
+    return count;
+  }
+
+  private int findNeighborsCuttingCorners(final int x, final int y, final int dx, final int dy) {
+    int count = 0;
+    if (dx != 0 && dy != 0) {
+      count = this.addWalkableNeighbor(count, x, y + dy);
+      count = this.addWalkableNeighbor(count, x + dx, y);
+      count = this.addWalkableNeighbor(count, x + dx, y + dy);
+      if (!this.isWalkable(x - dx, y)) {
+        count = this.addNeighbor(count, x - dx, y + dy);
+      }
+
+      if (!this.isWalkable(x, y - dy)) {
+        count = this.addNeighbor(count, x + dx, y - dy);
+      }
+    } else if (dx != 0) {
+      count = this.addWalkableNeighbor(count, x + dx, y);
+      if (!this.isWalkable(x, y + 1)) {
+        count = this.addNeighbor(count, x + dx, y + 1);
+      }
+
+      if (!this.isWalkable(x, y - 1)) {
+        count = this.addNeighbor(count, x + dx, y - 1);
+      }
+    } else {
+      count = this.addWalkableNeighbor(count, x, y + dy);
+      if (!this.isWalkable(x + 1, y)) {
+        count = this.addNeighbor(count, x + 1, y + dy);
+      }
+
+      if (!this.isWalkable(x - 1, y)) {
+        count = this.addNeighbor(count, x - 1, y + dy);
+      }
+    }
+
+    return count;
+  }
+
+  private int findNeighborsAvoidingCorners(final int x, final int y, final int dx, final int dy) {
+    int count = 0;
+    if (dx != 0 && dy != 0) {
+      final boolean walkableY = this.isWalkable(x, y + dy);
+      final boolean walkableX = this.isWalkable(x + dx, y);
+      if (walkableY) {
+        count = this.addNeighbor(count, x, y + dy);
+      }
+
+      if (walkableX) {
+        count = this.addNeighbor(count, x + dx, y);
+      }
+
+      if (walkableX && walkableY) {
+        count = this.addWalkableNeighbor(count, x + dx, y + dy);
+      }
+    } else if (dx != 0) {
+      final boolean walkableNext = this.isWalkable(x + dx, y);
+      final boolean walkableTop = this.isWalkable(x, y - 1);
+      final boolean walkableBottom = this.isWalkable(x, y + 1);
+      if (walkableNext) {
+        count = this.addNeighbor(count, x + dx, y);
+        if (walkableTop) {
+          count = this.addWalkableNeighbor(count, x + dx, y - 1);
+        }
+
+        if (walkableBottom) {
+          count = this.addWalkableNeighbor(count, x + dx, y + 1);
+        }
+      }
+
+      if (walkableTop) {
+        count = this.addNeighbor(count, x, y - 1);
+      }
+
+      if (walkableBottom) {
+        count = this.addNeighbor(count, x, y + 1);
+      }
+    } else {
+      final boolean walkableNext = this.isWalkable(x, y + dy);
+      final boolean walkableLeft = this.isWalkable(x - 1, y);
+      final boolean walkableRight = this.isWalkable(x + 1, y);
+      if (walkableNext) {
+        count = this.addNeighbor(count, x, y + dy);
+        if (walkableLeft) {
+          count = this.addWalkableNeighbor(count, x - 1, y + dy);
+        }
+
+        if (walkableRight) {
+          count = this.addWalkableNeighbor(count, x + 1, y + dy);
+        }
+      }
+
+      if (walkableLeft) {
+        count = this.addNeighbor(count, x - 1, y);
+      }
+
+      if (walkableRight) {
+        count = this.addNeighbor(count, x + 1, y);
+      }
+    }
+
+    return count;
+  }
+
+  private int addWalkableNeighbor(final int count, final int x, final int y) {
+    return this.isWalkable(x, y) ? this.addNeighbor(count, x, y) : count;
+  }
+
+  private int addNeighbor(final int count, final int x, final int y) {
+    this.neighborX[count] = x;
+    this.neighborY[count] = y;
+    return count + 1;
+  }
+
+  private int jump(final int x, final int y, final int dx, final int dy) {
+    if (!this.diagonalMovement) {
+      return this.jumpOrthogonal(x, y, dx, dy);
+    }
+
+    if (this.cuttingCorners) {
+      return this.jumpCuttingCorners(x, y, dx, dy);
+    }
+
+    return this.jumpAvoidingCorners(x, y, dx, dy);
+  }
+
+  /**
+   * Moves from the specified node into the specified direction until a jump point is found.
+   *
+   * @return The index of the jump point or -1 if a non-walkable node is reached first.
+   */
+  private int jumpOrthogonal(int x, int y, final int dx, final int dy) {
+    while (this.isWalkable(x, y)) {
+      if (this.isTarget(x, y)) {
+        return this.getIndex(x, y);
+      }
+
+      if (dx != 0) {
+        if (this.isWalkable(x, y - 1) && !this.isWalkable(x - dx, y - 1) || this.isWalkable(x, y + 1) && !this.isWalkable(x - dx, y + 1)) {
+          return this.getIndex(x, y);
+        }
+      } else {
+        if (this.isWalkable(x - 1, y) && !this.isWalkable(x - 1, y - dy) || this.isWalkable(x + 1, y) && !this.isWalkable(x + 1, y - dy)) {
+          return this.getIndex(x, y);
+        }
+
+        // without diagonal movement, a node is also a jump point if there is a jump point on any horizontal direction
+        if (this.jumpOrthogonal(x + 1, y, 1, 0) != -1 || this.jumpOrthogonal(x - 1, y, -1, 0) != -1) {
+          return this.getIndex(x, y);
+        }
+      }
+
+      x += dx;
+      y += dy;
+    }
+
+    return -1;
+  }
+
+  private int jumpCuttingCorners(int x, int y, final int dx, final int dy) {
+    while (this.isWalkable(x, y)) {
+      if (this.isTarget(x, y)) {
+        return this.getIndex(x, y);
+      }
+
+      if (dx != 0 && dy != 0) {
+        if (this.isWalkable(x - dx, y + dy) && !this.isWalkable(x - dx, y) || this.isWalkable(x + dx, y - dy) && !this.isWalkable(x, y - dy)) {
+          return this.getIndex(x, y);
+        }
+
+        // when moving diagonally, a node is also a jump point if there is a jump point on the horizontal or vertical
+        // direction
+        if (this.jumpCuttingCorners(x + dx, y, dx, 0) != -1 || this.jumpCuttingCorners(x, y + dy, 0, dy) != -1) {
+          return this.getIndex(x, y);
+        }
+      } else if (dx != 0) {
+        if (this.isWalkable(x + dx, y + 1) && !this.isWalkable(x, y + 1) || this.isWalkable(x + dx, y - 1) && !this.isWalkable(x, y - 1)) {
+          return this.getIndex(x, y);
+        }
+      } else if (this.isWalkable(x + 1, y + dy) && !this.isWalkable(x + 1, y) || this.isWalkable(x - 1, y + dy) && !this.isWalkable(x - 1, y)) {
+        return this.getIndex(x, y);
+      }
+
+      x += dx;
+      y += dy;
+    }
+
+    return -1;
+  }
+
+  private int jumpAvoidingCorners(int x, int y, final int dx, final int dy) {
+    while (this.isWalkable(x, y)) {
+      if (this.isTarget(x, y)) {
+        return this.getIndex(x, y);
+      }
+
+      if (dx != 0 && dy != 0) {
+        if (this.jumpAvoidingCorners(x + dx, y, dx, 0) != -1 || this.jumpAvoidingCorners(x, y + dy, 0, dy) != -1) {
+          return this.getIndex(x, y);
+        }
+
+        // moving diagonally is only allowed if both adjacent nodes are walkable
+        if (!this.isWalkable(x + dx, y) || !this.isWalkable(x, y + dy)) {
+          return -1;
+        }
+      } else if (dx != 0) {
+        if (this.isWalkable(x, y - 1) && !this.isWalkable(x - dx, y - 1) || this.isWalkable(x, y + 1) && !this.isWalkable(x - dx, y + 1)) {
+          return this.getIndex(x, y);
+        }
+      } else if (this.isWalkable(x - 1, y) && !this.isWalkable(x - 1, y - dy) || this.isWalkable(x + 1, y) && !this.isWalkable(x + 1, y - dy)) {
+        return this.getIndex(x, y);
+      }
+
+      x += dx;
+      y += dy;
+    }
+
+    return -1;
+  }
+
+  private boolean isTarget(final int x, final int y) {
+    return x == this.targetX && y == this.targetY;
+  }
+
+  private boolean isWalkable(final int x, final int y) {
+    return x >= 0 && x < this.width && y >= 0 && y < this.height && this.nodes[x][y].isWalkable();
+  }
+}
@@ -0,0 +1,159 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.util.Arrays;
+
+/**
+ * An indexed binary min-heap of node indices that are ordered by a priority and subsequently by a tie breaker.
+ * <p>
+ * In contrast to a <code>PriorityQueue</code>, the heap knows the position of each contained node, which allows to
+ * change the priority of a node in O(log n) without searching it first. The nodes are expected to be indices in the
+ * range of the capacity of the heap.
+ * </p>
+ */
+final class NodeHeap {
+  private final int[] heap;
+  private final int[] positions;
+  private final double[] priorities;
+  private final double[] tieBreakers;
+  private int size;
+
+  NodeHeap(final int capacity) {
+    this.heap = new int[capacity];
+    this.positions = new int[capacity];
+    this.priorities = new double[capacity];
+    this.tieBreakers = new double[capacity];
+    Arrays.fill(this.positions, -1);
+  }
+
+  void clear() {
+    for (int i = 0; i < this.size; i++) {
+      this.positions[this.heap[i]] = -1;
+    }
+
+    this.size = 0;
+  }
+
+  boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  int size() {
+    return this.size;
+  }
+
+  boolean contains(final int node) {
+    return this.positions[node] != -1;
+  }
+
+  int peek() {
+    return this.heap[0];
+  }
+
+  double getPriority(final int node) {
+    return this.priorities[node];
+  }
+
+  double getTieBreaker(final int node) {
+    return this.tieBreakers[node];
+  }
+
+  /**
+   * Adds the specified node to the heap or changes its priority if it is already contained.
+   *
+   * @param node
+   *          The index of the node.
+   * @param priority
+   *          The priority of the node; lower priorities are polled first.
+   * @param tieBreaker
+   *          The value that decides between nodes of equal priority; lower values are polled first.
+   */
+  void update(final int node, final double priority, final double tieBreaker) {
+    this.priorities[node] = priority;
+    this.tieBreakers[node] = tieBreaker;
+
+    final int position = this.positions[node];
+    if (position == -1) {
+      this.heap[this.size] = node;
+      this.positions[node] = this.size;
+      this.siftUp(this.size++);
+      return;
+    }
+
+    this.siftUp(position);
+    this.siftDown(this.positions[node]);
+  }
+
+  int poll() {
+    final int first = this.heap[0];
+    this.removeAt(0);
+    return first;
+  }
+
+  void remove(final int node) {
+    final int position = this.positions[node];
+    if (position != -1) {
+      this.removeAt(position);
+    }
+  }
+
+  private void removeAt(final int position) {
+    final int node = this.heap[position];
+    final int last = this.heap[--this.size];
+    this.positions[node] = -1;
+    if (position == this.size) {
+      return;
+    }
+
+    this.heap[position] = last;
+    this.positions[last] = position;
+    this.siftUp(position);
+    this.siftDown(this.positions[last]);
+  }
+
+  private boolean isLower(final int node, final int other) {
+    return this.priorities[node] < this.priorities[other] || this.priorities[node] == this.priorities[other] && this.tieBreakers[node] < this.tieBreakers[other];
+  }
+
+  private void siftUp(int position) {
+    final int node = this.heap[position];
+    while (position > 0) {
+      final int parentPosition = (position - 1) >>> 1;
+      final int parent = this.heap[parentPosition];
+      if (!this.isLower(node, parent)) {
+        break;
+      }
+
+      this.heap[position] = parent;
+      this.positions[parent] = position;
+      position = parentPosition;
+    }
+
+    this.heap[position] = node;
+    this.positions[node] = position;
+  }
+
+  private void siftDown(int position) {
+    final int node = this.heap[position];
+    final int half = this.size >>> 1;
+    while (position < half) {
+      int childPosition = (position << 1) + 1;
+      int child = this.heap[childPosition];
+      final int rightPosition = childPosition + 1;
+      if (rightPosition < this.size && this.isLower(this.heap[rightPosition], child)) {
+        childPosition = rightPosition;
+        child = this.heap[childPosition];
+      }
+
+      if (!this.isLower(child, node)) {
+        break;
+      }
+
+      this.heap[position] = child;
+      this.positions[child] = position;
+      position = childPosition;
+    }
+
+    this.heap[position] = node;
+    this.positions[node] = position;
+  }
+}
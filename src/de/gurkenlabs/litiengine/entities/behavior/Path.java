@@ -1,18 +1,31 @@
 package de.gurkenlabs.litiengine.entities.behavior;
 
 import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
 import java.awt.geom.Point2D;
+import java.util.Arrays;
 import java.util.List;
 
 import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
 
 /**
  * The Class Path.
+ * <p>
+ * Besides the {@link Path2D}, which is used to render the path, a path holds the location that each segment of the
+ * {@link Path2D} leads to in a primitive array. This allows entities to access the waypoint of any segment in constant
+ * time while they follow the path.
+ * </p>
+ * <p>
+ * A {@link Path2D} that was returned by {@link #getPath()} is never modified, so it can be rendered while the path is
+ * refined on another thread. Paths that are extended or rebuilt while they are followed publish a new {@link Path2D}
+ * instead.
+ * </p>
  */
 public class Path {
+  private static final int INITIAL_WAYPOINT_CAPACITY = 16;
 
   /** The path. */
-  private final Path2D path2D;
+  private volatile Path2D path2D;
 
   private final List<Point2D> points;
   private final Point2D start;
@@ -20,6 +33,10 @@ public class Path {
   /** The target. */
   private final Point2D target;
 
+  // the x- and y-coordinates of the waypoints in alternating order
+  private double[] waypoints;
+  private int waypointCount;
+
   public Path(final Path2D path) {
     this.path2D = path;
     this.points = GeometricUtilities.getPoints(this.path2D);
@@ -30,6 +47,8 @@ public class Path {
       this.start = null;
       this.target = null;
     }
+
+    this.initWaypoints();
   }
 
   /***
@@ -49,6 +68,7 @@ public class Path {
     this.target = target;
     this.path2D = path;
     this.points = points;
+    this.initWaypoints();
   }
 
   /**
@@ -76,4 +96,146 @@ public class Path {
   public Point2D getTarget() {
     return this.target;
   }
+
+  /**
+   * Gets the number of waypoints of this path, which equals the number of segments of its {@link Path2D}. The first
+   * waypoint is the location that the path starts at.
+   *
+   * @return The number of waypoints.
+   */
+  public int getWaypointCount() {
+    return this.waypointCount;
+  }
+
+  /**
+   * Gets the x-coordinate of the location that the specified segment of the {@link Path2D} leads to.
+   *
+   * @param index
+   *          The index of the segment.
+   * @return The x-coordinate of the waypoint.
+   */
+  public double getWaypointX(final int index) {
+    this.checkWaypointIndex(index);
+    return this.waypoints[2 * index];
+  }
+
+  /**
+   * Gets the y-coordinate of the location that the specified segment of the {@link Path2D} leads to.
+   *
+   * @param index
+   *          The index of the segment.
+   * @return The y-coordinate of the waypoint.
+   */
+  public double getWaypointY(final int index) {
+    this.checkWaypointIndex(index);
+    return this.waypoints[2 * index + 1];
+  }
+
+  /**
+   * Makes sure that this path contains the specified segment if the path has that many segments. This is called while an
+   * entity follows the path, so that path finders can return paths whose later segments are only searched once they
+   * are approached or whose remaining segments are repaired after the grid has changed.
+   * <p>
+   * The default implementation does nothing because all segments of a path are known when it is created.
+   * </p>
+   *
+   * @param segment
+   *          The index of the segment of the {@link Path2D} that is approached next.
+   */
+  protected void refine(int segment) {
+    // all segments are known upfront
+  }
+
+  /**
+   * Appends a waypoint to this path. This allows subclasses to extend the path while it is followed; the first waypoint
+   * is the start of the path. The {@link Path2D} of this path only contains the new waypoint once
+   * {@link #publishWaypoints()} is called.
+   *
+   * @param x
+   *          The x-coordinate of the waypoint.
+   * @param y
+   *          The y-coordinate of the waypoint.
+   * @see #refine(int)
+   */
+  protected void addWaypoint(final double x, final double y) {
+    this.appendWaypoint(x, y);
+  }
+
+  /**
+   * Removes all waypoints from this path, so that subclasses can rebuild the path. The {@link Path2D} of this path keeps
+   * the removed waypoints until {@link #publishWaypoints()} is called.
+   */
+  protected void clearWaypoints() {
+    this.waypointCount = 0;
+  }
+
+  /**
+   * Replaces the {@link Path2D} of this path by a new one that connects the current waypoints. The previous
+   * {@link Path2D} is left unchanged because it might still be rendered.
+   */
+  protected void publishWaypoints() {
+    final Path2D current = this.path2D;
+    final Path2D path = new Path2D.Double(current != null ? current.getWindingRule() : Path2D.WIND_NON_ZERO, Math.max(1, this.waypointCount));
+    for (int i = 0; i < this.waypointCount; i++) {
+      if (i == 0) {
+        path.moveTo(this.waypoints[0], this.waypoints[1]);
+      } else {
+        path.lineTo(this.waypoints[2 * i], this.waypoints[2 * i + 1]);
+      }
+    }
+
+    this.path2D = path;
+  }
+
+  /**
+   * Copies the locations of the segments of the {@link Path2D}, where a segment that closes a subpath leads back to the
+   * start of the subpath.
+   */
+  private void initWaypoints() {
+    this.waypoints = new double[2 * INITIAL_WAYPOINT_CAPACITY];
+    if (this.path2D == null) {
+      return;
+    }
+
+    final double[] coordinates = new double[6];
+    double subpathX = 0;
+    double subpathY = 0;
+    for (final PathIterator iterator = this.path2D.getPathIterator(null); !iterator.isDone(); iterator.next()) {
+      switch (iterator.currentSegment(coordinates)) {
+      case PathIterator.SEG_MOVETO:
+        subpathX = coordinates[0];
+        subpathY = coordinates[1];
+        this.appendWaypoint(subpathX, subpathY);
+        break;
+      case PathIterator.SEG_LINETO:
+        this.appendWaypoint(coordinates[0], coordinates[1]);
+        break;
+      case PathIterator.SEG_QUADTO:
+        this.appendWaypoint(coordinates[2], coordinates[3]);
+        break;
+      case PathIterator.SEG_CUBICTO:
+        this.appendWaypoint(coordinates[4], coordinates[5]);
+        break;
+      default:
+        this.appendWaypoint(subpathX, subpathY);
+        break;
+      }
+    }
+  }
+
+  private void appendWaypoint(final double x, final double y) {
+    if (2 * this.waypointCount == this.waypoints.length) {
+      this.waypoints = Arrays.copyOf(this.waypoints, 2 * this.waypoints.length);
+    }
+
+    this.waypoints[2 * this.waypointCount] = x;
+    this.waypoints[2 * this.waypointCount + 1] = y;
+    this.waypointCount++;
+  }
+
+  private void checkWaypointIndex(final int index) {
+    if (index < 0 || index >= this.waypointCount) {
+      throw new IndexOutOfBoundsException("Waypoint " + index + " does not exist; the path has " + this.waypointCount + " waypoints.");
+    }
+  }
 }
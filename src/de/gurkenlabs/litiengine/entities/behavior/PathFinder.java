@@ -17,6 +17,9 @@ import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
 public abstract class PathFinder {
   private static final float PATH_MARGIN = 2.0f;
 
+  // the state that a search on a worker thread is based on instead of the current state of the entity and the physics
+  private static final ThreadLocal<SearchState> SEARCH_STATES = new ThreadLocal<>();
+
   /**
    * Gets the path.
    *
@@ -41,19 +44,22 @@ public abstract class PathFinder {
 
   protected Rectangle2D applyPathMargin(final ICollisionEntity entity, final Rectangle2D rectangle) {
     // calculate offset in order to prevent collision
-    final double newX = rectangle.getX() - (entity.getCollisionBox().getWidth() * 0.5 + PATH_MARGIN);
-    final double newY = rectangle.getY() - (entity.getCollisionBox().getHeight() * 0.5 + PATH_MARGIN);
-    final double newWidth = rectangle.getWidth() + entity.getCollisionBox().getWidth() + PATH_MARGIN * 2;
-    final double newHeight = rectangle.getHeight() + entity.getCollisionBox().getHeight() + PATH_MARGIN * 2;
+    final Rectangle2D entityCollisionBox = this.getCollisionBox(entity);
+    final double newX = rectangle.getX() - (entityCollisionBox.getWidth() * 0.5 + PATH_MARGIN);
+    final double newY = rectangle.getY() - (entityCollisionBox.getHeight() * 0.5 + PATH_MARGIN);
+    final double newWidth = rectangle.getWidth() + entityCollisionBox.getWidth() + PATH_MARGIN * 2;
+    final double newHeight = rectangle.getHeight() + entityCollisionBox.getHeight() + PATH_MARGIN * 2;
     return new Rectangle2D.Double(newX, newY, newWidth, newHeight);
   }
 
   protected boolean intersectsWithAnyCollisionBox(final ICollisionEntity entity, final Point2D start, final Point2D target) {
-    final Collection<Rectangle2D> allCollisionBoxes = Game.physics().getCollisionBoxes();
+    final SearchState state = SEARCH_STATES.get();
+    final Collection<Rectangle2D> allCollisionBoxes = state != null ? state.collisionBoxes : Game.physics().getCollisionBoxes();
+    final Rectangle2D entityCollisionBox = this.getCollisionBox(entity);
 
     final Line2D line = new Line2D.Double(start, target);
     for (final Rectangle2D collisionBox : allCollisionBoxes) {
-      if (collisionBox.equals(entity.getCollisionBox())) {
+      if (collisionBox.equals(entityCollisionBox)) {
         continue;
       }
 
@@ -71,4 +77,76 @@ public abstract class PathFinder {
 
     return false;
   }
+
+  /**
+   * Gets the location from which a path for the specified entity starts. This is the center of the entity's collision
+   * box at the time the search was requested.
+   *
+   * @param entity
+   *          The entity for which a path is searched.
+   * @return The start location of the path.
+   */
+  protected Point2D getStartLocation(final IMobileEntity entity) {
+    final SearchState state = SEARCH_STATES.get();
+    return state != null ? state.start : entity.getCollisionBoxCenter();
+  }
+
+  /**
+   * Gets the collision box of the specified entity at the time the search was requested.
+   *
+   * @param entity
+   *          The entity for which a path is searched.
+   * @return The collision box of the entity.
+   */
+  protected Rectangle2D getCollisionBox(final ICollisionEntity entity) {
+    final SearchState state = SEARCH_STATES.get();
+    return state != null ? state.collisionBox : entity.getCollisionBox();
+  }
+
+  /**
+   * Searches a path based on the specified state instead of the current state of the entity and the physics engine.
+   * This allows to search paths on other threads while the loop keeps moving the entity and updating the collision boxes.
+   *
+   * @param entity
+   *          The entity for which the path is searched.
+   * @param target
+   *          The target of the path.
+   * @param state
+   *          The state that was captured on the loop thread when the search was requested.
+   * @return The found path.
+   */
+  final Path findPath(final IMobileEntity entity, final Point2D target, final SearchState state) {
+    final SearchState previous = SEARCH_STATES.get();
+    SEARCH_STATES.set(state);
+    try {
+      return this.findPath(entity, target);
+    } finally {
+      if (previous != null) {
+        SEARCH_STATES.set(previous);
+      } else {
+        SEARCH_STATES.remove();
+      }
+    }
+  }
+
+  /**
+   * The location and the collision box of an entity together with the collision boxes of the physics engine at the time
+   * a search was requested.
+   */
+  static final class SearchState {
+    private final Point2D start;
+    private final Rectangle2D collisionBox;
+    private final Collection<Rectangle2D> collisionBoxes;
+
+    SearchState(final IMobileEntity entity, final Collection<Rectangle2D> collisionBoxes) {
+      final Rectangle2D box = entity.getCollisionBox();
+      this.start = entity.getCollisionBoxCenter();
+      this.collisionBox = new Rectangle2D.Double(box.getX(), box.getY(), box.getWidth(), box.getHeight());
+      this.collisionBoxes = collisionBoxes;
+    }
+
+    Point2D getStart() {
+      return this.start;
+    }
+  }
 }
@@ -0,0 +1,308 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.entities.IMobileEntity;
+import de.gurkenlabs.litiengine.jfr.PathfindingEvent;
+
+/**
+ * A <code>PathRequestQueue</code> searches paths on a pool of worker threads so that a burst of navigation requests
+ * doesn't stall the loop that requests them.
+ * <p>
+ * The workers only spend a configurable amount of time per tick on searching paths; remaining requests are processed
+ * during the subsequent ticks. There is at most one request per entity: requesting the same target again returns the
+ * pending request, whereas requesting another target cancels it.
+ * </p>
+ * <p>
+ * If a grid is specified, each search is repeated when the grid was being changed when the search started or when the
+ * penalty, the walkable attribute or the clearance of any node changed while it was running, so that every path is
+ * based on a consistent state of the grid. If the grid keeps changing, the request
+ * is deferred for an increasing number of ticks. The found paths are handed over to the requesters in {@link #update()},
+ * which means that the returned futures are completed on the thread of the loop that this instance is attached to.
+ * Consequently, that thread must never wait for such a future.
+ * </p>
+ * <p>
+ * Paths must be requested on the thread of that loop as well. The location of the entity and the collision boxes of the
+ * physics engine are captured when a path is requested, so that the workers don't read them while the loop changes them.
+ * </p>
+ *
+ * @see EntityNavigator#navigateAsync(Point2D)
+ */
+public class PathRequestQueue implements IUpdateable {
+  public static final double DEFAULT_TIME_BUDGET = 4;
+  private static final int MAX_ATTEMPTS = 3;
+  private static final int MAX_DEFERRED_TICKS = 16;
+
+  // the threads of a work-stealing pool are daemon threads that terminate when they're idle
+  private static final ExecutorService WORKERS = Executors.newWorkStealingPool();
+
+  private final PathFinder pathFinder;
+  private final AStarGrid grid;
+  private final int parallelism;
+
+  private final Map<IMobileEntity, PathRequest> requests = new ConcurrentHashMap<>();
+  private final Queue<PathRequest> pendingRequests = new ConcurrentLinkedQueue<>();
+  private final Queue<PathRequest> completedRequests = new ConcurrentLinkedQueue<>();
+  private final Queue<PathRequest> deferredRequests = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger activeWorkers = new AtomicInteger();
+  private final AtomicLong remainingBudget = new AtomicLong();
+
+  private volatile double timeBudget;
+
+  // the collision boxes of the current tick, copied by the loop thread once they are needed for a request
+  private Collection<Rectangle2D> collisionBoxes;
+
+  public PathRequestQueue(final AStarPathFinder pathFinder) {
+    this(pathFinder, pathFinder.getGrid());
+  }
+
+  /**
+   * Instantiates a new queue that searches paths with the specified path finder.
+   *
+   * @param pathFinder
+   *          The path finder that is used by the workers; it must support searching paths on multiple threads at once.
+   * @param grid
+   *          The grid on which the path finder searches or null if the paths don't need to be based on a consistent
+   *          state of a grid.
+   */
+  public PathRequestQueue(final PathFinder pathFinder, final AStarGrid grid) {
+    this.pathFinder = pathFinder;
+    this.grid = grid;
+    this.parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    this.setTimeBudget(DEFAULT_TIME_BUDGET);
+  }
+
+  public PathFinder getPathFinder() {
+    return this.pathFinder;
+  }
+
+  /**
+   * Gets the time in milliseconds that the workers may spend on searching paths per tick.
+   *
+   * @return The time budget per tick.
+   */
+  public double getTimeBudget() {
+    return this.timeBudget;
+  }
+
+  /**
+   * Gets the number of requests whose paths haven't been handed over to the requesters yet.
+   *
+   * @return The number of pending requests.
+   */
+  public int getPendingRequestCount() {
+    return this.requests.size();
+  }
+
+  /**
+   * Sets the time in milliseconds that the workers may spend on searching paths per tick. The time of all workers is
+   * summed up and a search that has started is always finished, so the budget may be slightly exceeded.
+   *
+   * @param timeBudget
+   *          The time budget per tick.
+   */
+  public void setTimeBudget(final double timeBudget) {
+    if (timeBudget <= 0) {
+      throw new IllegalArgumentException("The time budget must be positive.");
+    }
+
+    this.timeBudget = timeBudget;
+    this.remainingBudget.set((long) (timeBudget * 1_000_000));
+  }
+
+  /**
+   * Requests a path from the current location of the specified entity to the specified target.
+   *
+   * @param entity
+   *          The entity for which the path is searched.
+   * @param target
+   *          The target of the path.
+   * @return A future that is completed with the found path, or with null if the target cannot be reached, once this
+   *         instance is updated after the search.
+   */
+  public CompletableFuture<Path> request(final IMobileEntity entity, final Point2D target) {
+    final PathRequest newRequest = new PathRequest(entity, new Point2D.Double(target.getX(), target.getY()));
+    newRequest.state = this.captureState(entity);
+    final PathRequest[] replacedRequest = new PathRequest[1];
+    final PathRequest request = this.requests.compute(entity, (e, existing) -> {
+      if (existing != null && !existing.future.isDone() && existing.target.equals(newRequest.target)) {
+        return existing;
+      }
+
+      replacedRequest[0] = existing;
+      return newRequest;
+    });
+
+    if (request == newRequest) {
+      if (replacedRequest[0] != null) {
+        replacedRequest[0].future.cancel(false);
+      }
+
+      this.pendingRequests.add(newRequest);
+      this.dispatch();
+    }
+
+    return request.future;
+  }
+
+  /**
+   * Cancels the pending request of the specified entity.
+   *
+   * @param entity
+   *          The entity whose request is cancelled.
+   * @return True if a request was cancelled; otherwise false.
+   */
+  public boolean cancel(final IMobileEntity entity) {
+    final PathRequest request = this.requests.remove(entity);
+    return request != null && request.future.cancel(false);
+  }
+
+  @Override
+  public void update() {
+    PathRequest request;
+    while ((request = this.completedRequests.poll()) != null) {
+      this.requests.remove(request.entity, request);
+      if (request.error != null) {
+        request.future.completeExceptionally(request.error);
+      } else {
+        request.future.complete(request.path);
+      }
+    }
+
+    this.collisionBoxes = null;
+    for (int i = this.deferredRequests.size(); i > 0 && (request = this.deferredRequests.poll()) != null; i--) {
+      if (request.future.isDone()) {
+        this.requests.remove(request.entity, request);
+      } else if (--request.deferredTicks > 0) {
+        this.deferredRequests.add(request);
+      } else {
+        // the entity has probably moved while the request was deferred
+        request.state = this.captureState(request.entity);
+        this.pendingRequests.add(request);
+      }
+    }
+
+    this.remainingBudget.set((long) (this.timeBudget * 1_000_000));
+    this.dispatch();
+  }
+
+  private PathFinder.SearchState captureState(final IMobileEntity entity) {
+    if (this.collisionBoxes == null) {
+      this.collisionBoxes = new ArrayList<>(Game.physics().getCollisionBoxes());
+    }
+
+    return new PathFinder.SearchState(entity, this.collisionBoxes);
+  }
+
+  private void dispatch() {
+    if (this.remainingBudget.get() <= 0) {
+      return;
+    }
+
+    final int requiredWorkers = Math.min(this.parallelism, this.pendingRequests.size());
+    int workers;
+    while ((workers = this.activeWorkers.get()) < requiredWorkers) {
+      if (this.activeWorkers.compareAndSet(workers, workers + 1)) {
+        WORKERS.execute(this::work);
+      }
+    }
+  }
+
+  private void work() {
+    try {
+      PathRequest request;
+      while (this.remainingBudget.get() > 0 && (request = this.pendingRequests.poll()) != null) {
+        if (request.future.isDone()) {
+          this.requests.remove(request.entity, request);
+          continue;
+        }
+
+        final long start = System.nanoTime();
+        this.search(request);
+        this.remainingBudget.addAndGet(start - System.nanoTime());
+      }
+    } finally {
+      this.activeWorkers.decrementAndGet();
+    }
+  }
+
+  private void search(final PathRequest request) {
+    try {
+      for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+        final long version = this.grid != null ? this.grid.getVersion() : 0;
+        if ((version & 1) != 0) {
+          // the grid is being changed right now
+          Thread.yield();
+          continue;
+        }
+
+        final Path path = this.findPath(request);
+        if (this.grid == null || this.grid.getVersion() == version) {
+          request.path = path;
+          this.completedRequests.add(request);
+          return;
+        }
+      }
+
+      // the grid is currently changing, so the request is searched again after a few ticks
+      request.deferredTicks = Math.min(1 << request.deferrals, MAX_DEFERRED_TICKS);
+      request.deferrals++;
+      this.deferredRequests.add(request);
+    } catch (RuntimeException e) {
+      request.error = e;
+      this.completedRequests.add(request);
+    }
+  }
+
+  private Path findPath(final PathRequest request) {
+    final PathfindingEvent event = new PathfindingEvent();
+    event.begin();
+    final Path path = this.getPathFinder().findPath(request.entity, request.target, request.state);
+    event.end();
+    if (event.shouldCommit()) {
+      event.setPathFinder(this.getPathFinder().getClass());
+      event.setEntity(request.entity.getName());
+      event.setStart(request.state.getStart().getX(), request.state.getStart().getY());
+      event.setTarget(request.target.getX(), request.target.getY());
+      event.setPathFound(path != null);
+      event.setWaypoints(path != null ? path.getPoints().size() : 0);
+      event.commit();
+    }
+
+    return path;
+  }
+
+  private static final class PathRequest {
+    private final IMobileEntity entity;
+    private final Point2D target;
+    private final CompletableFuture<Path> future = new CompletableFuture<>();
+
+    // handed over between the loop thread and the workers by the concurrent queues
+    private PathFinder.SearchState state;
+    private int deferredTicks;
+    private int deferrals;
+
+    // written by a worker before the request is added to the completed requests
+    private Path path;
+    private RuntimeException error;
+
+    private PathRequest(final IMobileEntity entity, final Point2D target) {
+      this.entity = entity;
+      this.target = target;
+    }
+  }
+}
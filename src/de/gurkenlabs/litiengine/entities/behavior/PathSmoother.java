@@ -0,0 +1,189 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A <code>PathSmoother</code> reduces the waypoints of paths that were found on an {@link AStarGrid}.
+ * <p>
+ * Paths on a grid lead from node center to node center and therefore zig-zag whenever their direction is neither
+ * straight nor diagonal. The smoother first removes all waypoints that lie on a straight line between their neighbors.
+ * Then it pulls the path tight like a string: a waypoint is skipped as long as the next one can be reached on a straight
+ * line that only crosses walkable nodes.
+ * </p>
+ * <p>
+ * Paths that change while an entity follows them, i.e. the paths of a {@link HierarchicalPathFinder} or a
+ * {@link DStarLitePathFinder}, are not smoothed.
+ * </p>
+ *
+ * @see AStarPathFinder#setSmoothing(boolean)
+ */
+public class PathSmoother {
+  private final AStarGrid grid;
+
+  public PathSmoother(final AStarGrid grid) {
+    this.grid = grid;
+  }
+
+  public AStarGrid getGrid() {
+    return this.grid;
+  }
+
+  /**
+   * Smooths the specified path for an entity with a collision box of the specified size.
+   *
+   * @param path
+   *          The path to smooth.
+   * @param width
+   *          The width of the entity's collision box; the straight lines between the waypoints of the smoothed path leave
+   *          enough space for a box of this size.
+   * @param height
+   *          The height of the entity's collision box.
+   * @return A new path with fewer or the same waypoints or the specified path if it cannot be smoothed.
+   */
+  public Path smooth(final Path path, final double width, final double height) {
+    if (path.getClass() != Path.class || path.getStart() == null || path.getTarget() == null) {
+      return path;
+    }
+
+    final List<Point2D> waypoints = new ArrayList<>(path.getPoints().size() + 2);
+    waypoints.add(path.getStart());
+    for (final Point2D point : path.getPoints()) {
+      addIfNotCollinear(waypoints, point);
+    }
+
+    addIfNotCollinear(waypoints, path.getTarget());
+
+    // pull the path tight by only keeping the waypoints at which the line of sight ends
+    final List<Point2D> smoothedWaypoints = new ArrayList<>();
+    smoothedWaypoints.add(waypoints.get(0));
+    int anchor = 0;
+    for (int i = 2; i < waypoints.size(); i++) {
+      if (!this.hasLineOfSight(waypoints.get(anchor), waypoints.get(i), width, height)) {
+        anchor = i - 1;
+        smoothedWaypoints.add(waypoints.get(anchor));
+      }
+    }
+
+    smoothedWaypoints.add(waypoints.get(waypoints.size() - 1));
+
+    final Path2D path2D = new GeneralPath(Path2D.WIND_NON_ZERO);
+    path2D.moveTo(path.getStart().getX(), path.getStart().getY());
+    for (int i = 1; i < smoothedWaypoints.size(); i++) {
+      path2D.lineTo(smoothedWaypoints.get(i).getX(), smoothedWaypoints.get(i).getY());
+    }
+
+    // like for other paths, the points only contain the waypoints between the start and the target
+    final List<Point2D> points = new ArrayList<>(smoothedWaypoints.subList(1, smoothedWaypoints.size() - 1));
+    return new Path(path.getStart(), path.getTarget(), path2D, points);
+  }
+
+  /**
+   * Determines whether a box of the specified size can move on a straight line between the specified locations without
+   * touching any node that is not walkable.
+   *
+   * @param start
+   *          The start location of the center of the box.
+   * @param target
+   *          The target location of the center of the box.
+   * @param width
+   *          The width of the box.
+   * @param height
+   *          The height of the box.
+   * @return True if all nodes that are crossed by the box are walkable; otherwise false.
+   */
+  public boolean hasLineOfSight(final Point2D start, final Point2D target, final double width, final double height) {
+    // the lines of the box's corners and of enough points in between that no node can be missed cover all crossed nodes
+    final int columns = (int) Math.ceil(width / this.grid.getNodeSize());
+    final int rows = (int) Math.ceil(height / this.grid.getNodeSize());
+    for (int column = 0; column <= columns; column++) {
+      final double offsetX = columns == 0 ? 0 : -width / 2 + width * column / columns;
+      for (int row = 0; row <= rows; row++) {
+        final double offsetY = rows == 0 ? 0 : -height / 2 + height * row / rows;
+        if (!this.hasLineOfSight(start.getX() + offsetX, start.getY() + offsetY, target.getX() + offsetX, target.getY() + offsetY)) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  private static void addIfNotCollinear(final List<Point2D> waypoints, final Point2D point) {
+    final int size = waypoints.size();
+    if (size >= 2) {
+      final Point2D previous = waypoints.get(size - 1);
+      final Point2D beforePrevious = waypoints.get(size - 2);
+      final double dx1 = previous.getX() - beforePrevious.getX();
+      final double dy1 = previous.getY() - beforePrevious.getY();
+      final double dx2 = point.getX() - previous.getX();
+      final double dy2 = point.getY() - previous.getY();
+      if (dx1 * dy2 - dy1 * dx2 == 0 && dx1 * dx2 + dy1 * dy2 > 0) {
+        waypoints.set(size - 1, point);
+        return;
+      }
+    }
+
+    waypoints.add(point);
+  }
+
+  /**
+   * Traverses all nodes that are crossed by the line between the specified locations. If the line passes exactly through
+   * the corner of a node, both nodes next to the corner need to be walkable.
+   */
+  private boolean hasLineOfSight(final double x0, final double y0, final double x1, final double y1) {
+    final int nodeSize = this.grid.getNodeSize();
+    int x = (int) Math.floor(x0 / nodeSize);
+    int y = (int) Math.floor(y0 / nodeSize);
+    final int targetX = (int) Math.floor(x1 / nodeSize);
+    final int targetY = (int) Math.floor(y1 / nodeSize);
+    if (!this.isWalkable(x, y)) {
+      return false;
+    }
+
+    final double dx = x1 - x0;
+    final double dy = y1 - y0;
+    final int stepX = dx > 0 ? 1 : -1;
+    final int stepY = dy > 0 ? 1 : -1;
+    final double deltaX = dx == 0 ? Double.POSITIVE_INFINITY : nodeSize / Math.abs(dx);
+    final double deltaY = dy == 0 ? Double.POSITIVE_INFINITY : nodeSize / Math.abs(dy);
+    double nextX = dx == 0 ? Double.POSITIVE_INFINITY : ((stepX > 0 ? x + 1 : x) * nodeSize - x0) / dx;
+    double nextY = dy == 0 ? Double.POSITIVE_INFINITY : ((stepY > 0 ? y + 1 : y) * nodeSize - y0) / dy;
+
+    // the number of steps is limited in case of rounding errors
+    int remainingSteps = Math.abs(targetX - x) + Math.abs(targetY - y);
+    while ((x != targetX || y != targetY) && remainingSteps-- > 0) {
+      if (nextX < nextY) {
+        x += stepX;
+        nextX += deltaX;
+      } else if (nextY < nextX) {
+        y += stepY;
+        nextY += deltaY;
+      } else {
+        if (!this.isWalkable(x + stepX, y) || !this.isWalkable(x, y + stepY)) {
+          return false;
+        }
+
+        x += stepX;
+        y += stepY;
+        nextX += deltaX;
+        nextY += deltaY;
+        remainingSteps--;
+      }
+
+      if (!this.isWalkable(x, y)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private boolean isWalkable(final int x, final int y) {
+    final AStarNode[][] nodes = this.grid.getGrid();
+    return x >= 0 && x < nodes.length && y >= 0 && y < nodes[x].length && nodes[x][y].isWalkable();
+  }
+}
@@ -0,0 +1,56 @@
+package de.gurkenlabs.litiengine.entities.behavior;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Supplier;
+
+/**
+ * A pool of search contexts that allows concurrent searches on the same grid.
+ * <p>
+ * A context that spans the whole grid needs about 36 bytes per node (costs, predecessors and the arrays of the
+ * {@link NodeHeap}). Instead of keeping one context per thread for as long as the thread lives, a context is only
+ * obtained for the duration of a search. The pool therefore creates at most as many contexts as searches run at once
+ * and keeps at most one context per available processor for subsequent searches. All contexts are released together
+ * with the path finder that owns the pool.
+ * </p>
+ *
+ * @param <T>
+ *          The type of the pooled search contexts.
+ */
+final class SearchPool<T extends AStarSearch> {
+  private final Supplier<T> factory;
+  private final int capacity;
+  private final Deque<T> available = new ArrayDeque<>();
+
+  SearchPool(final Supplier<T> factory) {
+    this.factory = factory;
+    this.capacity = Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * Gets an unused search context or creates a new one if all contexts are currently in use. The context needs to be
+   * returned by {@link #free(AStarSearch)} once the search is finished.
+   *
+   * @return A search context that is not used by any other thread.
+   */
+  T obtain() {
+    final T search;
+    synchronized (this) {
+      search = this.available.poll();
+    }
+
+    return search != null ? search : this.factory.get();
+  }
+
+  /**
+   * Returns the specified search context to this pool. Contexts that exceed the capacity of the pool are discarded.
+   *
+   * @param search
+   *          The search context that is no longer used.
+   */
+  synchronized void free(final T search) {
+    if (this.available.size() < this.capacity) {
+      this.available.push(search);
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package de.gurkenlabs.litiengine.environment;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import de.gurkenlabs.litiengine.entities.IEntity;
+
+/**
+ * A pool that recycles entities of one kind instead of creating a new instance for every spawn, which avoids
+ * allocating the entity together with its controllers and listener collections over and over again for short-lived
+ * entities like projectiles.
+ * <p>
+ * The pool can be registered as {@link EnvironmentEntityListener} on an environment. Entities obtained from this pool
+ * are then automatically returned to it once they are removed from that environment:
+ * </p>
+ *
+ * <pre>
+ * EntityPool&lt;Projectile&gt; pool = new EntityPool&lt;&gt;(Projectile::new);
+ * Game.world().environment().addEntityListener(pool);
+ *
+ * Projectile projectile = pool.obtain();
+ * Game.world().environment().add(projectile);
+ * </pre>
+ *
+ * <p>
+ * A returned entity is reset by calling {@link IEntity#reset()} when it is obtained again. This keeps its state intact
+ * for any other listeners that are informed about its removal after the pool. Any other state (location, tags,
+ * listeners, ...) is kept and needs to be set up again by the code that obtains the entity.
+ * </p>
+ *
+ * @param <T>
+ *          The type of the pooled entities.
+ *
+ * @see EntitySpawner#setEntityPool(EntityPool)
+ */
+public class EntityPool<T extends IEntity> implements EnvironmentEntityListener {
+  public static final int DEFAULT_CAPACITY = 256;
+
+  private final Supplier<? extends T> factory;
+  private final int capacity;
+  private final Deque<T> available = new ArrayDeque<>();
+  private final Set<IEntity> obtained = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  /**
+   * Initializes a new instance of the <code>EntityPool</code> class.
+   *
+   * @param factory
+   *          The factory that creates new entities if the pool is empty.
+   */
+  public EntityPool(final Supplier<? extends T> factory) {
+    this(factory, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Initializes a new instance of the <code>EntityPool</code> class.
+   *
+   * @param factory
+   *          The factory that creates new entities if the pool is empty.
+   * @param capacity
+   *          The maximum number of entities kept by this pool. Entities that are returned to a full pool are discarded.
+   */
+  public EntityPool(final Supplier<? extends T> factory, final int capacity) {
+    this.factory = Objects.requireNonNull(factory);
+    this.capacity = capacity;
+  }
+
+  /**
+   * Gets a recycled entity from this pool or creates a new one if no entity is available. A recycled entity is reset
+   * before it is handed out.
+   *
+   * @return An entity that is not part of any environment.
+   * 
+   * @see IEntity#reset()
+   */
+  public synchronized T obtain() {
+    T entity = this.available.poll();
+    if (entity == null) {
+      entity = this.factory.get();
+    } else {
+      entity.reset();
+    }
+
+    this.obtained.add(entity);
+    return entity;
+  }
+
+  /**
+   * Returns the specified entity to this pool. If the entity is still part of an environment, it is removed from it
+   * first. The entity is reset once it is obtained again.
+   * <p>
+   * Entities that were not obtained from this pool or that were already returned are ignored.
+   * </p>
+   *
+   * @param entity
+   *          The entity to return.
+   * @return True if the entity was returned to this pool; otherwise false.
+   */
+  public boolean free(final T entity) {
+    synchronized (this) {
+      if (entity == null || !this.obtained.remove(entity)) {
+        return false;
+      }
+    }
+
+    if (entity.getEnvironment() != null) {
+      entity.getEnvironment().remove(entity);
+    }
+
+    synchronized (this) {
+      if (this.available.size() >= this.capacity) {
+        return false;
+      }
+
+      this.available.push(entity);
+      return true;
+    }
+  }
+
+  /**
+   * Creates entities until the specified number of entities is available in this pool.
+   *
+   * @param count
+   *          The number of entities that should be available.
+   */
+  public synchronized void prefill(final int count) {
+    while (this.available.size() < Math.min(count, this.capacity)) {
+      this.available.push(this.factory.get());
+    }
+  }
+
+  /**
+   * Gets the number of entities that can currently be obtained without creating a new instance.
+   *
+   * @return The number of available entities.
+   */
+  public synchronized int getAvailable() {
+    return this.available.size();
+  }
+
+  public int getCapacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Discards all available entities. Entities that are currently obtained can still be returned to this pool.
+   */
+  public synchronized void clear() {
+    this.available.clear();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void entityRemoved(final IEntity entity) {
+    final boolean pooled;
+    synchronized (this) {
+      pooled = this.obtained.contains(entity);
+    }
+
+    if (pooled) {
+      this.free((T) entity);
+    }
+  }
+}
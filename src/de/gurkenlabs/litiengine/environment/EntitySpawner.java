@@ -1,8 +1,11 @@
 package de.gurkenlabs.litiengine.environment;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.WeakHashMap;
 import java.util.function.Function;
 
 import de.gurkenlabs.litiengine.Game;
@@ -21,6 +24,10 @@ public abstract class EntitySpawner<T extends IEntity> implements IEntitySpawner
   private SpawnMode spawnMode;
   private List<Spawnpoint> spawnpoints;
   private Function<IEntitySpawner<T>, List<Spawnpoint>> customSpawnpoints;
+  private EntityPool<T> entityPool;
+
+  // the environments on which the entity pool is registered as listener
+  private final Collection<Environment> poolEnvironments = Collections.newSetFromMap(new WeakHashMap<>());
 
   public EntitySpawner(final int interval, final int amount) {
     this.spawnDelay = 1000;
@@ -93,6 +100,15 @@ public abstract class EntitySpawner<T extends IEntity> implements IEntitySpawner
     return this.spawnDelay;
   }
 
+  /**
+   * Gets the pool that provides the spawned entities.
+   *
+   * @return The entity pool of this spawner or null if every spawned entity is created by {@link #createNew()}.
+   */
+  public EntityPool<T> getEntityPool() {
+    return this.entityPool;
+  }
+
   @Override
   public SpawnMode getSpawnMode() {
     return this.spawnMode;
@@ -123,6 +139,29 @@ public abstract class EntitySpawner<T extends IEntity> implements IEntitySpawner
     this.spawnMode = mode;
   }
 
+  /**
+   * Sets a pool that provides the spawned entities. The pool gets registered once on the environment of each spawnpoint
+   * that is used, so that spawned entities are recycled as soon as they are removed from it. A previously set pool is
+   * unregistered from these environments.
+   * 
+   * <pre>
+   * spawner.setEntityPool(new EntityPool&lt;&gt;(spawner::createNew));
+   * </pre>
+   *
+   * @param entityPool
+   *          The entity pool or null to create a new entity for every spawn.
+   */
+  public void setEntityPool(final EntityPool<T> entityPool) {
+    if (this.entityPool != null) {
+      for (Environment environment : this.poolEnvironments) {
+        environment.removeEntityListener(this.entityPool);
+      }
+    }
+
+    this.poolEnvironments.clear();
+    this.entityPool = entityPool;
+  }
+
   @Override
   public void update() {
     if (!this.shouldSpawn()) {
@@ -184,8 +223,13 @@ public abstract class EntitySpawner<T extends IEntity> implements IEntitySpawner
     if (spawnpoint.getEnvironment() == null || !spawnpoint.getEnvironment().isLoaded()) {
       return;
     }
+    final EntityPool<T> pool = this.getEntityPool();
+    if (pool != null && this.poolEnvironments.add(spawnpoint.getEnvironment())) {
+      spawnpoint.getEnvironment().addEntityListener(pool);
+    }
+
     for (int i = 0; i < amount; i++) {
-      final T newEntity = this.createNew();
+      final T newEntity = pool != null ? pool.obtain() : this.createNew();
       spawnpoint.spawn(newEntity);
     }
   }
@@ -13,6 +13,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -24,7 +25,6 @@ import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import de.gurkenlabs.litiengine.Direction;
 import de.gurkenlabs.litiengine.Game;
@@ -35,6 +35,7 @@ import de.gurkenlabs.litiengine.entities.CollisionBox;
 import de.gurkenlabs.litiengine.entities.Creature;
 import de.gurkenlabs.litiengine.entities.EntityInfo;
 import de.gurkenlabs.litiengine.entities.EntityListener;
+import de.gurkenlabs.litiengine.entities.EntityTransformListener;
 import de.gurkenlabs.litiengine.entities.ICollisionEntity;
 import de.gurkenlabs.litiengine.entities.ICombatEntity;
 import de.gurkenlabs.litiengine.entities.IEntity;
@@ -57,17 +58,20 @@ import de.gurkenlabs.litiengine.environment.tilemap.xml.Blueprint;
 import de.gurkenlabs.litiengine.graphics.AmbientLight;
 import de.gurkenlabs.litiengine.graphics.ColorLayer;
 import de.gurkenlabs.litiengine.graphics.DebugRenderer;
+import de.gurkenlabs.litiengine.graphics.ICamera;
 import de.gurkenlabs.litiengine.graphics.IRenderable;
 import de.gurkenlabs.litiengine.graphics.RenderEngine;
 import de.gurkenlabs.litiengine.graphics.RenderType;
 import de.gurkenlabs.litiengine.graphics.StaticShadowLayer;
 import de.gurkenlabs.litiengine.graphics.StaticShadowType;
 import de.gurkenlabs.litiengine.graphics.emitters.Emitter;
+import de.gurkenlabs.litiengine.jfr.RenderStageEvent;
 import de.gurkenlabs.litiengine.physics.GravityForce;
 import de.gurkenlabs.litiengine.physics.IMovementController;
 import de.gurkenlabs.litiengine.resources.Resources;
 import de.gurkenlabs.litiengine.util.TimeUtilities;
 import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
+import de.gurkenlabs.litiengine.util.geom.SpatialHash;
 
 public final class Environment implements IRenderable {
   private static final Map<String, IMapObjectLoader> mapObjectLoaders = new ConcurrentHashMap<>();
@@ -83,6 +87,8 @@ public final class Environment implements IRenderable {
   private final Map<IMapObjectLayer, List<IEntity>> layerEntities = new ConcurrentHashMap<>();
   private final Map<String, Collection<IEntity>> entitiesByTag = new ConcurrentHashMap<>();
   private final Map<Integer, IEntity> allEntities = new ConcurrentHashMap<>();
+  private final Map<String, Collection<IEntity>> entitiesByName = new ConcurrentHashMap<>();
+  private final Map<Class<?>, EntityTypeView> entitiesByType = new ConcurrentHashMap<>();
 
   private final Map<RenderType, Collection<EnvironmentRenderedListener>> renderListeners = Collections.synchronizedMap(new EnumMap<>(RenderType.class));
   private final Collection<EnvironmentListener> listeners = ConcurrentHashMap.newKeySet();
@@ -99,6 +105,28 @@ public final class Environment implements IRenderable {
   private final Collection<MapArea> mapAreas = ConcurrentHashMap.newKeySet();
   private final Collection<Trigger> triggers = ConcurrentHashMap.newKeySet();
 
+  private final SpatialHash<IEntity> entityIndex = new SpatialHash<>();
+  private final SpatialHash<ICombatEntity> hitBoxIndex = new SpatialHash<>();
+  private final TriggerRegions triggerRegions = new TriggerRegions();
+  private final EntityTransformListener spatialIndexUpdater = new EntityTransformListener() {
+    @Override
+    public void locationChanged(IEntity entity) {
+      updateSpatialIndex(entity);
+    }
+
+    @Override
+    public void sizeChanged(IEntity entity) {
+      updateSpatialIndex(entity);
+    }
+  };
+  private final EntityListener nameIndexUpdater = new EntityListener() {
+    @Override
+    public void nameChanged(IEntity entity, String previousName) {
+      removeFromNameIndex(entity, previousName);
+      addToNameIndex(entity);
+    }
+  };
+
   private AmbientLight ambientLight;
   private StaticShadowLayer staticShadowLayer;
   private boolean loaded;
@@ -107,6 +135,9 @@ public final class Environment implements IRenderable {
 
   private int gravity;
 
+  // batches are confined to the thread that opened them, so changes from other threads are never deferred into them
+  private final ThreadLocal<Batch> currentBatch = new ThreadLocal<>();
+
   static {
     registerMapObjectLoader(new PropMapObjectLoader());
     registerMapObjectLoader(new CollisionBoxMapObjectLoader());
@@ -320,7 +351,7 @@ public final class Environment implements IRenderable {
     }
     this.addEntity(entity);
     this.miscEntities.get(entity.getRenderType()).put(entity.getMapId(), entity);
-    this.fireEntityEvent(l -> l.entityAdded(entity));
+    this.fireEntityAdded(entity);
   }
 
   /**
@@ -361,6 +392,45 @@ public final class Environment implements IRenderable {
     this.addAll(Arrays.asList(entities));
   }
 
+  /**
+   * Applies the specified changes to this environment as one batch.
+   * <p>
+   * While the batch is performed, lighting updates (e.g. caused by adding or removing a <code>LightSource</code> or a
+   * <code>StaticShadow</code>) are not performed immediately. Instead, all affected sections are merged and the lighting
+   * is updated only once after the changes were applied. Afterwards, the entity listeners are informed about all added
+   * and removed entities at once. Entities that are both added and removed within the batch don't cause any events.
+   * </p>
+   * <p>
+   * Batches can be nested, in which case the changes are committed once the outermost batch completes.
+   * </p>
+   * <p>
+   * A batch is confined to the thread that performs it: only the changes made by that thread are deferred. Changes that
+   * other threads make to this environment while the batch is open are applied and announced immediately, as usual.
+   * </p>
+   * 
+   * @param changes
+   *          The changes to apply to this environment.
+   * 
+   * @see EnvironmentEntityListener#entitiesAdded(Collection)
+   * @see EnvironmentEntityListener#entitiesRemoved(Collection)
+   */
+  public void batch(Consumer<Environment> changes) {
+    if (this.currentBatch.get() != null) {
+      // nested batches are committed with the outermost one
+      changes.accept(this);
+      return;
+    }
+
+    final Batch batch = new Batch();
+    this.currentBatch.set(batch);
+    try {
+      changes.accept(this);
+    } finally {
+      this.currentBatch.remove();
+      this.commitBatch(batch);
+    }
+  }
+
   /**
    * Forces an update on the lighting layers for the entire map.
    * 
@@ -385,6 +455,22 @@ public final class Environment implements IRenderable {
    * @see ColorLayer#updateSection(Rectangle2D)
    */
   public void updateLighting(Rectangle2D section) {
+    if (section == null) {
+      return;
+    }
+
+    final Batch batch = this.currentBatch.get();
+    if (batch != null) {
+      if (batch.lighting == null) {
+        batch.lighting = new Rectangle2D.Double();
+        batch.lighting.setRect(section);
+      } else {
+        Rectangle2D.union(batch.lighting, section, batch.lighting);
+      }
+
+      return;
+    }
+
     if (this.staticShadowLayer != null) {
       this.staticShadowLayer.updateSection(section);
     }
@@ -465,7 +551,21 @@ public final class Environment implements IRenderable {
     this.gravityForces.clear();
     this.layerEntities.clear();
     this.entitiesByTag.clear();
+    for (IEntity entity : this.allEntities.values()) {
+      entity.removeTransformListener(this.spatialIndexUpdater);
+      entity.removeListener(this.nameIndexUpdater);
+    }
+
     this.allEntities.clear();
+    this.entitiesByName.clear();
+    // keep the views because they might still be referenced
+    for (EntityTypeView view : this.entitiesByType.values()) {
+      view.entities.clear();
+    }
+
+    this.entityIndex.clear();
+    this.hitBoxIndex.clear();
+    this.triggerRegions.clear();
 
     for (RenderType renderType : RenderType.values()) {
       this.miscEntities.get(renderType).clear();
@@ -551,11 +651,14 @@ public final class Environment implements IRenderable {
       return foundCombatEntities;
     }
 
+    // only the combat entities whose hitbox bounds are close to the shape need to be checked
+    final Collection<ICombatEntity> candidates = this.hitBoxIndex.query(shape.getBounds2D());
+
     // for rectangle we can just use the intersects method
     if (shape instanceof Rectangle2D) {
       final Rectangle2D rect = (Rectangle2D) shape;
-      for (final ICombatEntity combatEntity : this.getCombatEntities().stream().filter(condition).collect(Collectors.toList())) {
-        if (combatEntity.getHitBox().intersects(rect)) {
+      for (final ICombatEntity combatEntity : candidates) {
+        if (condition.test(combatEntity) && combatEntity.getHitBox().intersects(rect)) {
           foundCombatEntities.add(combatEntity);
         }
       }
@@ -565,8 +668,8 @@ public final class Environment implements IRenderable {
 
     // for other shapes, we check if the shape's bounds intersect the hitbox and
     // if so, we then check if the actual shape intersects the hitbox
-    for (final ICombatEntity combatEntity : this.getCombatEntities().stream().filter(condition).collect(Collectors.toList())) {
-      if (combatEntity.getHitBox().intersects(shape.getBounds()) && GeometricUtilities.shapeIntersects(combatEntity.getHitBox(), shape)) {
+    for (final ICombatEntity combatEntity : candidates) {
+      if (condition.test(combatEntity) && combatEntity.getHitBox().intersects(shape.getBounds()) && GeometricUtilities.shapeIntersects(combatEntity.getHitBox(), shape)) {
         foundCombatEntities.add(combatEntity);
       }
     }
@@ -586,9 +689,12 @@ public final class Environment implements IRenderable {
     if (shape == null) {
       return foundEntities;
     }
+
+    // only the entities whose bounding box is close to the shape need to be checked
+    final Collection<IEntity> candidates = this.entityIndex.query(shape.getBounds2D());
     if (shape instanceof Rectangle2D) {
       final Rectangle2D rect = (Rectangle2D) shape;
-      for (final IEntity entity : this.allEntities.values()) {
+      for (final IEntity entity : candidates) {
         if (entity.getBoundingBox().intersects(rect)) {
           foundEntities.add(entity);
         }
@@ -597,7 +703,7 @@ public final class Environment implements IRenderable {
     }
     // for other shapes, we check if the shape's bounds intersect the hitbox
     // and then we then check if the actual shape intersects the hitbox
-    for (final IEntity entity : this.allEntities.values()) {
+    for (final IEntity entity : candidates) {
       if (entity.getBoundingBox().intersects(shape.getBounds()) && GeometricUtilities.shapeIntersects(entity.getBoundingBox(), shape)) {
         foundEntities.add(entity);
       }
@@ -668,17 +774,8 @@ public final class Environment implements IRenderable {
    * @return The entity with the specified name or null if no entity could be found or if the defined type doesn't match.
    */
   public IEntity get(final String name) {
-    if (name == null || name.isEmpty()) {
-      return null;
-    }
-
-    for (final IEntity entity : this.allEntities.values()) {
-      if (entity.getName() != null && entity.getName().equals(name)) {
-        return entity;
-      }
-    }
-
-    return null;
+    final Iterator<IEntity> entities = this.getEntitiesByName(name).iterator();
+    return entities.hasNext() ? entities.next() : null;
   }
 
   /**
@@ -693,12 +790,13 @@ public final class Environment implements IRenderable {
    * @return The strongly typed entity with the specified name or null if no entity could be found or if the defined type doesn't match.
    */
   public <T extends IEntity> T get(Class<T> clss, String name) {
-    IEntity ent = this.get(name);
-    if (ent == null || !clss.isInstance(ent)) {
-      return null;
+    for (final IEntity entity : this.getEntitiesByName(name)) {
+      if (clss.isInstance(entity)) {
+        return clss.cast(entity);
+      }
     }
 
-    return clss.cast(ent);
+    return null;
   }
 
   /**
@@ -956,7 +1054,7 @@ public final class Environment implements IRenderable {
    * @see #getCombatEntities()
    */
   public ICombatEntity getCombatEntity(final int mapId) {
-    return getById(this.combatEntities.values(), mapId);
+    return getById(this.combatEntities, mapId);
   }
 
   /**
@@ -971,7 +1069,7 @@ public final class Environment implements IRenderable {
    * @see #getCombatEntities()
    */
   public ICombatEntity getCombatEntity(String name) {
-    return getByName(this.combatEntities.values(), name);
+    return getByName(this.combatEntities, name);
   }
 
   /**
@@ -994,6 +1092,12 @@ public final class Environment implements IRenderable {
 
   /**
    * Gets all entities of the specified type on this environment.
+   * <p>
+   * The returned collection is a read-only view that reflects subsequent additions and removals of entities and that can
+   * be iterated while entities are added or removed. Like {@link #getEntities()}, it doesn't have a defined order. The
+   * view for a type is created on the first request and maintained by this environment afterwards, so repeated calls for
+   * the same type neither allocate anything nor need to look at any other entities.
+   * </p>
    * 
    * @param <T>
    *          The type of the entity.
@@ -1002,15 +1106,9 @@ public final class Environment implements IRenderable {
    * 
    * @return All entities of the specified type.
    */
+  @SuppressWarnings("unchecked")
   public <T> Collection<T> getEntities(Class<? extends T> cls) {
-    Collection<T> foundEntities = new ArrayList<>();
-    for (IEntity ent : this.allEntities.values()) {
-      if (cls.isInstance(ent)) {
-        foundEntities.add(cls.cast(ent));
-      }
-    }
-
-    return foundEntities;
+    return (Collection<T>) this.getEntityTypeView(cls).readOnly;
   }
 
   /**
@@ -1027,13 +1125,10 @@ public final class Environment implements IRenderable {
    */
   public <T> Collection<T> getEntities(Class<? extends T> cls, Predicate<T> pred) {
     Collection<T> foundEntities = new ArrayList<>();
-    for (IEntity ent : this.allEntities.values()) {
-      if (cls.isInstance(ent)) {
-        T entity = cls.cast(ent);
-
-        if (pred.test(entity)) {
-          foundEntities.add(entity);
-        }
+    for (IEntity ent : this.getEntityTypeView(cls).entities) {
+      T entity = cls.cast(ent);
+      if (pred.test(entity)) {
+        foundEntities.add(entity);
       }
     }
 
@@ -1236,7 +1331,7 @@ public final class Environment implements IRenderable {
    * @see #getMobileEntities()
    */
   public IMobileEntity getMobileEntity(final int mapId) {
-    return getById(this.mobileEntities.values(), mapId);
+    return getById(this.mobileEntities, mapId);
   }
 
   /**
@@ -1251,7 +1346,7 @@ public final class Environment implements IRenderable {
    * @see #getMobileEntities()
    */
   public IMobileEntity getMobileEntity(String name) {
-    return getByName(this.mobileEntities.values(), name);
+    return getByName(this.mobileEntities, name);
   }
 
   /**
@@ -1523,6 +1618,19 @@ public final class Environment implements IRenderable {
     return getByName(this.triggers, name);
   }
 
+  /**
+   * Gets the {@link TriggerRegions} that determine which entities overlap the collision triggers of this environment.
+   * <p>
+   * <i>The trigger regions are attached to the game loop while this environment is loaded. There is typically no need to
+   * update them explicitly.</i>
+   * </p>
+   *
+   * @return The trigger regions of this environment.
+   */
+  public TriggerRegions getTriggerRegions() {
+    return this.triggerRegions;
+  }
+
   /**
    * Gets all tags that are assigned to entities on this environment.
    * 
@@ -1594,6 +1702,7 @@ public final class Environment implements IRenderable {
 
     this.allEntities.values().stream().forEach(this::load);
     this.updateLighting();
+    Game.loop().attach(this.triggerRegions);
     this.loaded = true;
     this.fireEvent(l -> l.loaded(this));
   }
@@ -1665,7 +1774,7 @@ public final class Environment implements IRenderable {
           if (mapObject.getLayer() != null && entity.renderWithLayer()) {
             this.addEntity(entity);
             this.layerEntities.computeIfAbsent(mapObject.getLayer(), m -> new CopyOnWriteArrayList<>()).add(entity);
-            this.fireEntityEvent(l -> l.entityAdded(entity));
+            this.fireEntityAdded(entity);
           } else {
             this.add(entity);
           }
@@ -1734,6 +1843,18 @@ public final class Environment implements IRenderable {
     }
 
     this.allEntities.remove(entity.getMapId());
+    for (EntityTypeView view : this.entitiesByType.values()) {
+      view.entities.remove(entity);
+    }
+
+    entity.removeListener(this.nameIndexUpdater);
+    this.removeFromNameIndex(entity, entity.getName());
+    entity.removeTransformListener(this.spatialIndexUpdater);
+    this.entityIndex.remove(entity);
+    if (entity instanceof ICombatEntity) {
+      this.hitBoxIndex.remove((ICombatEntity) entity);
+    }
+
     Iterator<List<IEntity>> iter = this.layerEntities.values().iterator();
     while (iter.hasNext()) {
       List<IEntity> layer = iter.next();
@@ -1784,6 +1905,7 @@ public final class Environment implements IRenderable {
 
     if (entity instanceof Trigger) {
       this.triggers.remove(entity);
+      this.triggerRegions.remove((Trigger) entity);
     }
 
     if (entity instanceof Spawnpoint) {
@@ -1805,7 +1927,7 @@ public final class Environment implements IRenderable {
 
     this.unload(entity);
 
-    this.fireEntityEvent(l -> l.entityRemoved(entity));
+    this.fireEntityRemoved(entity);
   }
 
   /**
@@ -1903,7 +2025,8 @@ public final class Environment implements IRenderable {
     g.scale(Game.world().camera().getRenderScale(), Game.world().camera().getRenderScale());
     if (this.getMap() != null && this.getMap().getBackgroundColor() != null) {
       g.setColor(this.getMap().getBackgroundColor());
-      g.fill(new Rectangle2D.Double(0.0, 0.0, Game.world().camera().getViewport().getWidth(), Game.world().camera().getViewport().getHeight()));
+      final ICamera camera = Game.world().camera();
+      g.fill(new Rectangle2D.Double(0.0, 0.0, camera.getViewportMaxX() - camera.getViewportMinX(), camera.getViewportMaxY() - camera.getViewportMinY()));
     }
 
     this.render(g, RenderType.BACKGROUND);
@@ -2004,31 +2127,104 @@ public final class Environment implements IRenderable {
       this.unload(entity);
     }
 
+    Game.loop().detach(this.triggerRegions);
     this.loaded = false;
     this.fireEvent(l -> l.unloaded(this));
   }
 
-  private static <T extends IEntity> T getById(Collection<T> entities, int mapId) {
-    for (final T m : entities) {
-      if (m.getMapId() == mapId) {
-        return m;
+  @SuppressWarnings("unchecked")
+  private <T extends IEntity> T getById(Collection<T> entities, int mapId) {
+    // the typed collections are hash based sets, so this check doesn't require a scan
+    final IEntity entity = this.allEntities.get(mapId);
+    return entity != null && entities.contains(entity) ? (T) entity : null;
+  }
+
+  private static <T extends IEntity> T getById(Map<Integer, T> entities, int mapId) {
+    return entities.get(mapId);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T extends IEntity> T getByName(Collection<T> entities, String name) {
+    for (final IEntity entity : this.getEntitiesByName(name)) {
+      if (entities.contains(entity)) {
+        return (T) entity;
+      }
+    }
+
+    return null;
+  }
+
+  private <T extends IEntity> T getByName(Map<Integer, T> entities, String name) {
+    for (final IEntity entity : this.getEntitiesByName(name)) {
+      final T typed = entities.get(entity.getMapId());
+      if (typed == entity) {
+        return typed;
       }
     }
 
     return null;
   }
 
-  private static <T extends IEntity> T getByName(Collection<T> entities, String name) {
+  private EntityTypeView getEntityTypeView(Class<?> cls) {
+    final EntityTypeView view = this.entitiesByType.get(cls);
+    if (view != null) {
+      return view;
+    }
+
+    final EntityTypeView newView = new EntityTypeView();
+    final EntityTypeView existing = this.entitiesByType.putIfAbsent(cls, newView);
+    if (existing != null) {
+      return existing;
+    }
+
+    // the view is published before it is populated: an entity that is added concurrently is either already contained in
+    // allEntities or it is added to the view by addEntity, and an entity that is removed concurrently is either removed
+    // from the view by remove or it is no longer contained in allEntities when it is checked again
+    for (IEntity entity : this.allEntities.values()) {
+      if (cls.isInstance(entity)) {
+        newView.entities.add(entity);
+        if (this.allEntities.get(entity.getMapId()) != entity) {
+          newView.entities.remove(entity);
+        }
+      }
+    }
+
+    return newView;
+  }
+
+  private Collection<IEntity> getEntitiesByName(String name) {
     if (name == null || name.isEmpty()) {
-      return null;
+      return Collections.emptyList();
     }
 
-    for (final T m : entities) {
-      if (m.getName() != null && m.getName().equals(name)) {
-        return m;
+    return this.entitiesByName.getOrDefault(name, Collections.emptyList());
+  }
+
+  private void addToNameIndex(IEntity entity) {
+    if (entity.getName() == null || entity.getName().isEmpty()) {
+      return;
+    }
+
+    // adding within compute keeps a concurrent removal from discarding the list in between
+    this.entitiesByName.compute(entity.getName(), (n, entities) -> {
+      final Collection<IEntity> named = entities != null ? entities : new CopyOnWriteArrayList<>();
+      if (!named.contains(entity)) {
+        named.add(entity);
       }
+
+      return named;
+    });
+  }
+
+  private void removeFromNameIndex(IEntity entity, String name) {
+    if (name == null || name.isEmpty()) {
+      return;
     }
-    return null;
+
+    this.entitiesByName.computeIfPresent(name, (n, entities) -> {
+      entities.remove(entity);
+      return entities.isEmpty() ? null : entities;
+    });
   }
 
   private static void loadPhysicsEntity(IEntity entity) {
@@ -2046,7 +2242,8 @@ public final class Environment implements IRenderable {
       if (emitter.isActivateOnInit()) {
         emitter.activate();
       }
-    } else if (entity instanceof IUpdateable) {
+    } else if (entity instanceof IUpdateable && !(entity instanceof Trigger)) {
+      // triggers are updated by the trigger regions of the environment
       Game.loop().attach((IUpdateable) entity);
     }
   }
@@ -2063,6 +2260,8 @@ public final class Environment implements IRenderable {
 
   private void render(Graphics2D g, RenderType renderType) {
     long renderStart = System.nanoTime();
+    final RenderStageEvent event = new RenderStageEvent();
+    event.begin();
 
     // 1. Render map layers
     if (this.getMap() != null) {
@@ -2080,6 +2279,15 @@ public final class Environment implements IRenderable {
     // 4. fire event
     this.fireRenderEvent(g, renderType);
 
+    event.end();
+    if (event.shouldCommit()) {
+      event.setMap(this.getMap() != null ? this.getMap().getName() : null);
+      event.setRenderType(renderType.name());
+      event.setRenderables(this.getRenderables(renderType).size());
+      event.setEntities(this.miscEntities.get(renderType).size());
+      event.commit();
+    }
+
     if (Game.config().debug().trackRenderTimes()) {
       final double renderTime = TimeUtilities.nanoToMs(System.nanoTime() - renderStart);
       Game.metrics().trackRenderTime(renderType.toString().toLowerCase(), renderTime,
@@ -2131,6 +2339,11 @@ public final class Environment implements IRenderable {
     // 4. attach all controllers
     entity.attachControllers();
 
+    // the activation type of a trigger might have changed since it was added
+    if (entity instanceof Trigger) {
+      this.triggerRegions.updateRegion((Trigger) entity);
+    }
+
     if (this.loaded && (entity instanceof LightSource || entity instanceof StaticShadow)) {
       this.updateLighting(entity);
     }
@@ -2274,7 +2487,36 @@ public final class Environment implements IRenderable {
       this.load(entity);
     }
 
-    this.allEntities.put(entity.getMapId(), entity);
+    final IEntity replaced = this.allEntities.put(entity.getMapId(), entity);
+    for (Entry<Class<?>, EntityTypeView> view : this.entitiesByType.entrySet()) {
+      if (replaced != null && replaced != entity) {
+        // an entity with the same map id is replaced, like in the map id index
+        view.getValue().entities.remove(replaced);
+      }
+
+      if (view.getKey().isInstance(entity)) {
+        view.getValue().entities.add(entity);
+      }
+    }
+
+    this.addToNameIndex(entity);
+    entity.addListener(this.nameIndexUpdater);
+
+    // keep the spatial index up to date whenever the entity is moved or resized
+    entity.addTransformListener(this.spatialIndexUpdater);
+    this.updateSpatialIndex(entity);
+  }
+
+  private void updateSpatialIndex(IEntity entity) {
+    this.entityIndex.put(entity, entity.getBoundingBox());
+    if (entity instanceof ICombatEntity) {
+      final Shape hitBox = ((ICombatEntity) entity).getHitBox();
+      this.hitBoxIndex.put((ICombatEntity) entity, hitBox != null ? hitBox.getBounds2D() : null);
+    }
+
+    if (entity instanceof Trigger) {
+      this.triggerRegions.updateRegion((Trigger) entity);
+    }
   }
 
   private void addEmitter(Emitter emitter) {
@@ -2324,9 +2566,66 @@ public final class Environment implements IRenderable {
     }
   }
 
+  private void fireEntityAdded(IEntity entity) {
+    final Batch batch = this.currentBatch.get();
+    if (batch != null) {
+      // an entity that is removed and added again within the same batch doesn't need to cause any event
+      if (!batch.removed.remove(entity)) {
+        batch.added.add(entity);
+      }
+
+      return;
+    }
+
+    this.fireEntityEvent(l -> l.entityAdded(entity));
+  }
+
+  private void fireEntityRemoved(IEntity entity) {
+    final Batch batch = this.currentBatch.get();
+    if (batch != null) {
+      if (!batch.added.remove(entity)) {
+        batch.removed.add(entity);
+      }
+
+      return;
+    }
+
+    this.fireEntityEvent(l -> l.entityRemoved(entity));
+  }
+
+  private void commitBatch(Batch batch) {
+    if (batch.lighting != null) {
+      this.updateLighting(batch.lighting);
+    }
+
+    if (!batch.removed.isEmpty()) {
+      final Collection<IEntity> removed = Collections.unmodifiableList(new ArrayList<>(batch.removed));
+      this.fireEntityEvent(l -> l.entitiesRemoved(removed));
+    }
+
+    if (!batch.added.isEmpty()) {
+      final Collection<IEntity> added = Collections.unmodifiableList(new ArrayList<>(batch.added));
+      this.fireEntityEvent(l -> l.entitiesAdded(added));
+    }
+  }
+
   private void fireEntityEvent(Consumer<EnvironmentEntityListener> cons) {
     for (EnvironmentEntityListener listener : this.entityListeners) {
       cons.accept(listener);
     }
   }
+
+  private static final class EntityTypeView {
+    private final Collection<IEntity> entities = ConcurrentHashMap.newKeySet();
+    private final Collection<IEntity> readOnly = Collections.unmodifiableCollection(this.entities);
+  }
+
+  /**
+   * The changes that have been deferred by the batch of one thread.
+   */
+  private static final class Batch {
+    private final Collection<IEntity> added = new LinkedHashSet<>();
+    private final Collection<IEntity> removed = new LinkedHashSet<>();
+    private Rectangle2D lighting;
+  }
 }
\ No newline at end of file
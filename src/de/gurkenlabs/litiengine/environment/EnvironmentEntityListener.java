@@ -1,5 +1,6 @@
 package de.gurkenlabs.litiengine.environment;
 
+import java.util.Collection;
 import java.util.EventListener;
 
 import de.gurkenlabs.litiengine.entities.IEntity;
@@ -8,4 +9,38 @@ public interface EnvironmentEntityListener extends EventListener {
   public default void entityAdded(IEntity entity) {}
 
   public default void entityRemoved(IEntity entity) {}
+
+  /**
+   * This method is called once for all entities that were added within a batch.
+   * <p>
+   * By default, this calls {@link #entityAdded(IEntity)} for every entity.
+   * </p>
+   * 
+   * @param entities
+   *          The entities that were added.
+   * 
+   * @see Environment#batch(java.util.function.Consumer)
+   */
+  public default void entitiesAdded(Collection<IEntity> entities) {
+    for (IEntity entity : entities) {
+      this.entityAdded(entity);
+    }
+  }
+
+  /**
+   * This method is called once for all entities that were removed within a batch.
+   * <p>
+   * By default, this calls {@link #entityRemoved(IEntity)} for every entity.
+   * </p>
+   * 
+   * @param entities
+   *          The entities that were removed.
+   * 
+   * @see Environment#batch(java.util.function.Consumer)
+   */
+  public default void entitiesRemoved(Collection<IEntity> entities) {
+    for (IEntity entity : entities) {
+      this.entityRemoved(entity);
+    }
+  }
 }
@@ -14,6 +14,8 @@ import de.gurkenlabs.litiengine.entities.IMobileEntity;
 import de.gurkenlabs.litiengine.environment.tilemap.IMap;
 import de.gurkenlabs.litiengine.graphics.Camera;
 import de.gurkenlabs.litiengine.graphics.ICamera;
+import de.gurkenlabs.litiengine.jfr.EnvironmentLoadEvent;
+import de.gurkenlabs.litiengine.jfr.EnvironmentUnloadEvent;
 import de.gurkenlabs.litiengine.resources.Resources;
 
 /**
@@ -377,7 +379,16 @@ public final class GameWorld implements IUpdateable {
           env.setGravity(this.gravity());
         }
 
+        final EnvironmentLoadEvent event = new EnvironmentLoadEvent();
+        event.begin();
         env.load();
+        event.end();
+        if (event.shouldCommit()) {
+          event.setMap(getMapName(env));
+          event.setEntities(env.getEntities().size());
+          event.commit();
+        }
+
         for (final EnvironmentLoadedListener listener : this.loadedListeners) {
           listener.loaded(env);
         }
@@ -448,7 +459,15 @@ public final class GameWorld implements IUpdateable {
    */
   public void unloadEnvironment() {
     if (this.environment() != null) {
+      final EnvironmentUnloadEvent event = new EnvironmentUnloadEvent();
+      event.begin();
       this.environment().unload();
+      event.end();
+      if (event.shouldCommit()) {
+        event.setMap(getMapName(this.environment()));
+        event.setEntities(this.environment().getEntities().size());
+        event.commit();
+      }
 
       for (final EnvironmentUnloadedListener listener : this.unloadedListeners) {
         listener.unloaded(this.environment());
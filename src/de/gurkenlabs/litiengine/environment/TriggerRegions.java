@@ -0,0 +1,143 @@
+package de.gurkenlabs.litiengine.environment;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.IUpdateable;
+import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+import de.gurkenlabs.litiengine.entities.IEntity;
+import de.gurkenlabs.litiengine.entities.Trigger;
+import de.gurkenlabs.litiengine.entities.Trigger.TriggerActivation;
+import de.gurkenlabs.litiengine.util.geom.SpatialHash;
+
+/**
+ * Keeps track of the regions of all {@link TriggerActivation#COLLISION} triggers of an environment and determines which
+ * collision entities overlap them.
+ * <p>
+ * Instead of letting every trigger test all collision entities, this performs a single overlap pass per tick: every
+ * collision entity queries the grid of trigger regions once and the results are handed to the affected triggers which
+ * then send their activation and deactivation events.
+ * </p>
+ *
+ * @see Trigger#updateCollisions(java.util.Collection)
+ * @see Environment#getTriggerRegions()
+ */
+public final class TriggerRegions implements IUpdateable {
+  private final SpatialHash<Trigger> regions = new SpatialHash<>();
+
+  // the overlap lists are kept between ticks to avoid allocating new ones for every update
+  private final Map<Trigger, List<IEntity>> overlaps = new ConcurrentHashMap<>();
+  private final Collection<Trigger> occupied = new LinkedHashSet<>();
+  private final Collection<Trigger> pending = new LinkedHashSet<>();
+
+  TriggerRegions() {
+  }
+
+  /**
+   * Performs the overlap pass for all registered triggers.
+   * <p>
+   * Only triggers that are overlapped by any collision entity or that were overlapped during the previous pass get
+   * updated, so that entities which left a trigger are deactivated.
+   * </p>
+   */
+  @Override
+  public void update() {
+    // the pending triggers are only accessed by one pass at a time, the regions are guarded by the lock of this instance
+    synchronized (this.pending) {
+      synchronized (this) {
+        if (this.regions.size() == 0 && this.occupied.isEmpty()) {
+          return;
+        }
+
+        for (final List<IEntity> entities : this.overlaps.values()) {
+          entities.clear();
+        }
+
+        for (final ICollisionEntity entity : Game.physics().getCollisionEntities()) {
+          final Rectangle2D collisionBox = entity.getCollisionBox();
+          if (collisionBox == null) {
+            continue;
+          }
+
+          this.regions.query(collisionBox, trigger -> {
+            if (entity != trigger && canActivate(trigger, entity) && collisionBox.intersects(trigger.getCollisionBox())) {
+              this.overlaps.computeIfAbsent(trigger, t -> new ArrayList<>()).add(entity);
+            }
+          });
+        }
+
+        // triggers that were occupied during the last pass need an update to send their deactivation events
+        this.pending.clear();
+        this.pending.addAll(this.occupied);
+        this.occupied.clear();
+        for (final Map.Entry<Trigger, List<IEntity>> entry : this.overlaps.entrySet()) {
+          if (!entry.getValue().isEmpty()) {
+            this.occupied.add(entry.getKey());
+            this.pending.add(entry.getKey());
+          }
+        }
+      }
+
+      // the triggers are updated without holding the lock of the regions because activating a trigger might remove it
+      // from the environment
+      for (final Trigger trigger : this.pending) {
+        final List<IEntity> entities = this.overlaps.get(trigger);
+        trigger.updateCollisions(entities != null ? entities : Collections.emptyList());
+      }
+    }
+  }
+
+  /**
+   * Determines whether the region of the specified trigger is tracked by this instance.
+   *
+   * @param trigger
+   *          The trigger to check.
+   * @return True if the trigger is updated by the overlap pass of this instance; otherwise false.
+   */
+  public boolean contains(final Trigger trigger) {
+    return this.regions.contains(trigger);
+  }
+
+  /**
+   * Adds the region of the specified trigger or updates it if the trigger was already registered. Triggers that are not
+   * activated by collision are removed.
+   *
+   * @param trigger
+   *          The trigger whose region is updated.
+   * 
+   * @see Trigger#setActivationType(TriggerActivation)
+   */
+  public synchronized void updateRegion(final Trigger trigger) {
+    if (trigger.getActivationType() != TriggerActivation.COLLISION) {
+      this.remove(trigger);
+      return;
+    }
+
+    // the collision box is determined from the location because this is called while the trigger is moved or resized,
+    // before its cached collision box is refreshed
+    this.regions.put(trigger, trigger.getCollisionBox(trigger.getLocation()));
+  }
+
+  synchronized void remove(final Trigger trigger) {
+    this.regions.remove(trigger);
+    this.overlaps.remove(trigger);
+    this.occupied.remove(trigger);
+  }
+
+  synchronized void clear() {
+    this.regions.clear();
+    this.overlaps.clear();
+    this.occupied.clear();
+  }
+
+  private static boolean canActivate(final Trigger trigger, final IEntity entity) {
+    return trigger.getActivators().isEmpty() || trigger.getActivators().contains(entity.getMapId());
+  }
+}
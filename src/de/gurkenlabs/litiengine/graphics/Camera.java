@@ -84,26 +84,71 @@ public class Camera implements ICamera {
     return (Rectangle2D) this.viewport.clone();
   }
 
+  @Override
+  public Rectangle2D getViewport(final Rectangle2D result) {
+    result.setRect(this.viewport);
+    return result;
+  }
+
+  @Override
+  public double getViewportMinX() {
+    return this.viewport.getX();
+  }
+
+  @Override
+  public double getViewportMinY() {
+    return this.viewport.getY();
+  }
+
+  @Override
+  public double getViewportMaxX() {
+    return this.viewport.getMaxX();
+  }
+
+  @Override
+  public double getViewportMaxY() {
+    return this.viewport.getMaxY();
+  }
+
   @Override
   public Point2D getViewportDimensionCenter(final IEntity entity) {
-    final Point2D viewPortLocation = this.getViewportLocation(entity);
+    return this.getViewportDimensionCenter(entity, new Point2D.Double());
+  }
+
+  @Override
+  public Point2D getViewportDimensionCenter(final IEntity entity, final Point2D result) {
+    final double viewPortX = this.getViewportLocationX(entity.getX());
+    final double viewPortY = this.getViewportLocationY(entity.getY());
 
     final IAnimationController animationController = entity.animations();
     if (animationController == null || animationController.getCurrent() == null) {
-      return new Point2D.Double(viewPortLocation.getX() + entity.getWidth() * 0.5, viewPortLocation.getY() + entity.getHeight() * 0.5);
+      result.setLocation(viewPortX + entity.getWidth() * 0.5, viewPortY + entity.getHeight() * 0.5);
+      return result;
     }
 
     final Spritesheet spriteSheet = animationController.getCurrent().getSpritesheet();
     if (spriteSheet == null) {
-      return viewPortLocation;
+      result.setLocation(viewPortX, viewPortY);
+      return result;
     }
 
-    return new Point2D.Double(viewPortLocation.getX() + spriteSheet.getSpriteWidth() * 0.5, viewPortLocation.getY() + spriteSheet.getSpriteHeight() * 0.5);
+    result.setLocation(viewPortX + spriteSheet.getSpriteWidth() * 0.5, viewPortY + spriteSheet.getSpriteHeight() * 0.5);
+    return result;
   }
 
   @Override
   public Point2D getViewportLocation(final double x, final double y) {
-    return new Point2D.Double(x + this.getPixelOffsetX(), y + this.getPixelOffsetY());
+    return new Point2D.Double(this.getViewportLocationX(x), this.getViewportLocationY(y));
+  }
+
+  @Override
+  public double getViewportLocationX(final double x) {
+    return x - this.viewport.getX();
+  }
+
+  @Override
+  public double getViewportLocationY(final double y) {
+    return y - this.viewport.getY();
   }
 
   @Override
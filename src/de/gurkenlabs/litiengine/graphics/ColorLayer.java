@@ -29,8 +29,7 @@ public abstract class ColorLayer implements IRenderable {
 
   @Override
   public void render(Graphics2D g) {
-    final Rectangle2D viewport = Game.world().camera().getViewport();
-    ImageRenderer.render(g, this.layer, -viewport.getX(), -viewport.getY());
+    ImageRenderer.render(g, this.layer, -Game.world().camera().getViewportMinX(), -Game.world().camera().getViewportMinY());
   }
 
   public Color getColor() {
@@ -144,8 +144,9 @@ public final class DebugRenderer {
   private static void drawMapId(final Graphics2D g, final IEntity entity) {
     g.setColor(Color.RED);
     g.setFont(g.getFont().deriveFont(Font.PLAIN, 4f));
-    final double x = Game.world().camera().getViewportDimensionCenter(entity).getX() + 10;
-    final double y = Game.world().camera().getViewportDimensionCenter(entity).getY();
+    final Point2D center = Game.world().camera().getViewportDimensionCenter(entity);
+    final double x = center.getX() + 10;
+    final double y = center.getY();
     TextRenderer.render(g, Integer.toString(entity.getMapId()), x, y);
     final String locationString = new DecimalFormat("##.##").format(entity.getX()) + ";" + new DecimalFormat("##.##").format(entity.getY());
     TextRenderer.render(g, locationString, x, y + 5.0);
@@ -91,6 +91,72 @@ public interface ICamera extends IUpdateable {
    */
   public Rectangle2D getViewport();
 
+  /**
+   * Copies the camera's viewport region into the specified rectangle instead of allocating a new one.
+   *
+   * @param result
+   *          The rectangle that receives the viewport region.
+   * @return The specified rectangle, containing the viewport region, in screen coordinates.
+   * 
+   * @see #getViewport()
+   */
+  public default Rectangle2D getViewport(Rectangle2D result) {
+    result.setFrame(this.getViewportMinX(), this.getViewportMinY(), this.getViewportMaxX() - this.getViewportMinX(), this.getViewportMaxY() - this.getViewportMinY());
+    return result;
+  }
+
+  /**
+   * Gets the smallest x coordinate of the camera's viewport region.
+   *
+   * @return the viewport's min x coordinate
+   */
+  public default double getViewportMinX() {
+    return -this.getPixelOffsetX();
+  }
+
+  /**
+   * Gets the smallest y coordinate of the camera's viewport region.
+   *
+   * @return the viewport's min y coordinate
+   */
+  public default double getViewportMinY() {
+    return -this.getPixelOffsetY();
+  }
+
+  /**
+   * Gets the largest x coordinate of the camera's viewport region.
+   *
+   * @return the viewport's max x coordinate
+   */
+  public default double getViewportMaxX() {
+    return this.getViewport().getMaxX();
+  }
+
+  /**
+   * Gets the largest y coordinate of the camera's viewport region.
+   *
+   * @return the viewport's max y coordinate
+   */
+  public default double getViewportMaxY() {
+    return this.getViewport().getMaxY();
+  }
+
+  /**
+   * Determines whether the specified rectangle intersects with the camera's viewport region without allocating any
+   * intermediate objects.
+   *
+   * @param bounds
+   *          The rectangle to check, in map coordinates.
+   * @return True if the rectangle is (partially) visible in the viewport; otherwise false.
+   */
+  public default boolean intersectsViewport(Rectangle2D bounds) {
+    if (bounds == null || bounds.isEmpty()) {
+      return false;
+    }
+
+    return bounds.getMaxX() > this.getViewportMinX() && bounds.getX() < this.getViewportMaxX() && bounds.getMaxY() > this.getViewportMinY() && bounds.getY() < this.getViewportMaxY();
+  }
+
   /**
    * Gets the center of the entity, in screen coordinates.
    * 
@@ -100,6 +166,42 @@ public interface ICamera extends IUpdateable {
    */
   public Point2D getViewportDimensionCenter(IEntity entity);
 
+  /**
+   * Gets the center of the entity, in screen coordinates, and stores it in the specified point.
+   * 
+   * @param entity
+   *          The entity to retrieve the dimension center for.
+   * @param result
+   *          The point that receives the center.
+   * @return The specified point, containing the center, in screen coordinates.
+   */
+  public default Point2D getViewportDimensionCenter(IEntity entity, Point2D result) {
+    result.setLocation(this.getViewportDimensionCenter(entity));
+    return result;
+  }
+
+  /**
+   * Converts an x-coordinate in map coordinates into screen coordinates.
+   *
+   * @param x
+   *          The x-coordinate in map coordinates.
+   * @return the x-coordinate in screen coordinates
+   */
+  public default double getViewportLocationX(double x) {
+    return x + this.getPixelOffsetX();
+  }
+
+  /**
+   * Converts a y-coordinate in map coordinates into screen coordinates.
+   *
+   * @param y
+   *          The y-coordinate in map coordinates.
+   * @return the y-coordinate in screen coordinates
+   */
+  public default double getViewportLocationY(double y) {
+    return y + this.getPixelOffsetY();
+  }
+
   /**
    * Converts a location in map coordinates into screen coordinates.
    *
@@ -111,6 +213,22 @@ public interface ICamera extends IUpdateable {
    */
   public Point2D getViewportLocation(double x, double y);
 
+  /**
+   * Converts a location in map coordinates into screen coordinates and stores it in the specified point.
+   *
+   * @param x
+   *          The x-coordinate of the viewport location.
+   * @param y
+   *          The y-coordinate of the viewport location.
+   * @param result
+   *          The point that receives the screen location.
+   * @return The specified point, containing the screen location.
+   */
+  public default Point2D getViewportLocation(double x, double y, Point2D result) {
+    result.setLocation(this.getViewportLocationX(x), this.getViewportLocationY(y));
+    return result;
+  }
+
   /**
    * Converts the entity's location into screen coordinates.
    *
@@ -156,9 +156,9 @@ public final class RenderEngine {
       return;
     }
 
-    final Point2D viewPortLocation = Game.world().camera().getViewportLocation(x, y);
-    double viewPortX = (float) viewPortLocation.getX() * Game.world().camera().getRenderScale();
-    double yiewPortY = (float) viewPortLocation.getY() * Game.world().camera().getRenderScale();
+    final ICamera camera = Game.world().camera();
+    double viewPortX = (float) camera.getViewportLocationX(x) * camera.getRenderScale();
+    double yiewPortY = (float) camera.getViewportLocationY(y) * camera.getRenderScale();
 
     TextRenderer.render(g, text, viewPortX, yiewPortY, antialias);
   }
@@ -382,8 +382,8 @@ public final class RenderEngine {
    *          The location of the image.
    */
   public void renderImage(Graphics2D g, final Image image, Point2D location) {
-    Point2D viewPortLocation = Game.world().camera().getViewportLocation(location);
-    ImageRenderer.render(g, image, viewPortLocation.getX() * Game.world().camera().getRenderScale(), viewPortLocation.getY() * Game.world().camera().getRenderScale());
+    final ICamera camera = Game.world().camera();
+    ImageRenderer.render(g, image, camera.getViewportLocationX(location.getX()) * camera.getRenderScale(), camera.getViewportLocationY(location.getY()) * camera.getRenderScale());
   }
 
   /**
@@ -417,7 +417,8 @@ public final class RenderEngine {
     // in order to render the entities in a 2.5D manner, we sort them by their
     // max Y Coordinate
 
-    final List<? extends IEntity> entitiesToRender = entities.stream().filter(x -> Game.world().camera().getViewport().intersects(x.getBoundingBox())).collect(Collectors.toList());
+    final ICamera camera = Game.world().camera();
+    final List<? extends IEntity> entitiesToRender = entities.stream().filter(x -> camera.intersectsViewport(x.getBoundingBox())).collect(Collectors.toList());
 
     if (sort) {
       // THIS COSTS THE MOST TIME OF THE RENDERING LOOP... MAYBE USE A
@@ -490,7 +491,7 @@ public final class RenderEngine {
         if (animationController.isAutoScaling()) {
           final double ratioX = entity.getWidth() / img.getWidth();
           final double ratioY = entity.getHeight() / img.getHeight();
-          ImageRenderer.renderScaled(g, img, Game.world().camera().getViewportLocation(entity.getLocation()), ratioX, ratioY);
+          ImageRenderer.renderScaled(g, img, Game.world().camera().getViewportLocationX(entity.getX()), Game.world().camera().getViewportLocationY(entity.getY()), ratioX, ratioY);
         } else {
           // center the image relative to the entity dimensions -> the pivot point for rendering is the center of the entity
           double deltaX = (entity.getWidth() - img.getWidth()) / 2.0;
@@ -503,12 +504,13 @@ public final class RenderEngine {
             deltaY += (img.getHeight() - (img.getHeight() * transform.getScaleY())) / 2.0;
           }
 
-          Point2D renderLocation = Game.world().camera().getViewportLocation(entity.getX() + deltaX, entity.getY() + deltaY);
-          ImageRenderer.renderTransformed(g, img, renderLocation.getX(), renderLocation.getY(), transform);
+          final double renderX = Game.world().camera().getViewportLocationX(entity.getX() + deltaX);
+          final double renderY = Game.world().camera().getViewportLocationY(entity.getY() + deltaY);
+          ImageRenderer.renderTransformed(g, img, renderX, renderY, transform);
 
           if (Game.config().debug().renderBoundingBoxes()) {
             g.setColor(new Color(255, 0, 0, 50));
-            ShapeRenderer.renderOutlineTransformed(g, new Rectangle2D.Double(renderLocation.getX(), renderLocation.getY(), img.getWidth(), img.getWidth()), animationController.getAffineTransform(), 0.25f);
+            ShapeRenderer.renderOutlineTransformed(g, new Rectangle2D.Double(renderX, renderY, img.getWidth(), img.getWidth()), animationController.getAffineTransform(), 0.25f);
           }
         }
       }
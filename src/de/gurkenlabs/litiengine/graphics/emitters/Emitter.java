@@ -11,8 +11,8 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 import de.gurkenlabs.litiengine.Game;
+import de.gurkenlabs.litiengine.IConcurrentUpdateable;
 import de.gurkenlabs.litiengine.ITimeToLive;
-import de.gurkenlabs.litiengine.IUpdateable;
 import de.gurkenlabs.litiengine.entities.CollisionInfo;
 import de.gurkenlabs.litiengine.entities.EmitterInfo;
 import de.gurkenlabs.litiengine.entities.Entity;
@@ -39,7 +39,7 @@ import de.gurkenlabs.litiengine.resources.Resources;
 @CollisionInfo(collision = false)
 @EmitterInfo
 @TmxType(MapObjectType.EMITTER)
-public class Emitter extends Entity implements IUpdateable, ITimeToLive, IRenderable {
+public class Emitter extends Entity implements IConcurrentUpdateable, ITimeToLive, IRenderable {
 
   private final Collection<EmitterFinishedListener> finishedListeners;
   private final CopyOnWriteArrayList<Particle> particles;
@@ -50,6 +50,7 @@ public class Emitter extends Entity implements IUpdateable, ITimeToLive, IRender
   private boolean activated;
   private boolean paused;
   private boolean stopped;
+  private boolean finishing;
 
   private long activationTick;
   private long aliveTime;
@@ -120,6 +121,7 @@ public class Emitter extends Entity implements IUpdateable, ITimeToLive, IRender
     }
 
     this.activated = true;
+    this.finishing = false;
     this.activationTick = Game.time().now();
     Game.loop().attach(this);
   }
@@ -295,11 +297,13 @@ public class Emitter extends Entity implements IUpdateable, ITimeToLive, IRender
 
     // clear particles if the effect time to life is reached
     if (this.isFinished()) {
-      for (EmitterFinishedListener listener : this.finishedListeners) {
-        listener.finished(this);
+      // this might be updated concurrently to other emitters, so the listeners are informed and the emitter is removed
+      // from the environment on the loop's thread after all updatables of the current tick
+      if (!this.finishing) {
+        this.finishing = true;
+        Game.loop().perform(0, this::finish);
       }
 
-      this.delete();
       return;
     }
 
@@ -321,6 +325,14 @@ public class Emitter extends Entity implements IUpdateable, ITimeToLive, IRender
     }
   }
 
+  private void finish() {
+    for (EmitterFinishedListener listener : this.finishedListeners) {
+      listener.finished(this);
+    }
+
+    this.delete();
+  }
+
   /**
    * Can take new particles.
    *
@@ -425,7 +437,7 @@ public class Emitter extends Entity implements IUpdateable, ITimeToLive, IRender
       return;
     }
 
-    if (Game.screens() != null && Game.world().camera() != null && !Game.world().camera().getViewport().intersects(this.getBoundingBox())) {
+    if (Game.screens() != null && Game.world().camera() != null && !Game.world().camera().intersectsViewport(this.getBoundingBox())) {
       return;
     }
 
@@ -171,8 +171,13 @@ public abstract class Particle implements ITimeToLive {
   public Point2D getRenderLocation(Point2D effectLocation) {
     // if we have a camera, we need to render the particle relative to the
     // viewport
-    Point2D newEffectLocation = Game.screens() != null ? Game.world().camera().getViewportLocation(effectLocation) : effectLocation;
-    return this.getAbsoluteLocation(newEffectLocation);
+    if (Game.screens() == null) {
+      return this.getAbsoluteLocation(effectLocation);
+    }
+
+    final double x = Game.world().camera().getViewportLocationX(effectLocation.getX()) + this.getX() - this.getWidth() / 2.0;
+    final double y = Game.world().camera().getViewportLocationY(effectLocation.getY()) + this.getY() - this.getHeight() / 2.0;
+    return new Point2D.Float((float) x, (float) y);
   }
 
   public RenderType getCustomRenderType() {
@@ -4,6 +4,7 @@ import java.awt.Graphics2D;
 
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.environment.GameWorld;
+import de.gurkenlabs.litiengine.util.TimeUtilities;
 
 /**
  * A default screen implementation that renders the game's current environment.
@@ -25,6 +26,11 @@ public class GameScreen extends Screen {
       Game.world().environment().render(g);
     }
 
+    final long guiStart = System.nanoTime();
     super.render(g);
+
+    if (Game.config().debug().trackRenderTimes()) {
+      Game.metrics().trackRenderTime("gui", TimeUtilities.nanoToMs(System.nanoTime() - guiStart));
+    }
   }
 }
\ No newline at end of file
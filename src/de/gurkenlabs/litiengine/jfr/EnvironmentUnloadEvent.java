@@ -0,0 +1,34 @@
+package de.gurkenlabs.litiengine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event that is emitted when the <code>GameWorld</code> unloads an environment.
+ * 
+ * @see de.gurkenlabs.litiengine.environment.GameWorld#unloadEnvironment()
+ */
+@Name("de.gurkenlabs.litiengine.EnvironmentUnload")
+@Label("Environment Unload")
+@Description("The unloading of an environment by the game world.")
+@Category({ "LITIENGINE", "Environment" })
+@Enabled(false)
+public class EnvironmentUnloadEvent extends Event {
+  @Label("Map")
+  private String map;
+
+  @Label("Entities")
+  private int entities;
+
+  public void setMap(String map) {
+    this.map = map;
+  }
+
+  public void setEntities(int entities) {
+    this.entities = entities;
+  }
+}
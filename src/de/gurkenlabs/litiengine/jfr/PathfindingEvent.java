@@ -0,0 +1,72 @@
+package de.gurkenlabs.litiengine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event that is emitted when a path is searched for an entity.
+ * 
+ * @see de.gurkenlabs.litiengine.entities.behavior.PathFinder#findPath(de.gurkenlabs.litiengine.entities.IMobileEntity, java.awt.geom.Point2D)
+ */
+@Name("de.gurkenlabs.litiengine.Pathfinding")
+@Label("Pathfinding")
+@Description("The search of a path from the location of an entity to a target.")
+@Category({ "LITIENGINE", "Pathfinding" })
+@Enabled(false)
+@StackTrace(false)
+public class PathfindingEvent extends Event {
+  @Label("Path Finder")
+  private Class<?> pathFinder;
+
+  @Label("Entity")
+  private String entity;
+
+  @Label("Start X")
+  private double startX;
+
+  @Label("Start Y")
+  private double startY;
+
+  @Label("Target X")
+  private double targetX;
+
+  @Label("Target Y")
+  private double targetY;
+
+  @Label("Path Found")
+  private boolean pathFound;
+
+  @Label("Waypoints")
+  private int waypoints;
+
+  public void setPathFinder(Class<?> pathFinder) {
+    this.pathFinder = pathFinder;
+  }
+
+  public void setEntity(String entity) {
+    this.entity = entity;
+  }
+
+  public void setStart(double x, double y) {
+    this.startX = x;
+    this.startY = y;
+  }
+
+  public void setTarget(double x, double y) {
+    this.targetX = x;
+    this.targetY = y;
+  }
+
+  public void setPathFound(boolean pathFound) {
+    this.pathFound = pathFound;
+  }
+
+  public void setWaypoints(int waypoints) {
+    this.waypoints = waypoints;
+  }
+}
@@ -0,0 +1,51 @@
+package de.gurkenlabs.litiengine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event that is emitted when the <code>PhysicsEngine</code> moves an entity and resolves its collisions.
+ * 
+ * @see de.gurkenlabs.litiengine.physics.PhysicsEngine#move(de.gurkenlabs.litiengine.entities.IMobileEntity, java.awt.geom.Point2D)
+ */
+@Name("de.gurkenlabs.litiengine.PhysicsMove")
+@Label("Physics Move")
+@Description("The movement of an entity including the collision resolution.")
+@Category({ "LITIENGINE", "Physics" })
+@Enabled(false)
+@StackTrace(false)
+public class PhysicsMoveEvent extends Event {
+  @Label("Entity")
+  private String entity;
+
+  @Label("Distance")
+  private double distance;
+
+  @Label("Collided")
+  private boolean collided;
+
+  @Label("Collision Entities")
+  @Description("The number of collision entities known to the physics engine.")
+  private int collisionEntities;
+
+  public void setEntity(String entity) {
+    this.entity = entity;
+  }
+
+  public void setDistance(double distance) {
+    this.distance = distance;
+  }
+
+  public void setCollided(boolean collided) {
+    this.collided = collided;
+  }
+
+  public void setCollisionEntities(int collisionEntities) {
+    this.collisionEntities = collisionEntities;
+  }
+}
@@ -0,0 +1,51 @@
+package de.gurkenlabs.litiengine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event that is emitted when an environment renders the layers, renderables and entities of a
+ * <code>RenderType</code>.
+ * 
+ * @see de.gurkenlabs.litiengine.environment.Environment#render(java.awt.Graphics2D)
+ */
+@Name("de.gurkenlabs.litiengine.RenderStage")
+@Label("Render Stage")
+@Description("The rendering of a single render type of an environment.")
+@Category({ "LITIENGINE", "Rendering" })
+@Enabled(false)
+@StackTrace(false)
+public class RenderStageEvent extends Event {
+  @Label("Map")
+  private String map;
+
+  @Label("Render Type")
+  private String renderType;
+
+  @Label("Renderables")
+  private int renderables;
+
+  @Label("Entities")
+  private int entities;
+
+  public void setMap(String map) {
+    this.map = map;
+  }
+
+  public void setRenderType(String renderType) {
+    this.renderType = renderType;
+  }
+
+  public void setRenderables(int renderables) {
+    this.renderables = renderables;
+  }
+
+  public void setEntities(int entities) {
+    this.entities = entities;
+  }
+}
@@ -0,0 +1,41 @@
+package de.gurkenlabs.litiengine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event that is emitted when a <code>ResourcesContainer</code> loads a resource that was not yet cached.
+ * 
+ * @see de.gurkenlabs.litiengine.resources.ResourcesContainer
+ */
+@Name("de.gurkenlabs.litiengine.ResourceLoad")
+@Label("Resource Load")
+@Description("The loading of a resource by a resources container.")
+@Category({ "LITIENGINE", "Resources" })
+@Enabled(false)
+public class ResourceLoadEvent extends Event {
+  @Label("Container")
+  private String container;
+
+  @Label("Resource")
+  private String resource;
+
+  @Label("Success")
+  private boolean success;
+
+  public void setContainer(String container) {
+    this.container = container;
+  }
+
+  public void setResource(String resource) {
+    this.resource = resource;
+  }
+
+  public void setSuccess(boolean success) {
+    this.success = success;
+  }
+}
@@ -0,0 +1,44 @@
+package de.gurkenlabs.litiengine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event that is emitted for each tick of an <code>UpdateLoop</code>.
+ * 
+ * @see de.gurkenlabs.litiengine.UpdateLoop#run()
+ */
+@Name("de.gurkenlabs.litiengine.UpdateLoopTick")
+@Label("Update Loop Tick")
+@Description("The processing of a single tick of an update loop.")
+@Category({ "LITIENGINE", "Game Loop" })
+@Enabled(false)
+@StackTrace(false)
+public class UpdateLoopTickEvent extends Event {
+  @Label("Loop")
+  private String loop;
+
+  @Label("Tick")
+  private long tick;
+
+  @Label("Updatables")
+  @Description("The number of updatables attached to the loop.")
+  private int updatables;
+
+  public void setLoop(String loop) {
+    this.loop = loop;
+  }
+
+  public void setTick(long tick) {
+    this.tick = tick;
+  }
+
+  public void setUpdatables(int updatables) {
+    this.updatables = updatables;
+  }
+}
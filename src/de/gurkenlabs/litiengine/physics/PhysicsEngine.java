@@ -18,6 +18,7 @@ import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.IUpdateable;
 import de.gurkenlabs.litiengine.entities.ICollisionEntity;
 import de.gurkenlabs.litiengine.entities.IMobileEntity;
+import de.gurkenlabs.litiengine.jfr.PhysicsMoveEvent;
 import de.gurkenlabs.litiengine.util.ArrayUtilities;
 import de.gurkenlabs.litiengine.util.MathUtilities;
 import de.gurkenlabs.litiengine.util.geom.GeometricUtilities;
@@ -329,6 +330,31 @@ public final class PhysicsEngine implements IUpdateable {
   }
 
   public boolean move(final IMobileEntity entity, Point2D newLocation) {
+    final PhysicsMoveEvent event = new PhysicsMoveEvent();
+    event.begin();
+    final double x = entity.getX();
+    final double y = entity.getY();
+
+    final boolean success = this.moveEntity(entity, newLocation);
+
+    event.end();
+    if (event.shouldCommit()) {
+      event.setEntity(entity.getName());
+      event.setDistance(GeometricUtilities.distance(x, y, entity.getX(), entity.getY()));
+      event.setCollided(!success);
+      event.setCollisionEntities(this.getCollisionEntities().size());
+      event.commit();
+    }
+
+    return success;
+  }
+
+  public boolean move(final IMobileEntity entity, final Point2D target, final float delta) {
+    final Point2D newPosition = GeometricUtilities.project(entity.getLocation(), target, delta);
+    return this.move(entity, newPosition);
+  }
+
+  private boolean moveEntity(final IMobileEntity entity, Point2D newLocation) {
     if (entity.turnOnMove()) {
       entity.setAngle((float) GeometricUtilities.calcRotationAngleInDegrees(entity.getLocation(), newLocation));
     }
@@ -360,11 +386,6 @@ public final class PhysicsEngine implements IUpdateable {
     return true;
   }
 
-  public boolean move(final IMobileEntity entity, final Point2D target, final float delta) {
-    final Point2D newPosition = GeometricUtilities.project(entity.getLocation(), target, delta);
-    return this.move(entity, newPosition);
-  }
-
   @Override
   public void update() {
     // retrieve all collision box rectangles once per update
@@ -17,6 +17,7 @@ import java.util.stream.Collectors;
 
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.GameListener;
+import de.gurkenlabs.litiengine.jfr.ResourceLoadEvent;
 
 /**
  * An abstract implementation for all classes that provide a certain type of resources.
@@ -384,11 +385,22 @@ public abstract class ResourcesContainer<T> {
   }
 
   private T loadResource(String identifier) {
-    T newResource;
+    final ResourceLoadEvent event = new ResourceLoadEvent();
+    event.begin();
+
+    T newResource = null;
     try {
       newResource = this.load(Resources.getLocation(identifier));
     } catch (Exception e) {
       throw new ResourceLoadException(e);
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.setContainer(this.getClass().getSimpleName());
+        event.setResource(identifier);
+        event.setSuccess(newResource != null);
+        event.commit();
+      }
     }
 
     for (ResourcesContainerListener<? super T> listener : this.listeners) {
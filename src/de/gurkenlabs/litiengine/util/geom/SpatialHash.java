@@ -0,0 +1,259 @@
+package de.gurkenlabs.litiengine.util.geom;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A uniform grid that buckets objects by their bounding rectangle in order to answer area queries without testing every
+ * registered object.
+ * <p>
+ * Every object is registered with all cells that its bounds overlap, so a query only has to look at the objects in the
+ * cells covered by the queried area. Objects that would span too many cells (e.g. an area that covers the whole map) are
+ * kept aside and tested on every query instead.
+ * </p>
+ * <p>
+ * The index doesn't observe the objects by itself. Whenever the bounds of an object change, they have to be provided
+ * again by calling {@link #put(Object, Rectangle2D)}.
+ * </p>
+ *
+ * @param <T>
+ *          The type of the indexed objects.
+ */
+public class SpatialHash<T> {
+  public static final double DEFAULT_CELL_SIZE = 64;
+  private static final int MAX_CELLS_PER_OBJECT = 256;
+
+  private final double cellSize;
+  private final Map<Long, List<Entry<T>>> cells = new HashMap<>();
+  private final Map<T, Entry<T>> entries = new HashMap<>();
+  private final List<Entry<T>> oversized = new ArrayList<>();
+
+  public SpatialHash() {
+    this(DEFAULT_CELL_SIZE);
+  }
+
+  public SpatialHash(final double cellSize) {
+    if (cellSize <= 0) {
+      throw new IllegalArgumentException("The cell size must be greater than 0 but was " + cellSize);
+    }
+
+    this.cellSize = cellSize;
+  }
+
+  public double getCellSize() {
+    return this.cellSize;
+  }
+
+  public synchronized int size() {
+    return this.entries.size();
+  }
+
+  public synchronized boolean contains(final T object) {
+    return this.entries.containsKey(object);
+  }
+
+  /**
+   * Adds the specified object to the index or updates its location if it was already indexed.
+   *
+   * @param object
+   *          The object to index.
+   * @param bounds
+   *          The current bounds of the object; if this is null, the object is removed from the index.
+   */
+  public synchronized void put(final T object, final Rectangle2D bounds) {
+    if (object == null) {
+      return;
+    }
+
+    if (bounds == null) {
+      this.remove(object);
+      return;
+    }
+
+    final int minX = this.toCell(bounds.getMinX());
+    final int minY = this.toCell(bounds.getMinY());
+    final int maxX = this.toCell(bounds.getMaxX());
+    final int maxY = this.toCell(bounds.getMaxY());
+
+    Entry<T> entry = this.entries.get(object);
+    if (entry == null) {
+      entry = new Entry<>(object);
+      this.entries.put(object, entry);
+    } else if (entry.minX == minX && entry.minY == minY && entry.maxX == maxX && entry.maxY == maxY) {
+      // most movements don't leave the current cells
+      entry.bounds.setRect(bounds);
+      return;
+    } else {
+      this.unlink(entry);
+    }
+
+    entry.bounds.setRect(bounds);
+    entry.minX = minX;
+    entry.minY = minY;
+    entry.maxX = maxX;
+    entry.maxY = maxY;
+    this.link(entry);
+  }
+
+  /**
+   * Removes the specified object from the index.
+   *
+   * @param object
+   *          The object to remove.
+   * @return True if the object was indexed; otherwise false.
+   */
+  public synchronized boolean remove(final T object) {
+    final Entry<T> entry = this.entries.remove(object);
+    if (entry == null) {
+      return false;
+    }
+
+    this.unlink(entry);
+    return true;
+  }
+
+  public synchronized void clear() {
+    this.cells.clear();
+    this.entries.clear();
+    this.oversized.clear();
+  }
+
+  /**
+   * Gets all objects whose indexed bounds intersect or touch the specified area.
+   *
+   * @param area
+   *          The area to query.
+   * @return A new collection containing all objects in the specified area.
+   * @see #query(Rectangle2D, Consumer)
+   */
+  public Collection<T> query(final Rectangle2D area) {
+    final List<T> result = new ArrayList<>();
+    this.query(area, result::add);
+    return result;
+  }
+
+  /**
+   * Passes every object whose indexed bounds intersect or touch the specified area to the consumer. Every object is passed
+   * exactly once.
+   * <p>
+   * The consumer is called while this instance is locked, so it must not modify the index.
+   * </p>
+   *
+   * @param area
+   *          The area to query.
+   * @param consumer
+   *          The consumer that accepts the found objects.
+   */
+  public synchronized void query(final Rectangle2D area, final Consumer<? super T> consumer) {
+    if (area == null) {
+      return;
+    }
+
+    for (final Entry<T> entry : this.oversized) {
+      if (touches(entry.bounds, area)) {
+        consumer.accept(entry.object);
+      }
+    }
+
+    final int minX = this.toCell(area.getMinX());
+    final int minY = this.toCell(area.getMinY());
+    final int maxX = this.toCell(area.getMaxX());
+    final int maxY = this.toCell(area.getMaxY());
+
+    // for areas that cover more cells than there are objects, it's cheaper to test every object once
+    if (((long) maxX - minX + 1) * ((long) maxY - minY + 1) > this.entries.size()) {
+      for (final Entry<T> entry : this.entries.values()) {
+        if (!entry.isOversized() && touches(entry.bounds, area)) {
+          consumer.accept(entry.object);
+        }
+      }
+
+      return;
+    }
+
+    for (int x = minX; x <= maxX; x++) {
+      for (int y = minY; y <= maxY; y++) {
+        final List<Entry<T>> cell = this.cells.get(key(x, y));
+        if (cell == null) {
+          continue;
+        }
+
+        for (final Entry<T> entry : cell) {
+          // objects that span multiple cells are only reported by the first cell that is covered by both, the object and the
+          // area
+          if (Math.max(entry.minX, minX) != x || Math.max(entry.minY, minY) != y) {
+            continue;
+          }
+
+          if (touches(entry.bounds, area)) {
+            consumer.accept(entry.object);
+          }
+        }
+      }
+    }
+  }
+
+  private void link(final Entry<T> entry) {
+    if (entry.isOversized()) {
+      this.oversized.add(entry);
+      return;
+    }
+
+    for (int x = entry.minX; x <= entry.maxX; x++) {
+      for (int y = entry.minY; y <= entry.maxY; y++) {
+        this.cells.computeIfAbsent(key(x, y), k -> new ArrayList<>(4)).add(entry);
+      }
+    }
+  }
+
+  private void unlink(final Entry<T> entry) {
+    if (entry.isOversized()) {
+      this.oversized.remove(entry);
+      return;
+    }
+
+    for (int x = entry.minX; x <= entry.maxX; x++) {
+      for (int y = entry.minY; y <= entry.maxY; y++) {
+        final Long key = key(x, y);
+        final List<Entry<T>> cell = this.cells.get(key);
+        if (cell != null && cell.remove(entry) && cell.isEmpty()) {
+          this.cells.remove(key);
+        }
+      }
+    }
+  }
+
+  private int toCell(final double coordinate) {
+    return (int) Math.floor(coordinate / this.cellSize);
+  }
+
+  private static Long key(final int x, final int y) {
+    return ((long) x << 32) | (y & 0xFFFFFFFFL);
+  }
+
+  private static boolean touches(final Rectangle2D a, final Rectangle2D b) {
+    return a.getMaxX() >= b.getMinX() && a.getMinX() <= b.getMaxX() && a.getMaxY() >= b.getMinY() && a.getMinY() <= b.getMaxY();
+  }
+
+  private static final class Entry<T> {
+    private final T object;
+    private final Rectangle2D bounds = new Rectangle2D.Double();
+    private int minX;
+    private int minY;
+    private int maxX;
+    private int maxY;
+
+    private Entry(final T object) {
+      this.object = object;
+    }
+
+    private boolean isOversized() {
+      return ((long) this.maxX - this.minX + 1) * ((long) this.maxY - this.minY + 1) > MAX_CELLS_PER_OBJECT;
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package de.gurkenlabs.litiengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.awt.geom.Point2D;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.gurkenlabs.litiengine.entities.CombatEntity;
+import de.gurkenlabs.litiengine.entities.ICombatEntity;
+
+public class DistanceUpdateTierPolicyTests {
+  private DistanceUpdateTierPolicy policy;
+
+  @BeforeEach
+  public void initPolicy() {
+    this.policy = new DistanceUpdateTierPolicy(100, 200);
+    this.policy.setOrigin(() -> new Point2D.Double(0, 0));
+  }
+
+  @Test
+  public void testTierByDistance() {
+    assertEquals(UpdateTier.FULL, this.policy.getTier(entityAt(50)));
+    assertEquals(UpdateTier.REDUCED, this.policy.getTier(entityAt(150)));
+    assertEquals(UpdateTier.SUSPENDED, this.policy.getTier(entityAt(250)));
+  }
+
+  @Test
+  public void testUpdatablesWithoutEntityAreAlwaysUpdated() {
+    assertEquals(UpdateTier.FULL, this.policy.getTier(() -> {
+    }));
+  }
+
+  @Test
+  public void testRangePerEntityType() {
+    this.policy.setRange(ICombatEntity.class, 10, 20);
+    assertEquals(UpdateTier.SUSPENDED, this.policy.getTier(entityAt(50)));
+
+    // the configuration of the more specific type wins
+    this.policy.setRange(CombatEntity.class, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+    assertEquals(UpdateTier.FULL, this.policy.getTier(entityAt(1000)));
+
+    this.policy.removeRange(CombatEntity.class);
+    assertEquals(UpdateTier.SUSPENDED, this.policy.getTier(entityAt(50)));
+  }
+
+  private static UpdatableEntity entityAt(double x) {
+    UpdatableEntity entity = new UpdatableEntity();
+    entity.setSize(0, 0);
+    entity.setLocation(x, 0);
+    return entity;
+  }
+
+  private static class UpdatableEntity extends CombatEntity implements IUpdateable {
+    @Override
+    public void update() {
+    }
+  }
+}
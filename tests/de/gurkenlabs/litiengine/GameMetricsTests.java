@@ -0,0 +1,54 @@
+package de.gurkenlabs.litiengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+public class GameMetricsTests {
+
+  @Test
+  public void testFrameTimePercentiles() {
+    GameMetrics metrics = new GameMetrics();
+    for (int i = 1; i <= 100; i++) {
+      metrics.trackRenderTime("ground", i);
+    }
+
+    GameMetrics.FrameTimes times = metrics.getFrameTimes("ground");
+    assertSame(times, metrics.getFrameTimes().get("ground"));
+    assertEquals(100, times.getTotalCount());
+    assertEquals(50, times.getP50(), 0.0001);
+    assertEquals(95, times.getP95(), 0.0001);
+    assertEquals(99, times.getP99(), 0.0001);
+    assertEquals(100, times.getMax(), 0.0001);
+    assertEquals(100, times.getLast(), 0.0001);
+  }
+
+  @Test
+  public void testFrameTimesSlidingWindow() {
+    GameMetrics metrics = new GameMetrics();
+    for (int i = 0; i < GameMetrics.FRAME_TIME_WINDOW; i++) {
+      metrics.trackUpdateTime(100);
+    }
+
+    for (int i = 0; i < GameMetrics.FRAME_TIME_WINDOW; i++) {
+      metrics.trackUpdateTime(1);
+    }
+
+    GameMetrics.FrameTimes times = metrics.getFrameTimes("update");
+    assertEquals(1, times.getMax(), 0.0001);
+    assertEquals(2 * GameMetrics.FRAME_TIME_WINDOW, times.getTotalCount());
+  }
+
+  @Test
+  public void testEmptyFrameTimes() {
+    GameMetrics metrics = new GameMetrics();
+    assertNull(metrics.getFrameTimes("shadow"));
+
+    GameMetrics.FrameTimes times = metrics.registerFrameTimes("shadow");
+    assertSame(times, metrics.getFrameTimes("shadow"));
+    assertEquals(0, times.getP99(), 0.0001);
+    assertEquals(0, times.getLast(), 0.0001);
+  }
+}
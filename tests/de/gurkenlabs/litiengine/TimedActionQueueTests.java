@@ -0,0 +1,105 @@
+package de.gurkenlabs.litiengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TimedActionQueueTests {
+
+  @Test
+  public void testActionsAreExecutedInOrderOfTheirTick() {
+    TimedActionQueue queue = new TimedActionQueue();
+    List<String> executed = new ArrayList<>();
+    queue.add(3, () -> executed.add("c"));
+    queue.add(1, () -> executed.add("a"));
+    queue.add(2, () -> executed.add("b"));
+    queue.add(10, () -> executed.add("d"));
+
+    queue.execute(0);
+    assertEquals(0, executed.size());
+
+    queue.execute(5);
+    assertEquals(Arrays.asList("a", "b", "c"), executed);
+    assertEquals(1, queue.size());
+  }
+
+  @Test
+  public void testFailingActionDoesntPreventOthers() {
+    TimedActionQueue queue = new TimedActionQueue();
+    List<String> executed = new ArrayList<>();
+    queue.add(1, () -> executed.add("a"));
+    queue.add(1, () -> {
+      throw new IllegalStateException("test");
+    });
+    queue.add(1, () -> executed.add("b"));
+
+    queue.execute(1);
+
+    assertEquals(Arrays.asList("a", "b"), executed);
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  public void testRemove() {
+    TimedActionQueue queue = new TimedActionQueue();
+    List<String> executed = new ArrayList<>();
+    int id = queue.add(1, () -> executed.add("a"));
+    queue.add(1, () -> executed.add("b"));
+
+    queue.remove(id);
+    queue.execute(1);
+
+    assertEquals(Arrays.asList("b"), executed);
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  public void testReschedule() {
+    TimedActionQueue queue = new TimedActionQueue();
+    List<String> executed = new ArrayList<>();
+    int id = queue.add(1, () -> executed.add("a"));
+    queue.add(2, () -> executed.add("b"));
+
+    queue.reschedule(id, 5);
+    queue.execute(2);
+    assertEquals(Arrays.asList("b"), executed);
+
+    queue.execute(5);
+    assertEquals(Arrays.asList("b", "a"), executed);
+  }
+
+  @Test
+  public void testActionsScheduledDuringExecutionRunOnNextTick() {
+    TimedActionQueue queue = new TimedActionQueue();
+    List<String> executed = new ArrayList<>();
+    queue.add(1, () -> queue.add(1, () -> executed.add("nested")));
+
+    queue.execute(1);
+    assertEquals(0, executed.size());
+
+    queue.execute(2);
+    assertEquals(Arrays.asList("nested"), executed);
+  }
+
+  @Test
+  public void testManyRemovedActions() {
+    TimedActionQueue queue = new TimedActionQueue();
+    List<Integer> executed = new ArrayList<>();
+    List<Integer> ids = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      final int value = i;
+      ids.add(queue.add(100 + i, () -> executed.add(value)));
+    }
+
+    for (int i = 0; i < 999; i++) {
+      queue.remove(ids.get(i));
+    }
+
+    queue.execute(2000);
+    assertEquals(Arrays.asList(999), executed);
+  }
+}
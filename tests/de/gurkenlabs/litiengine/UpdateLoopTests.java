@@ -0,0 +1,110 @@
+package de.gurkenlabs.litiengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class UpdateLoopTests {
+
+  @Test
+  public void testConcurrentUpdatablesAreUpdatedBeforeSerialPhase() {
+    UpdateLoop loop = new UpdateLoop("test", 60);
+    loop.setConcurrentUpdates(true);
+
+    AtomicInteger concurrentUpdates = new AtomicInteger();
+    for (int i = 0; i < 100; i++) {
+      loop.attach((IConcurrentUpdateable) concurrentUpdates::incrementAndGet);
+    }
+
+    int[] updatesBeforeSerialPhase = new int[1];
+    loop.attach(() -> updatesBeforeSerialPhase[0] = concurrentUpdates.get());
+
+    assertEquals(101, loop.getUpdatableCount());
+
+    loop.update();
+    assertEquals(100, concurrentUpdates.get());
+    assertEquals(100, updatesBeforeSerialPhase[0]);
+  }
+
+  @Test
+  public void testConcurrentUpdatesDisabledByDefault() {
+    UpdateLoop loop = new UpdateLoop("test", 60);
+    assertFalse(loop.isUpdatingConcurrently());
+
+    boolean[] updatedOnLoopThread = new boolean[1];
+    Thread current = Thread.currentThread();
+    IConcurrentUpdateable updatable = () -> updatedOnLoopThread[0] = Thread.currentThread() == current;
+    loop.attach(updatable);
+    loop.update();
+
+    assertTrue(updatedOnLoopThread[0]);
+
+    loop.detach(updatable);
+    assertEquals(0, loop.getUpdatableCount());
+  }
+
+  @Test
+  public void testReducedTierIsUpdatedEveryFourthTickWithAccumulatedDelta() {
+    FixedDeltaLoop loop = new FixedDeltaLoop(12);
+
+    List<long[]> reducedUpdates = new ArrayList<>();
+    IUpdateable reduced = () -> reducedUpdates.add(new long[] { loop.getTicks(), loop.getDeltaTime(), loop.getDeltaTicks() });
+    List<Long> fullDeltas = new ArrayList<>();
+    IUpdateable full = () -> fullDeltas.add(loop.getDeltaTime());
+
+    loop.attach(reduced);
+    loop.attach(full);
+    loop.setUpdateTierPolicy(u -> u == reduced ? UpdateTier.REDUCED : UpdateTier.FULL);
+    loop.run();
+
+    // the first tick has no delta because no time passed before it
+    assertEquals(12, fullDeltas.size());
+    for (int i = 1; i < fullDeltas.size(); i++) {
+      assertEquals(FixedDeltaLoop.DELTA, fullDeltas.get(i).longValue());
+    }
+
+    assertEquals(3, reducedUpdates.size());
+    for (int i = 1; i < reducedUpdates.size(); i++) {
+      assertEquals(4, reducedUpdates.get(i)[0] - reducedUpdates.get(i - 1)[0]);
+      assertEquals(4 * FixedDeltaLoop.DELTA, reducedUpdates.get(i)[1]);
+      assertEquals(4, reducedUpdates.get(i)[2]);
+    }
+
+    // outside of the update of a reduced instance, the delta of the last tick is provided
+    assertEquals(FixedDeltaLoop.DELTA, loop.getDeltaTime());
+    assertEquals(1, loop.getDeltaTicks());
+  }
+
+  /**
+   * A loop that runs a fixed number of ticks on the calling thread without delaying them and with a constant delta
+   * time.
+   */
+  private static class FixedDeltaLoop extends UpdateLoop {
+    private static final long DELTA = 50;
+    private final int ticks;
+
+    FixedDeltaLoop(int ticks) {
+      super("test", 20);
+      this.ticks = ticks;
+    }
+
+    @Override
+    protected void process() {
+      super.process();
+      if (this.getTicks() == this.ticks) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    @Override
+    protected double delay() {
+      return DELTA + 0.5 - this.getProcessTime();
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package de.gurkenlabs.litiengine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class UpdateProfilerTests {
+
+  @Test
+  public void testProfilerDisabledByDefault() {
+    UpdateLoop loop = new UpdateLoop("test", 60);
+    loop.attach(new FastUpdatable());
+    loop.update();
+
+    assertFalse(loop.getUpdateProfiler().isEnabled());
+    assertEquals(0, loop.getUpdateProfiler().getSampledTicks());
+    assertTrue(loop.getUpdateProfiler().snapshot().isEmpty());
+  }
+
+  @Test
+  public void testTopOffenders() {
+    UpdateLoop loop = new UpdateLoop("test", 60);
+    loop.attach(new FastUpdatable());
+    loop.attach(new FastUpdatable());
+    loop.attach(new SlowUpdatable());
+    loop.getUpdateProfiler().setSamplingRate(1);
+
+    loop.update();
+    loop.update();
+
+    List<UpdateProfiler.UpdatableTime> offenders = loop.getUpdateProfiler().getTopOffenders(1);
+    assertEquals(1, offenders.size());
+    assertEquals(SlowUpdatable.class, offenders.get(0).getType());
+    assertEquals(2, offenders.get(0).getInvocations());
+    assertTrue(offenders.get(0).getMaxTime() >= 2);
+
+    List<UpdateProfiler.UpdatableTime> snapshot = loop.getUpdateProfiler().snapshot();
+    assertEquals(2, snapshot.size());
+    assertEquals(4, snapshot.get(1).getInvocations());
+
+    loop.getUpdateProfiler().reset();
+    assertTrue(loop.getUpdateProfiler().snapshot().isEmpty());
+  }
+
+  private static class FastUpdatable implements IUpdateable {
+    @Override
+    public void update() {
+      // nothing to do
+    }
+  }
+
+  private static class SlowUpdatable implements IUpdateable {
+    @Override
+    public void update() {
+      try {
+        Thread.sleep(2);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
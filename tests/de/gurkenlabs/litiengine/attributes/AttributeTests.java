@@ -1,6 +1,7 @@
 package de.gurkenlabs.litiengine.attributes;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.junit.jupiter.api.Test;
 
@@ -246,4 +247,75 @@ public class AttributeTests {
     assertEquals(13.65f, testAttributeFloat.getMax().floatValue(), 0.0001f);
     assertEquals(13.65, testAttributeDouble.getMax().doubleValue(), 0.0000001);
   }
+
+  @Test
+  public void testModifiersAreAppliedInOrder() {
+    final Attribute<Integer> attribute = new Attribute<>(10);
+    final AttributeModifier<Integer> multiply = new AttributeModifier<>(Modification.MULTIPLY, 2);
+    final AttributeModifier<Integer> add = new AttributeModifier<>(Modification.ADD, 5);
+    final AttributeModifier<Integer> subtract = new AttributeModifier<>(Modification.SUBSTRACT, 1);
+
+    attribute.addModifier(multiply);
+    attribute.addModifier(subtract);
+    attribute.addModifier(add);
+
+    assertSame(add, attribute.getModifiers().get(0));
+    assertSame(subtract, attribute.getModifiers().get(1));
+    assertSame(multiply, attribute.getModifiers().get(2));
+    assertEquals(28, attribute.get().intValue());
+
+    attribute.removeModifier(subtract);
+    assertEquals(30, attribute.get().intValue());
+  }
+
+  @Test
+  public void testCachedValueIsInvalidated() {
+    final RangeAttribute<Integer> attribute = new RangeAttribute<>(100, 0, 50);
+    final AttributeModifier<Integer> modifier = new AttributeModifier<>(Modification.ADD, 10);
+    final int[] changes = new int[1];
+    attribute.addListener(a -> changes[0]++);
+
+    attribute.addModifier(modifier);
+    assertEquals(60, attribute.get().intValue());
+
+    modifier.setModifyValue(20);
+    assertEquals(70, attribute.get().intValue());
+
+    modifier.setActive(false);
+    assertEquals(50, attribute.get().intValue());
+
+    attribute.setBaseValue(90);
+    modifier.setActive(true);
+    assertEquals(100, attribute.get().intValue());
+
+    attribute.setMaxBaseValue(95);
+    assertEquals(95, attribute.getMax().intValue());
+    assertEquals(95, attribute.get().intValue());
+
+    assertEquals(6, changes[0]);
+
+    attribute.removeModifier(modifier);
+    modifier.setModifyValue(30);
+    assertEquals(90, attribute.get().intValue());
+    assertEquals(7, changes[0]);
+  }
+
+  @Test
+  public void testModifierSharedWithMaxKeepsInvalidating() {
+    final RangeAttribute<Integer> attribute = new RangeAttribute<>(100, 0, 50);
+    final AttributeModifier<Integer> modifier = new AttributeModifier<>(Modification.ADD, 10);
+
+    attribute.addModifier(modifier);
+    attribute.addMaxModifier(modifier);
+    assertEquals(110, attribute.getMax().intValue());
+
+    // the modifier is still used for the max value, so changes still need to invalidate it
+    attribute.removeModifier(modifier);
+    modifier.setModifyValue(20);
+    assertEquals(120, attribute.getMax().intValue());
+    assertEquals(50, attribute.get().intValue());
+
+    attribute.removeMaxModifier(modifier);
+    assertEquals(100, attribute.getMax().intValue());
+  }
 }
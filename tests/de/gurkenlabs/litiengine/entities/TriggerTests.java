@@ -137,10 +137,32 @@ public class TriggerTests {
     // collisionentity that is colliding with the trigger
     mockCollisionEntity(111, 8, 8);
     
-    trigger.update();
+    this.testEnvironment.getTriggerRegions().update();
     
     assertTrue(trigger.isActivated());
   }
+
+  @Test
+  public void testCollisionTriggerDeactivates() {
+    Trigger trigger = new Trigger(TriggerActivation.COLLISION, "testrigger", "testmessage");
+    TriggerDeactivatedListener listener = mock(TriggerDeactivatedListener.class);
+    trigger.addDeactivatedListener(listener);
+
+    trigger.setSize(16, 16);
+    trigger.setLocation(0, 0);
+    this.testEnvironment.add(trigger);
+    Game.world().loadEnvironment(this.testEnvironment);
+
+    ICollisionEntity entity = mockCollisionEntity(111, 8, 8);
+    this.testEnvironment.getTriggerRegions().update();
+    assertTrue(trigger.isActivated());
+
+    // the entity leaves the trigger
+    when(entity.getCollisionBox()).thenReturn(new Rectangle2D.Double(50, 50, 8, 8));
+    this.testEnvironment.getTriggerRegions().update();
+
+    verify(listener, times(1)).deactivated(any(TriggerEvent.class));
+  }
   
   @Test
   public void testCollisionTriggerDoesntActivate() {
@@ -155,11 +177,78 @@ public class TriggerTests {
     // collisionentity that is colliding with the trigger
     mockCollisionEntity(111, 16, 16);
     
-    trigger.update();
+    this.testEnvironment.getTriggerRegions().update();
     
     assertFalse(trigger.isActivated());
   }
 
+  @Test
+  public void testCollisionTriggerMovedAfterAdd() {
+    Trigger trigger = new Trigger(TriggerActivation.COLLISION, "testrigger", "testmessage");
+    trigger.setSize(16, 16);
+    trigger.setLocation(0, 0);
+    this.testEnvironment.add(trigger);
+    Game.world().loadEnvironment(this.testEnvironment);
+
+    trigger.setLocation(60, 60);
+    mockCollisionEntity(111, 64, 64);
+    this.testEnvironment.getTriggerRegions().update();
+
+    assertTrue(trigger.isActivated());
+  }
+
+  @Test
+  public void testCollisionTriggerResizedAfterAdd() {
+    Trigger trigger = new Trigger(TriggerActivation.COLLISION, "testrigger", "testmessage");
+    trigger.setSize(16, 16);
+    trigger.setLocation(0, 0);
+    this.testEnvironment.add(trigger);
+    Game.world().loadEnvironment(this.testEnvironment);
+
+    trigger.setSize(48, 48);
+    mockCollisionEntity(111, 36, 36);
+    this.testEnvironment.getTriggerRegions().update();
+
+    assertTrue(trigger.isActivated());
+  }
+
+  @Test
+  public void testCollisionTriggerCollisionBoxChangedAfterAdd() {
+    Trigger trigger = new Trigger(TriggerActivation.COLLISION, "testrigger", "testmessage");
+    trigger.setSize(16, 16);
+    trigger.setLocation(0, 0);
+    this.testEnvironment.add(trigger);
+    Game.world().loadEnvironment(this.testEnvironment);
+
+    // the centered collision box now spans from -12 to 28
+    trigger.setCollisionBoxWidth(40);
+    mockCollisionEntity(111, 20, 4);
+    this.testEnvironment.getTriggerRegions().update();
+
+    assertTrue(trigger.isActivated());
+  }
+
+  @Test
+  public void testChangeActivationType() {
+    Trigger trigger = new Trigger(TriggerActivation.INTERACT, "testrigger", "testmessage");
+    trigger.setSize(16, 16);
+    trigger.setLocation(0, 0);
+    this.testEnvironment.add(trigger);
+    Game.world().loadEnvironment(this.testEnvironment);
+    assertFalse(this.testEnvironment.getTriggerRegions().contains(trigger));
+
+    // the trigger is tracked by the regions once it is activated by collision
+    trigger.setActivationType(TriggerActivation.COLLISION);
+    assertTrue(this.testEnvironment.getTriggerRegions().contains(trigger));
+
+    mockCollisionEntity(111, 8, 8);
+    this.testEnvironment.getTriggerRegions().update();
+    assertTrue(trigger.isActivated());
+
+    trigger.setActivationType(TriggerActivation.INTERACT);
+    assertFalse(this.testEnvironment.getTriggerRegions().contains(trigger));
+  }
+
   private IEntity mockEntity(int id) {
     IEntity entity = mock(IEntity.class);
     when(entity.getMapId()).thenReturn(id);
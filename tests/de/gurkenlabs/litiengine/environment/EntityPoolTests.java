@@ -0,0 +1,82 @@
+package de.gurkenlabs.litiengine.environment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import de.gurkenlabs.litiengine.entities.CombatEntity;
+
+public class EntityPoolTests {
+
+  @Test
+  public void testFreedEntitiesAreReused() {
+    EntityPool<CombatEntity> pool = new EntityPool<>(CombatEntity::new);
+    CombatEntity first = pool.obtain();
+
+    assertTrue(pool.free(first));
+    assertEquals(1, pool.getAvailable());
+    assertSame(first, pool.obtain());
+    assertEquals(0, pool.getAvailable());
+    assertNotSame(first, pool.obtain());
+  }
+
+  @Test
+  public void testEntitiesCanOnlyBeFreedOnce() {
+    EntityPool<CombatEntity> pool = new EntityPool<>(CombatEntity::new);
+    CombatEntity entity = pool.obtain();
+
+    assertTrue(pool.free(entity));
+    assertFalse(pool.free(entity));
+    assertFalse(pool.free(new CombatEntity()));
+    assertEquals(1, pool.getAvailable());
+  }
+
+  @Test
+  public void testObtainResetsEntity() {
+    EntityPool<CombatEntity> pool = new EntityPool<>(CombatEntity::new);
+    CombatEntity entity = pool.obtain();
+    entity.setMapId(123);
+    entity.setAngle(90);
+    entity.getHitPoints().setBaseValue(0);
+
+    // the state is kept until the entity is obtained again
+    pool.free(entity);
+    assertEquals(123, entity.getMapId());
+    assertEquals(0, entity.getHitPoints().get().intValue());
+
+    assertSame(entity, pool.obtain());
+    assertEquals(0, entity.getMapId());
+    assertEquals(0, entity.getAngle());
+    assertEquals(entity.getHitPoints().getMax(), entity.getHitPoints().get());
+  }
+
+  @Test
+  public void testCapacity() {
+    EntityPool<CombatEntity> pool = new EntityPool<>(CombatEntity::new, 1);
+    CombatEntity first = pool.obtain();
+    CombatEntity second = pool.obtain();
+
+    assertTrue(pool.free(first));
+    assertFalse(pool.free(second));
+    assertEquals(1, pool.getAvailable());
+
+    pool.prefill(10);
+    assertEquals(1, pool.getAvailable());
+  }
+
+  @Test
+  public void testRemovedEntitiesAreReturned() {
+    EntityPool<CombatEntity> pool = new EntityPool<>(CombatEntity::new);
+    CombatEntity entity = pool.obtain();
+
+    pool.entityRemoved(entity);
+    pool.entityRemoved(new CombatEntity());
+
+    assertEquals(1, pool.getAvailable());
+    assertSame(entity, pool.obtain());
+  }
+}
@@ -1,6 +1,8 @@
 package de.gurkenlabs.litiengine.environment;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -8,6 +10,7 @@ import static org.mockito.Mockito.when;
 import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -104,6 +107,69 @@ public class EnvironmentEventTests {
     verify(listener, times(1)).entityRemoved(combatEntity);
   }
 
+  @Test
+  public void testBatchFiresAggregatedEvents() {
+    ICombatEntity combatEntity = mock(ICombatEntity.class);
+    when(combatEntity.getMapId()).thenReturn(123);
+    when(combatEntity.getRenderType()).thenReturn(RenderType.NORMAL);
+
+    ICombatEntity combatEntity2 = mock(ICombatEntity.class);
+    when(combatEntity2.getMapId()).thenReturn(456);
+    when(combatEntity2.getRenderType()).thenReturn(RenderType.NORMAL);
+
+    ICombatEntity transientEntity = mock(ICombatEntity.class);
+    when(transientEntity.getMapId()).thenReturn(789);
+    when(transientEntity.getRenderType()).thenReturn(RenderType.NORMAL);
+
+    EnvironmentEntityListener listener = mock(EnvironmentEntityListener.class);
+    this.testEnvironment.addEntityListener(listener);
+
+    this.testEnvironment.batch(env -> {
+      env.add(combatEntity);
+      env.add(transientEntity);
+      env.add(combatEntity2);
+      env.remove(transientEntity);
+
+      verify(listener, never()).entitiesAdded(any());
+    });
+
+    verify(listener, times(1)).entitiesAdded(Arrays.asList(combatEntity, combatEntity2));
+    verify(listener, never()).entitiesRemoved(any());
+    verify(listener, never()).entityAdded(any());
+  }
+
+  @Test
+  public void testBatchIsConfinedToThread() {
+    ICombatEntity combatEntity = mock(ICombatEntity.class);
+    when(combatEntity.getMapId()).thenReturn(123);
+    when(combatEntity.getRenderType()).thenReturn(RenderType.NORMAL);
+
+    ICombatEntity otherEntity = mock(ICombatEntity.class);
+    when(otherEntity.getMapId()).thenReturn(456);
+    when(otherEntity.getRenderType()).thenReturn(RenderType.NORMAL);
+
+    EnvironmentEntityListener listener = mock(EnvironmentEntityListener.class);
+    this.testEnvironment.addEntityListener(listener);
+
+    this.testEnvironment.batch(env -> {
+      env.add(combatEntity);
+
+      // changes from other threads are not deferred into the batch of this thread
+      Thread other = new Thread(() -> env.add(otherEntity));
+      other.start();
+      try {
+        other.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      verify(listener, times(1)).entityAdded(otherEntity);
+      verify(listener, never()).entityAdded(combatEntity);
+    });
+
+    verify(listener, times(1)).entitiesAdded(Arrays.asList(combatEntity));
+  }
+
   @ParameterizedTest
   @EnumSource(value = RenderType.class, mode = Mode.EXCLUDE, names = "NONE")
   public void testRenderListener(RenderType renderType) {
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -124,6 +125,35 @@ public class EnvironmentTests {
     assertNull(this.testEnvironment.get(""));
   }
 
+  @Test
+  public void testGetByNameAfterReAdd() {
+    MapArea area = new MapArea(1, "test", 0, 0, 10, 10);
+    this.testEnvironment.add(area);
+    this.testEnvironment.add(area);
+
+    this.testEnvironment.remove(area);
+
+    assertNull(this.testEnvironment.get("test"));
+    assertNull(this.testEnvironment.getArea("test"));
+  }
+
+  @Test
+  public void testGetByNameAfterRename() {
+    MapArea area = new MapArea(1, "before", 0, 0, 10, 10);
+    this.testEnvironment.add(area);
+
+    area.setName("after");
+
+    assertNull(this.testEnvironment.get("before"));
+    assertNull(this.testEnvironment.getArea("before"));
+    assertEquals(area, this.testEnvironment.get("after"));
+    assertEquals(area, this.testEnvironment.getArea("after"));
+    assertEquals(area, this.testEnvironment.get(MapArea.class, "after"));
+
+    this.testEnvironment.remove(area);
+    assertNull(this.testEnvironment.get("after"));
+  }
+
   @Test
   public void testGetById() {
     ICombatEntity combatEntity = mock(ICombatEntity.class);
@@ -488,6 +518,31 @@ public class EnvironmentTests {
     assertNotEquals(0, entity3.getMapId());
   }
 
+  @Test
+  public void testEntitiesByType() {
+    MapArea area = new MapArea(0, 0, 10, 10);
+    MapArea otherArea = new MapArea(0, 0, 20, 20);
+    Collection<MapArea> areas = this.testEnvironment.getEntities(MapArea.class);
+    assertTrue(areas.isEmpty());
+
+    this.testEnvironment.add(otherArea);
+    this.testEnvironment.add(area);
+    assertEquals(2, areas.size());
+    assertTrue(areas.contains(area));
+    assertTrue(areas.contains(otherArea));
+    assertEquals(1, this.testEnvironment.getEntities(MapArea.class, a -> a.getWidth() == 10).size());
+    assertEquals(0, this.testEnvironment.getEntities(MapArea.class, a -> a.getWidth() == 30).size());
+    assertThrows(UnsupportedOperationException.class, () -> areas.remove(area));
+
+    // the view can be iterated while entities are removed
+    for (MapArea a : areas) {
+      this.testEnvironment.remove(a);
+    }
+
+    assertTrue(areas.isEmpty());
+    assertSame(areas, this.testEnvironment.getEntities(MapArea.class));
+  }
+
   @Test
   public void testFindEntitiesInShape() {
     MapArea entity = new MapArea(0, 0, 10, 10);
@@ -504,6 +559,20 @@ public class EnvironmentTests {
     assertFalse(found2.contains(entity2));
   }
 
+  @Test
+  public void testFindEntitiesAfterMove() {
+    MapArea entity = new MapArea(0, 0, 10, 10);
+    this.testEnvironment.add(entity);
+
+    entity.setLocation(500, 500);
+
+    assertFalse(this.testEnvironment.findEntities(new Rectangle2D.Double(0, 0, 10, 10)).contains(entity));
+    assertTrue(this.testEnvironment.findEntities(new Rectangle2D.Double(495, 495, 10, 10)).contains(entity));
+
+    this.testEnvironment.remove(entity);
+    assertFalse(this.testEnvironment.findEntities(new Rectangle2D.Double(495, 495, 10, 10)).contains(entity));
+  }
+
   @Test
   public void testFindCombatEntitiesInShape() {
     ICombatEntity combatEntity = mock(ICombatEntity.class);
@@ -1,6 +1,11 @@
 package de.gurkenlabs.litiengine.graphics;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
 
 import org.junit.jupiter.api.Test;
 
@@ -19,4 +24,24 @@ public class CameraTests {
 
     assertEquals(cam.getZoom(), 5, 0.0001);
   }
+
+  @Test
+  public void testViewportAccessorsDoNotAllocate() {
+    Camera cam = new Camera();
+
+    assertEquals(0, cam.getViewportMinX(), 0.0001);
+    assertEquals(0, cam.getViewportMaxY(), 0.0001);
+    assertEquals(10, cam.getViewportLocationX(10), 0.0001);
+    assertEquals(20, cam.getViewportLocationY(20), 0.0001);
+
+    Point2D result = new Point2D.Double();
+    assertSame(result, cam.getViewportLocation(5, 6, result));
+    assertEquals(new Point2D.Double(5, 6), result);
+
+    Rectangle2D viewport = new Rectangle2D.Double(1, 1, 1, 1);
+    assertSame(viewport, cam.getViewport(viewport));
+    assertEquals(cam.getViewport(), viewport);
+
+    assertFalse(cam.intersectsViewport(new Rectangle2D.Double(5, 5, 10, 10)));
+  }
 }
@@ -1,32 +1,61 @@
 package de.gurkenlabs.litiengine.pathfinding;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.awt.Dimension;
 import java.awt.Rectangle;
+import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import de.gurkenlabs.litiengine.Game;
 import de.gurkenlabs.litiengine.GameTest;
+import de.gurkenlabs.litiengine.entities.CollisionBox;
+import de.gurkenlabs.litiengine.entities.Creature;
+import de.gurkenlabs.litiengine.entities.ICollisionEntity;
+import de.gurkenlabs.litiengine.entities.Prop;
 import de.gurkenlabs.litiengine.entities.behavior.AStarGrid;
 import de.gurkenlabs.litiengine.entities.behavior.AStarNode;
+import de.gurkenlabs.litiengine.entities.behavior.AStarPathFinder;
+import de.gurkenlabs.litiengine.entities.behavior.DStarLitePathFinder;
+import de.gurkenlabs.litiengine.entities.behavior.FlowField;
+import de.gurkenlabs.litiengine.entities.behavior.FlowFieldPathFinder;
+import de.gurkenlabs.litiengine.entities.behavior.HierarchicalPathFinder;
+import de.gurkenlabs.litiengine.entities.behavior.JumpPointPathFinder;
+import de.gurkenlabs.litiengine.entities.behavior.Path;
+import de.gurkenlabs.litiengine.entities.behavior.PathRequestQueue;
+import de.gurkenlabs.litiengine.entities.behavior.PathSmoother;
 import de.gurkenlabs.litiengine.environment.Environment;
 import de.gurkenlabs.litiengine.environment.tilemap.IMap;
 import de.gurkenlabs.litiengine.environment.tilemap.MapOrientations;
+import de.gurkenlabs.litiengine.physics.Collision;
 
 public class AStarTests {
+  private final List<ICollisionEntity> obstacles = new ArrayList<>();
+  private CollisionBox wall;
+  private Creature creature;
+
   @BeforeAll
   public static void initGame() {
 
@@ -49,6 +78,24 @@ public class AStarTests {
     when(map.getRenderLayers()).thenReturn(new ArrayList<>());
 
     Game.world().loadEnvironment(new Environment(map));
+
+    // most tests search a path around a wall that only leaves a gap at the bottom of the map
+    this.wall = this.addObstacle(40, 0, 10, 80);
+
+    this.creature = new Creature();
+    this.creature.setSize(10, 10);
+    this.creature.setCollisionBoxWidth(5);
+    this.creature.setCollisionBoxHeight(5);
+    this.creature.setLocation(10, 10);
+  }
+
+  @AfterEach
+  public void removeObstacles() {
+    for (ICollisionEntity obstacle : this.obstacles) {
+      Game.physics().remove(obstacle);
+    }
+
+    this.obstacles.clear();
   }
 
   @Test
@@ -104,6 +151,38 @@ public class AStarTests {
     assertNull(nullNode);
   }
 
+  @Test
+  public void testRasterizedGridMatchesPhysics() {
+    // boxes that don't align with the nodes, touch their borders or exceed the map
+    this.addObstacle(12.5, 33.3, 17.2, 4.1);
+    this.addObstacle(60, 60, 10, 10);
+    this.addObstacle(95, -5, 20, 30);
+    this.addObstacle(Collision.DYNAMIC, 35, 75, 20, 10);
+    this.addObstacle(Collision.DYNAMIC, 46.5, 20.5, 8, 30);
+    this.addObstacle(Collision.DYNAMIC, 0, 90, 100, 10);
+
+    Prop prop = new Prop(30, 70, "prop");
+    prop.setSize(20, 20);
+    prop.setCollisionBoxWidth(20);
+    prop.setCollisionBoxHeight(20);
+    prop.setIndestructible(true);
+    Game.world().environment().add(prop);
+    this.obstacles.add(prop);
+    Game.physics().update();
+
+    // after the construction, the penalties are assigned by checking every node against the physics engine
+    PhysicsPenaltyGrid grid = new PhysicsPenaltyGrid(100, 100, 10);
+    for (AStarNode[] column : grid.getGrid()) {
+      for (AStarNode node : column) {
+        assertEquals(!Game.physics().collides(node.getBounds(), Collision.STATIC), node.isWalkable());
+
+        double penalty = node.getPenalty();
+        grid.assignPenaltyFromPhysics(node);
+        assertEquals(penalty, node.getPenalty());
+      }
+    }
+  }
+
   @Test
   public void testGetNeighbors() {
     Game.init(Game.COMMADLINE_ARG_NOGUI);
@@ -118,4 +197,362 @@ public class AStarTests {
     assertEquals(8, neighbors.size());
     assertEquals(4, neighbors2.size());
   }
+
+  @Test
+  public void testFindPathAroundObstacle() {
+    AStarPathFinder pathFinder = new AStarPathFinder(new AStarGrid(100, 100, 10));
+
+    Path path = pathFinder.findPath(this.creature, new Point2D.Double(85, 15));
+
+    assertNotNull(path);
+    assertTrue(path.getPoints().stream().allMatch(p -> pathFinder.getGrid().getNode(p).isWalkable()));
+    assertTrue(path.getPoints().stream().anyMatch(p -> p.getY() > 80));
+  }
+
+  @Test
+  public void testConcurrentSearches() throws Exception {
+    AStarPathFinder pathFinder = new AStarPathFinder(new AStarGrid(100, 100, 10));
+    Creature other = new Creature();
+    other.setSize(10, 10);
+    other.setCollisionBoxWidth(5);
+    other.setCollisionBoxHeight(5);
+    other.setLocation(80, 50);
+
+    List<Point2D> expected = pathFinder.findPath(this.creature, new Point2D.Double(85, 15)).getPoints();
+    List<Point2D> otherExpected = pathFinder.findPath(other, new Point2D.Double(15, 45)).getPoints();
+
+    // both searches run on the same grid at the same time and must not interfere with each other
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      Future<Boolean> first = executor.submit(() -> {
+        start.await();
+        boolean equal = true;
+        for (int i = 0; i < 100; i++) {
+          equal &= expected.equals(pathFinder.findPath(this.creature, new Point2D.Double(85, 15)).getPoints());
+        }
+
+        return equal;
+      });
+
+      Future<Boolean> second = executor.submit(() -> {
+        start.await();
+        boolean equal = true;
+        for (int i = 0; i < 100; i++) {
+          equal &= otherExpected.equals(pathFinder.findPath(other, new Point2D.Double(15, 45)).getPoints());
+        }
+
+        return equal;
+      });
+
+      start.countDown();
+      assertTrue(first.get(10, TimeUnit.SECONDS));
+      assertTrue(second.get(10, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testPathWaypoints() {
+    Path2D path2D = new Path2D.Double();
+    path2D.moveTo(10, 10);
+    path2D.lineTo(20, 10);
+    path2D.quadTo(25, 15, 30, 20);
+    path2D.closePath();
+
+    // every segment of the path leads to one waypoint
+    Path path = new Path(path2D);
+    assertEquals(4, path.getWaypointCount());
+    assertEquals(10, path.getWaypointX(0));
+    assertEquals(10, path.getWaypointY(1));
+    assertEquals(30, path.getWaypointX(2));
+    assertEquals(20, path.getWaypointY(2));
+    assertEquals(10, path.getWaypointX(3));
+    assertThrows(IndexOutOfBoundsException.class, () -> path.getWaypointX(4));
+  }
+
+  @Test
+  public void testClearance() {
+    AStarGrid grid = new AStarGrid(100, 100, 10);
+    AStarPathFinder pathFinder = new AStarPathFinder(grid);
+
+    assertEquals(0, grid.getGrid()[4][0].getClearance());
+    assertEquals(1, grid.getGrid()[4][8].getClearance());
+    assertEquals(3, grid.getGrid()[7][5].getClearance());
+    assertEquals(1, grid.getRequiredClearance(5, 5));
+    assertEquals(2, grid.getRequiredClearance(15, 15));
+    assertNotNull(pathFinder.findPath(this.creature, new Point2D.Double(85, 15)));
+
+    // the gap below the wall is too narrow for a larger collision box
+    this.creature.setCollisionBoxWidth(15);
+    this.creature.setCollisionBoxHeight(15);
+    assertNull(pathFinder.findPath(this.creature, new Point2D.Double(85, 15)));
+
+    // the clearance of the nodes around the wall is updated once it is removed
+    Game.physics().remove(this.wall);
+    Game.physics().update();
+    grid.updateWalkable(this.wall.getBoundingBox());
+    assertEquals(2, grid.getGrid()[4][8].getClearance());
+    assertEquals(5, grid.getGrid()[4][5].getClearance());
+
+    // the clearance that is updated once for all changed nodes equals that of a new grid
+    AStarGrid newGrid = new AStarGrid(100, 100, 10);
+    for (int x = 0; x < 10; x++) {
+      for (int y = 0; y < 10; y++) {
+        assertEquals(newGrid.getGrid()[x][y].getClearance(), grid.getGrid()[x][y].getClearance());
+      }
+    }
+  }
+
+  @Test
+  public void testPathSmoothing() {
+    AStarPathFinder pathFinder = new AStarPathFinder(new AStarGrid(100, 100, 10));
+
+    Path path = pathFinder.findPath(this.creature, new Point2D.Double(85, 15));
+    pathFinder.setSmoothing(true);
+    Path smoothedPath = pathFinder.findPath(this.creature, new Point2D.Double(85, 15));
+
+    assertEquals(path.getStart(), smoothedPath.getStart());
+    assertEquals(path.getTarget(), smoothedPath.getTarget());
+    assertTrue(smoothedPath.getPoints().size() < path.getPoints().size());
+
+    // the smoothed path still leads around the wall
+    PathSmoother smoother = new PathSmoother(pathFinder.getGrid());
+    assertFalse(smoother.hasLineOfSight(smoothedPath.getStart(), smoothedPath.getTarget(), 5, 5));
+    assertTrue(smoothedPath.getPoints().stream().anyMatch(p -> p.getY() > 80));
+  }
+
+  @Test
+  public void testJumpPointSearch() {
+    AStarGrid grid = new AStarGrid(100, 100, 10);
+
+    Path path = new JumpPointPathFinder(grid).findPath(this.creature, new Point2D.Double(85, 15));
+    Path aStarPath = new AStarPathFinder(grid).findPath(this.creature, new Point2D.Double(85, 15));
+
+    assertTrue(grid.hasUniformPenalty());
+    assertNotNull(path);
+    assertEquals(aStarPath.getTarget(), path.getTarget());
+
+    // only the nodes at which the path changes its direction are contained
+    assertEquals(4, path.getPoints().size());
+    assertTrue(path.getPoints().size() < aStarPath.getPoints().size());
+
+    grid.getGrid()[2][2].setPenalty(1);
+    assertFalse(grid.hasUniformPenalty());
+  }
+
+  @Test
+  public void testHierarchicalPathFinder() {
+    AStarGrid grid = new AStarGrid(100, 100, 10);
+    HierarchicalPathFinder pathFinder = new HierarchicalPathFinder(grid, 2);
+
+    Path path = pathFinder.findPath(this.creature, new Point2D.Double(85, 15));
+    assertNotNull(path);
+    assertTrue(path.getPoints().stream().allMatch(p -> grid.getNode(p).isWalkable()));
+
+    // closing the gap below the wall only updates the clusters around it
+    CollisionBox gap = this.addObstacle(41, 80, 8, 19);
+    grid.updateWalkable(gap.getBoundingBox());
+
+    assertNull(pathFinder.findPath(this.creature, new Point2D.Double(85, 15)));
+  }
+
+  @Test
+  public void testDStarLitePathFinder() {
+    AStarGrid grid = new AStarGrid(100, 100, 10);
+    DStarLitePathFinder pathFinder = new DStarLitePathFinder(grid);
+    AStarPathFinder aStarPathFinder = new AStarPathFinder(grid);
+
+    Path path = pathFinder.findPath(this.creature, new Point2D.Double(85, 15));
+    assertNotNull(path);
+    assertEquals(aStarPathFinder.findPath(this.creature, new Point2D.Double(85, 15)).getPoints().size(), path.getPoints().size());
+    assertTrue(path.getPoints().stream().allMatch(p -> grid.getNode(p).isWalkable()));
+
+    // the kept search state is repaired when the gap below the wall is closed and opened again
+    CollisionBox gap = this.addObstacle(41, 80, 8, 19);
+    grid.updateWalkable(gap.getBoundingBox());
+    assertNull(pathFinder.findPath(this.creature, new Point2D.Double(85, 15)));
+
+    Game.physics().remove(gap);
+    Game.physics().update();
+    grid.updateWalkable(gap.getBoundingBox());
+    this.creature.setLocation(10, 50);
+    path = pathFinder.findPath(this.creature, new Point2D.Double(85, 15));
+    assertNotNull(path);
+    assertEquals(aStarPathFinder.findPath(this.creature, new Point2D.Double(85, 15)).getPoints().size(), path.getPoints().size());
+  }
+
+  @Test
+  public void testFlowFieldPathFinder() {
+    AStarGrid grid = new AStarGrid(100, 100, 10);
+    FlowFieldPathFinder pathFinder = new FlowFieldPathFinder(grid);
+
+    Path path = pathFinder.findPath(this.creature, new Point2D.Double(85, 15));
+    Path aStarPath = new AStarPathFinder(grid).findPath(this.creature, new Point2D.Double(85, 15));
+    assertNotNull(path);
+    assertEquals(aStarPath.getPoints().size(), path.getPoints().size());
+    assertTrue(path.getPoints().stream().allMatch(p -> grid.getNode(p).isWalkable()));
+
+    // a field that is bound to an entity follows it over the subsequent updates
+    Creature player = new Creature();
+    player.setSize(10, 10);
+    player.setLocation(80, 10);
+    FlowField field = pathFinder.getFlowField(player);
+    AStarNode start = grid.getGrid()[1][1];
+    assertEquals(field, pathFinder.getFlowField(player));
+    assertEquals(grid.getGrid()[8][1], field.getTarget());
+    assertTrue(field.getCosts(field.getNext(start)) < field.getCosts(start));
+
+    field.setNodesPerUpdate(10);
+    player.setLocation(10, 90);
+    pathFinder.update();
+    assertTrue(field.isRefreshing());
+    assertEquals(grid.getGrid()[8][1], field.getTarget());
+    while (field.isRefreshing()) {
+      pathFinder.update();
+    }
+
+    assertEquals(grid.getGrid()[1][9], field.getTarget());
+    assertEquals(grid.getGrid()[1][2], field.getNext(start));
+
+    // closing the gap below the wall refreshes all fields
+    CollisionBox gap = this.addObstacle(41, 80, 8, 19);
+    grid.updateWalkable(gap.getBoundingBox());
+    player.setLocation(80, 10);
+    do {
+      pathFinder.update();
+    } while (field.isRefreshing());
+
+    assertFalse(field.isReachable(start));
+    assertNull(pathFinder.findPath(this.creature, new Point2D.Double(85, 15)));
+  }
+
+  @Test
+  public void testFlowFieldPathDuringRefresh() {
+    AStarGrid grid = new AStarGrid(100, 100, 10);
+    FlowFieldPathFinder pathFinder = new FlowFieldPathFinder(grid);
+    assertNotNull(pathFinder.findPath(this.creature, new Point2D.Double(85, 15)));
+
+    FlowField field = pathFinder.getFlowField(new Point2D.Double(85, 15));
+    field.setNodesPerUpdate(1);
+
+    // move the gap from the bottom to the top of the wall, so that the outdated costs lead into a dead end
+    Game.physics().remove(this.wall);
+    this.addObstacle(40, 20, 10, 80);
+    grid.updateWalkable(new Rectangle(41, 0, 8, 99));
+    pathFinder.update();
+    assertTrue(field.isRefreshing());
+
+    AStarNode current = grid.getGrid()[1][1];
+    for (int steps = 0; current != null && current != field.getTarget(); steps++) {
+      assertTrue(steps < 100);
+      current = field.getNext(current);
+    }
+
+    Path path = pathFinder.findPath(this.creature, new Point2D.Double(85, 15));
+    assertFalse(field.isRefreshing());
+    assertNotNull(path);
+    assertTrue(path.getPoints().stream().allMatch(p -> grid.getNode(p).isWalkable()));
+    assertTrue(path.getPoints().stream().anyMatch(p -> p.getX() > 40 && p.getX() < 50 && p.getY() < 20));
+  }
+
+  @Test
+  public void testPathRequestQueue() throws Exception {
+    PathRequestQueue requests = new PathRequestQueue(new AStarPathFinder(new AStarGrid(100, 100, 10)));
+
+    // requesting the same target again doesn't search another path, whereas another target cancels the request
+    CompletableFuture<Path> cancelled = requests.request(this.creature, new Point2D.Double(85, 25));
+    CompletableFuture<Path> request = requests.request(this.creature, new Point2D.Double(85, 15));
+    assertTrue(cancelled.isCancelled());
+    assertEquals(request, requests.request(this.creature, new Point2D.Double(85, 15)));
+
+    // the search is based on the state at the time of the request, even if the wall is removed and the entity moves
+    Game.physics().remove(this.wall);
+    Game.physics().update();
+    this.creature.setLocation(10, 50);
+
+    // the paths are handed over when the queue is updated by its loop
+    ScheduledExecutorService loop = Executors.newSingleThreadScheduledExecutor();
+    try {
+      loop.scheduleAtFixedRate(requests::update, 0, 1, TimeUnit.MILLISECONDS);
+      Path path = request.get(5, TimeUnit.SECONDS);
+
+      assertNotNull(path);
+      assertTrue(path.getPoints().stream().anyMatch(p -> p.getY() > 80));
+      assertEquals(0, requests.getPendingRequestCount());
+      assertFalse(requests.cancel(this.creature));
+    } finally {
+      loop.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testPathRequestQueueSearchesConcurrentlyWithUpdateWalkable() throws Exception {
+    AStarGrid grid = new AStarGrid(100, 100, 10);
+    AStarPathFinder pathFinder = new AStarPathFinder(grid);
+    PathRequestQueue requests = new PathRequestQueue(pathFinder);
+    requests.setTimeBudget(1000);
+
+    Point2D target = new Point2D.Double(85, 15);
+    List<Point2D> open = pathFinder.findPath(this.creature, target).getPoints();
+    CollisionBox gap = this.addObstacle(41, 80, 8, 19);
+    grid.updateWalkable(gap.getBoundingBox());
+
+    List<Creature> creatures = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      Creature creature = new Creature();
+      creature.setSize(10, 10);
+      creature.setCollisionBoxWidth(5);
+      creature.setCollisionBoxHeight(5);
+      creature.setLocation(10, 10);
+      creatures.add(creature);
+    }
+
+    // the gap below the wall is opened and closed while the workers search, so every path must either lead through the
+    // gap or not exist at all
+    for (int round = 0; round < 50; round++) {
+      List<CompletableFuture<Path>> paths = new ArrayList<>();
+      for (Creature creature : creatures) {
+        paths.add(requests.request(creature, target));
+      }
+
+      while (!paths.stream().allMatch(CompletableFuture::isDone)) {
+        Game.physics().remove(gap);
+        Game.physics().update();
+        grid.updateWalkable(gap.getBoundingBox());
+        Game.physics().add(gap);
+        Game.physics().update();
+        grid.updateWalkable(gap.getBoundingBox());
+        requests.update();
+      }
+
+      for (CompletableFuture<Path> path : paths) {
+        assertTrue(path.get() == null || open.equals(path.get().getPoints()));
+      }
+    }
+  }
+
+  private CollisionBox addObstacle(double x, double y, double width, double height) {
+    return this.addObstacle(Collision.STATIC, x, y, width, height);
+  }
+
+  private CollisionBox addObstacle(Collision type, double x, double y, double width, double height) {
+    CollisionBox obstacle = new CollisionBox(x, y, width, height);
+    obstacle.setCollisionType(type);
+    this.obstacles.add(obstacle);
+    Game.physics().add(obstacle);
+    Game.physics().update();
+    return obstacle;
+  }
+
+  private static class PhysicsPenaltyGrid extends AStarGrid {
+    public PhysicsPenaltyGrid(int width, int height, int nodeSize) {
+      super(width, height, nodeSize);
+    }
+
+    public void assignPenaltyFromPhysics(AStarNode node) {
+      this.assignPenalty(node);
+    }
+  }
 }
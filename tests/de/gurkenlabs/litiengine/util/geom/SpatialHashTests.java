@@ -0,0 +1,70 @@
+package de.gurkenlabs.litiengine.util.geom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.geom.Rectangle2D;
+import java.util.Collection;
+
+import org.junit.jupiter.api.Test;
+
+public class SpatialHashTests {
+
+  @Test
+  public void testQueryFindsObjectsInArea() {
+    SpatialHash<String> hash = new SpatialHash<>(10);
+    hash.put("a", new Rectangle2D.Double(0, 0, 5, 5));
+    hash.put("b", new Rectangle2D.Double(50, 50, 5, 5));
+
+    Collection<String> found = hash.query(new Rectangle2D.Double(0, 0, 10, 10));
+    assertTrue(found.contains("a"));
+    assertFalse(found.contains("b"));
+  }
+
+  @Test
+  public void testObjectsSpanningMultipleCellsAreReportedOnce() {
+    SpatialHash<String> hash = new SpatialHash<>(10);
+    hash.put("wide", new Rectangle2D.Double(-15, -15, 40, 40));
+
+    assertEquals(1, hash.query(new Rectangle2D.Double(-20, -20, 60, 60)).size());
+    assertEquals(1, hash.query(new Rectangle2D.Double(12, 12, 1, 1)).size());
+  }
+
+  @Test
+  public void testPutUpdatesLocation() {
+    SpatialHash<String> hash = new SpatialHash<>(10);
+    hash.put("a", new Rectangle2D.Double(0, 0, 5, 5));
+    hash.put("a", new Rectangle2D.Double(100, 100, 5, 5));
+
+    assertEquals(1, hash.size());
+    assertTrue(hash.query(new Rectangle2D.Double(0, 0, 10, 10)).isEmpty());
+    assertTrue(hash.query(new Rectangle2D.Double(95, 95, 10, 10)).contains("a"));
+  }
+
+  @Test
+  public void testRemove() {
+    SpatialHash<String> hash = new SpatialHash<>(10);
+    hash.put("a", new Rectangle2D.Double(0, 0, 5, 5));
+
+    assertTrue(hash.remove("a"));
+    assertFalse(hash.remove("a"));
+    assertFalse(hash.contains("a"));
+    assertTrue(hash.query(new Rectangle2D.Double(0, 0, 10, 10)).isEmpty());
+  }
+
+  @Test
+  public void testOversizedObjectsAreFound() {
+    SpatialHash<String> hash = new SpatialHash<>(1);
+    hash.put("huge", new Rectangle2D.Double(0, 0, 10000, 10000));
+    hash.put("small", new Rectangle2D.Double(5000, 5000, 1, 1));
+
+    Collection<String> found = hash.query(new Rectangle2D.Double(4999, 4999, 3, 3));
+    assertEquals(2, found.size());
+    assertTrue(found.contains("huge"));
+    assertTrue(found.contains("small"));
+
+    hash.remove("huge");
+    assertEquals(1, hash.query(new Rectangle2D.Double(0, 0, 10000, 10000)).size());
+  }
+}